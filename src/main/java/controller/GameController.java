@@ -1,15 +1,24 @@
 package controller;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import model.sign.SignType;
 import model.player.Player;
+import model.GameCommand;
 import model.GameManager;
+import model.GameRules;
 import model.cards.Card;
+import model.deal.DealPosition;
+import model.events.DealSnapshot;
 import model.events.ModelEvents;
 import model.events.SignEvent;
 
@@ -20,27 +29,54 @@ import model.events.SignEvent;
  * It also exposes an imperative API used by the UI to
  * request model actions (i.e. start, pause, play, move cards, sign).
  *
+ * Requests are submitted as {@link GameCommand}s to the game thread;
+ * the model events, and so the {@link ViewEvent}s, are published on that
+ * thread, not on the EDT.
+ *
+ * Players are addressed by seat index (table order) and cards by ordinal
+ * ({@link Card#getOrdinal()}); the methods taking player ids and card codes
+ * are adapters over them, kept for the UI.
  */
 @SuppressWarnings("deprecation")
 public final class GameController extends Observable implements Observer {
 
+    private static final int HUMAN_SEAT = 0;
+
     private final GameManager gameManager;
+    // seating never changes during a game: resolved once
+    private final String[] ids;
+    private final String[] names;
+    private final Map<String,Integer> seatsById = new HashMap<>();
+    private final List<String> idList;
+    private final Map<String,String> namesById;
 
     public GameController(GameManager gameManager) {
         this.gameManager = gameManager;
+        List<Player> players = gameManager.getPlayers();
+        ids = new String[players.size()];
+        names = new String[players.size()];
+        LinkedHashMap<String,String> map = new LinkedHashMap<>();
+        for (int seat = 0; seat < ids.length; seat++) {
+            ids[seat] = players.get(seat).getId();
+            names[seat] = players.get(seat).getUsername();
+            seatsById.put(ids[seat], seat);
+            map.put(ids[seat], names[seat]);
+        }
+        idList = List.of(ids);
+        namesById = Collections.unmodifiableMap(map);
         gameManager.addObserver(this);
     }
 
     // ---------- UI -> Controller -> Model ------------
     /**
-     * Starts the game by delegating to {@link GameManager#startGame()}.
+     * Starts the game by submitting {@link GameCommand.StartGame}.
      * This initializes and starts the first deal of the match.
      */
-    public void startGame() { gameManager.startGame(); }
+    public void startGame() { gameManager.submit(new GameCommand.StartGame()); }
     
     /**
      * Attempts to play the card identified by {@code cardCode} for the
-     * player with id {@code playerId}.
+     * player with id {@code playerId}, waiting for the game thread.
      *
      * @param playerId id of the player acting the play
      * @param cardCode code of the card to play
@@ -48,15 +84,23 @@ public final class GameController extends Observable implements Observer {
      *         or {@code false} if the card was not found rejected the play
      */
     public boolean playCard(String playerId, String cardCode) {
-        Player player = findPlayer(playerId);
-        if (player == null) throw new IllegalArgumentException("Unknown player id: " + playerId);
+        int seat = seatOf(playerId);
+        if (seat < 0) throw new IllegalArgumentException("Unknown player id: " + playerId);
+        int ordinal = Card.ordinalOf(cardCode);
+        return ordinal >= 0 && playCard(seat, ordinal);
+    }
 
-        Card card = player.getHandCards().stream()
-            .filter(c -> cardCode != null && cardCode.equals(c.getCode()))
-            .findFirst()
-            .orElse(null);
-        if (card == null) return false;
-        return gameManager.playHumanCard(player, card);
+    /**
+     * Attempts to play a card for the player at a seat.
+     *
+     * @param seat index of the player in table order
+     * @param cardOrdinal ordinal of the card, see {@link Card#getOrdinal()}
+     * @return {@code true} if the play was accepted by the model
+     */
+    public boolean playCard(int seat, int cardOrdinal) {
+        checkSeat(seat);
+        if (cardOrdinal < 0 || cardOrdinal >= GameRules.TOTAL_DECK_CARDS) return false;
+        return await(gameManager.submit(new GameCommand.PlayCard(seat, cardOrdinal)), false);
     }
     /**
      * Attempts to emit a sign (segno) on behalf of the given player.
@@ -67,40 +111,75 @@ public final class GameController extends Observable implements Observer {
      *         {@code false} when the current deal does not allow that player to sign
      */
     public boolean makeSign(String playerId, SignType type) {
-        Player p = findPlayer(playerId);
-        if (p == null) throw new IllegalArgumentException("Unknown player id: " + playerId);
-        if (!gameManager.canPlayerMakeSign(p)) return false;
-        gameManager.handlePlayerSign(p, type);
-        return true;
+        int seat = seatOf(playerId);
+        if (seat < 0) throw new IllegalArgumentException("Unknown player id: " + playerId);
+        return makeSign(seat, type);
+    }
+
+    /**
+     * Attempts to emit a sign on behalf of the player at a seat.
+     *
+     * @param seat index of the player in table order
+     * @param type the requested {@link SignType}
+     * @return {@code true} if the model accepted the sign
+     */
+    public boolean makeSign(int seat, SignType type) {
+        checkSeat(seat);
+        return await(gameManager.submit(new GameCommand.MakeSign(seat, type)), false);
     }
 
-    /** Pause the model game loop. Delegates to {@link GameManager#pauseGame()}. */
-    public void pause() { gameManager.pauseGame(); }
+    /**
+     * Claims the rest of the deal on behalf of the given player.
+     *
+     * @param playerId id of the player claiming
+     * @return {@code true} if the points of the rest of the deal were determined
+     */
+    public boolean claim(String playerId) {
+        int seat = seatOf(playerId);
+        if (seat < 0) throw new IllegalArgumentException("Unknown player id: " + playerId);
+        return claim(seat);
+    }
 
-    /** Resume the model game loop. Delegates to {@link GameManager#resumeGame()}. */
-    public void resume() { gameManager.resumeGame(); }
+    /**
+     * Claims the rest of the deal on behalf of the player at a seat: the model
+     * accepts it only when every way of playing the remaining cards gives the
+     * same points.
+     *
+     * @param seat index of the player in table order
+     * @return {@code true} if the model accepted the claim
+     */
+    public boolean claim(int seat) {
+        checkSeat(seat);
+        return await(gameManager.submit(new GameCommand.Claim(seat)), false);
+    }
 
-    /** Start the next deal. Delegates to {@link GameManager#startNextDeal()}. */
-    public void startNextDeal() { gameManager.startNextDeal(); }
+    /** Pause the model game loop. */
+    public void pause() { gameManager.submit(new GameCommand.Pause()); }
 
-    /** Stop the game. Delegates to {@link GameManager#stopGame()}. */
-    public void stopGame() { gameManager.stopGame(); }
+    /** Resume the model game loop. */
+    public void resume() { gameManager.submit(new GameCommand.Resume()); }
+
+    /** Start the next deal. */
+    public void startNextDeal() { gameManager.submit(new GameCommand.StartNextDeal()); }
+
+    /** Replace the current deal with one resumed from a position, see {@link DealPosition}. */
+    public void loadPosition(DealPosition position) { gameManager.submit(new GameCommand.LoadPosition(position)); }
+
+    /** Stop the game. */
+    public void stopGame() { gameManager.submit(new GameCommand.Stop()); }
 
     /**
      * Accept end-of-deal results and start the next deal.
      */
     public void confirmDealResults(){
-        if(gameManager.isCurrentDealOver() && !gameManager.isGameOver()){
-            gameManager.resumeGame(); 
-            gameManager.startNextDeal();
-        }
+        gameManager.submit(new GameCommand.ConfirmDealResults());
     }
 
     /**
      * @return {@code true} if there is no active deal or if the current deal already ended.
      */
     public boolean isCurrentDealOver(){ 
-        return gameManager.isCurrentDealOver(); 
+        return gameManager.getView().dealOver(); 
     }
  
     /** Move a card in the human player's hand 
@@ -108,13 +187,26 @@ public final class GameController extends Observable implements Observer {
      *  @param to target card index
     */
     public List<String> moveHumanCard(int from, int to) {
-        Player player = findPlayer("P1");
-        if (player == null) throw new IllegalStateException("The Human player is not found");
-        int size = player.getHandCards().size();
-        if(to < 0) to = 0; 
-        else if(to > size) to = size;
-        player.moveCard(from, to);
-        return List.copyOf(player.getHandCardsCode());
+        return moveHandCard(HUMAN_SEAT, from, to);
+    }
+
+    /** Move a card in the hand of the player at a seat
+     *  @param seat index of the player in table order
+     *  @param from source card index
+     *  @param to target card index, clamped to the hand
+     *  @return the card codes of the hand in the new order; if the move
+     *          failed, the last published order (empty for the bot seats)
+    */
+    public List<String> moveHandCard(int seat, int from, int to) {
+        checkSeat(seat);
+        return awaitOrElseGet(gameManager.submit(new GameCommand.MoveHandCard(seat, from, to)),
+                              () -> publishedHand(seat));
+    }
+
+    /** @return the hand order of the last published snapshot; the model is never read off the game thread */
+    private List<String> publishedHand(int seat) {
+        DealSnapshot snapshot = gameManager.getView().deal();
+        return seat == HUMAN_SEAT && snapshot != null ? snapshot.getHumanHand() : List.of();
     }
     // ---------- Model -> Controller -> UI ------------
     //
@@ -158,9 +250,20 @@ public final class GameController extends Observable implements Observer {
                     sign.getSender().getUsername(), sign.getType(), event.snapshot()));
             return;
         }
+        if (argument instanceof ModelEvents.ClaimAvailable) {
+            ModelEvents.ClaimAvailable event = (ModelEvents.ClaimAvailable) argument;
+            publish(new ViewEvent.ClaimAvailable(event.snapshot()));
+            return;
+        }
+        if (argument instanceof ModelEvents.DealClaimed) {
+            ModelEvents.DealClaimed event = (ModelEvents.DealClaimed) argument;
+            String name = event.playerId() == null ? null : getPlayerName(event.playerId());
+            publish(new ViewEvent.DealClaimed(event.playerId(), name, event.snapshot()));
+            return;
+        }
         if (argument instanceof ModelEvents.DealEnded) {
             ModelEvents.DealEnded event = (ModelEvents.DealEnded) argument;
-            gameManager.pauseGame();
+            gameManager.submit(new GameCommand.Pause()); // runs inline on the game thread
             publish(new ViewEvent.DealEnded(event.snapshot()));
             return;
         }
@@ -172,37 +275,52 @@ public final class GameController extends Observable implements Observer {
         if (argument instanceof ModelEvents.GameEnded) {
             ModelEvents.GameEnded event = (ModelEvents.GameEnded) argument;
             publish(new ViewEvent.GameEnded(event.finalScores(), event.winnerIds()));
+            return;
+        }
+        if (argument instanceof ModelEvents.WinEstimate) {
+            ModelEvents.WinEstimate event = (ModelEvents.WinEstimate) argument;
+            publish(new ViewEvent.WinEstimate(event.expectedPoints(), event.winProbability(), event.samples()));
         }
     }
 
     // ---------- Getters and Helpers ----------
-    public int getPlayerCount(){ return gameManager.getPlayers().size(); }
-    public Map<String,Integer> getLastDealPoints(){ return gameManager.getLastDealPoints(); }
+    public int getPlayerCount(){ return ids.length; }
+    public Map<String,Integer> getLastDealPoints(){ return gameManager.getView().lastDealPoints(); }
     public String getPlayerName(String id) { 
-        Player p = findPlayer(id); 
-        if (p == null) return id; 
-        return p.getUsername(); 
+        int seat = seatOf(id);
+        return seat < 0 ? id : names[seat];
+    }
+    /** @return the id of the player at a seat */
+    public String getPlayerId(int seat) { checkSeat(seat); return ids[seat]; }
+    /** @return the name of the player at a seat */
+    public String getPlayerName(int seat) { checkSeat(seat); return names[seat]; }
+    /** @return the seat of the player with the given id, or -1 if unknown */
+    public int seatOf(String id) {
+        Integer seat = id == null ? null : seatsById.get(id);
+        return seat == null ? -1 : seat;
     }
 
-    public List<String> getPlayerIds() {
-        return gameManager.getPlayers().stream()
-                          .map(Player::getId)
-                          .toList();
+    /** @return the player ids in seat order (immutable) */
+    public List<String> getPlayerIds() { return idList; }
+    /** @return the player names by id in seat order (unmodifiable) */
+    public Map<String,String> getPlayerNames(){ return namesById; }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= ids.length) throw new IllegalArgumentException("Unknown seat: " + seat);
     }
-    public Map<String,String> getPlayerNames(){
-        LinkedHashMap<String,String> map = new LinkedHashMap<>();
-        for (Player p : gameManager.getPlayers()) 
-            map.put(p.getId(), p.getUsername());
-        return map;
-    }
-
-    /** Find a player by their ID */
-    private Player findPlayer(String id) {
-        Player player = gameManager.getPlayers().stream()
-                          .filter(p -> p.getId().equals(id))
-                          .findFirst()
-                          .orElse(null);
-        return player;
+
+    /** Wait for the result of a command; the fallback is used if it failed or the game was stopped */
+    private static <R> R await(CompletableFuture<R> result, R fallback) {
+        return awaitOrElseGet(result, () -> fallback);
+    }
+
+    /** As {@link #await(CompletableFuture, Object)}, with a fallback built only when needed */
+    private static <R> R awaitOrElseGet(CompletableFuture<R> result, Supplier<R> fallback) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            return fallback.get();
+        }
     }
 
     /** Publish a view event to observers */
@@ -28,6 +28,12 @@ public interface ViewEvent {
     public record SignMade(String playerId, String playerName, SignType type, 
                            DealSnapshot snapshot) implements ViewEvent {}
 
+    /** Notifies that the rest of the deal can be claimed; the snapshot is flagged claimable. */
+    public record ClaimAvailable(DealSnapshot snapshot) implements ViewEvent {}
+
+    /** Notifies that the rest of the deal was claimed and played at once; no player for an automatic claim. */
+    public record DealClaimed(String playerId, String playerName, DealSnapshot snapshot) implements ViewEvent {}
+
     /** Notifies that the current deal ended; snapshot is the final deal state. */
     public record DealEnded(DealSnapshot snapshot) implements ViewEvent {}
 
@@ -39,4 +45,8 @@ public interface ViewEvent {
     public record GameEnded(Map<String,Integer> finalScores, 
                             java.util.List<String> winnerIds) implements ViewEvent {}
 
+    /** Notifies a new estimate of the expected deal points and of the match odds of each team. */
+    public record WinEstimate(Map<String,Double> expectedPoints, Map<String,Double> winProbability,
+                              int samples) implements ViewEvent {}
+
 }
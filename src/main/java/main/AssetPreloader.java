@@ -0,0 +1,114 @@
+package main;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.cards.Card;
+import model.cards.CardSuit;
+import model.cards.CardValue;
+import model.player.SuitHoldingTable;
+import profile.ProfileService;
+import utils.AudioManager;
+import view.LayoutConstant;
+import view.common.CardSpriteAtlas;
+import view.common.ImageResources;
+
+/**
+ * Loads the assets of the application in parallel while the splash screen
+ * is shown.
+ *
+ * Every card face and image, every audio effect, the bots' holding table
+ * and the profile store are independent tasks run on a small pool of daemon
+ * threads. The card sprite atlas is built once all the card images are
+ * decoded. When {@link #whenDone()} completes nothing is decoded lazily any
+ * more, so the first deal never waits on a cold decode.
+ */
+final class AssetPreloader {
+    private static final List<String> IMAGES = List.of(ImageResources.TABLE, ImageResources.WOOD,
+        ImageResources.LOGO, ImageResources.WHITE_LOGO, LayoutConstant.BACK_IMG,
+        "images/avatar_0.png", "images/avatar_1.png", "images/avatar_2.png", "images/avatar_3.png",
+        "images/avatar_4.png", "images/mascotte.png", "images/bastoni_menu.png");
+
+    private final AtomicInteger completed = new AtomicInteger();
+    private int total;
+    private CompletableFuture<ProfileService> profiles;
+    private CompletableFuture<Void> done;
+
+    private AssetPreloader() { }
+
+    /**
+     * Start loading in the background.
+     *
+     * @param profilesDirectory directory of the profile store
+     * @return the running preloader
+     */
+    static AssetPreloader start(Path profilesDirectory) {
+        AssetPreloader preloader = new AssetPreloader();
+        preloader.run(profilesDirectory);
+        return preloader;
+    }
+
+    private void run(Path profilesDirectory) {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "asset-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<CompletableFuture<?>> images = new ArrayList<>();
+        for (CardSuit suit : CardSuit.values())
+            for (CardValue value : CardValue.values()) {
+                String path = "images/cards/" + new Card(suit, value).getCode() + ".png";
+                images.add(task(() -> ImageResources.load(path), executor));
+            }
+        IMAGES.forEach(path -> images.add(task(() -> ImageResources.load(path), executor)));
+
+        List<CompletableFuture<?>> all = new ArrayList<>(images);
+        // the atlas scales the decoded cards: it waits for them, then counts as one more task
+        all.add(CompletableFuture.allOf(images.toArray(CompletableFuture[]::new))
+                                 .handle((ignored, error) -> null)
+                                 .thenCompose(ignored -> task(CardSpriteAtlas::preload, executor)));
+        AudioManager.EFFECTS.forEach(effect -> all.add(task(() -> AudioManager.preload(effect), executor)));
+        all.add(task(SuitHoldingTable::shared, executor));
+        profiles = CompletableFuture.supplyAsync(() -> new ProfileService(profilesDirectory), executor)
+                                    .whenComplete((service, error) -> completed.incrementAndGet());
+        all.add(profiles);
+        total = all.size();
+
+        done = CompletableFuture.allOf(all.toArray(CompletableFuture[]::new))
+                                .handle((ignored, error) -> (Void) null)
+                                .whenComplete((ignored, error) -> executor.shutdown());
+    }
+
+    /* A task whose failure is reported but does not stop the others */
+    private CompletableFuture<Void> task(Runnable work, ExecutorService executor) {
+        return CompletableFuture.runAsync(work, executor)
+                                .handle((ignored, error) -> {
+                                    if (error != null)
+                                        System.err.println("Asset preload failed: " + error.getCause());
+                                    completed.incrementAndGet();
+                                    return null;
+                                });
+    }
+
+    /** @return the fraction of tasks finished, in [0, 1] */
+    double getProgress() {
+        return total == 0 ? 0 : Math.min(1, completed.get() / (double) total);
+    }
+
+    /** @return a future completed when every task has finished (successfully or not) */
+    CompletableFuture<Void> whenDone() { return done; }
+
+    /**
+     * The loaded profile store; blocks if it is not ready yet.
+     * @throws java.util.concurrent.CompletionException if the store could not be loaded
+     */
+    ProfileService getProfileService() { return profiles.join(); }
+}
@@ -6,6 +6,7 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import view.GameFrame;
@@ -51,20 +52,31 @@ public class JTresette {
      * @param args command line arguments (unused)
      */
     public static void main(String[] args) {
+        // var is equivalent here, it will be a Path anyway
+        // Path.get put slashes and build the path with the given strings
+        var profilesDirectory = Paths.get(System.getProperty("user.home"), ".tresette", "profiles");
+        // images, audio, bots' holding table and profiles load in parallel behind the splash
+        AssetPreloader preloader = AssetPreloader.start(profilesDirectory);
         SwingUtilities.invokeLater(() -> {
             GameFrame frame = new GameFrame();
             BackgroundLayer background = new BackgroundLayer();
-            // var is equivalent here, it will be a Path anyway
-            // Path.get put slashes and build the path with the given strings
-            var profilesDirectory = Paths.get(System.getProperty("user.home"), ".tresette", "profiles");
-            ProfileService profileService = new ProfileService(profilesDirectory);
-            ProfilesAdapter profilesAdapter = new ProfilesAdapter(profileService);
-
-            MainMenuPanel menu = buildMainMenu(background, profileService, profilesAdapter);
-            background.setCentral(menu);
             frame.setScreen(background);
             frame.setVisible(true);
-            showSplash(frame);
+            showSplash(frame, preloader, () -> {
+                ProfileService profileService;
+                try {
+                    profileService = preloader.getProfileService();
+                } catch (CompletionException e) {
+                    // without the profile store there is no menu to show: report it and close
+                    JOptionPane.showMessageDialog(frame, "Impossibile caricare i profili:\n" + e.getCause(),
+                                                  "TreSette", JOptionPane.ERROR_MESSAGE);
+                    frame.dispose();
+                    return;
+                }
+                ProfilesAdapter profilesAdapter = new ProfilesAdapter(profileService);
+                MainMenuPanel menu = buildMainMenu(background, profileService, profilesAdapter);
+                background.setCentral(menu);
+            });
         });
     }
     /**
@@ -196,27 +208,36 @@ public class JTresette {
                 if(!(arg instanceof GameEnded gameEnded)) return;
                 boolean humanWon = gameEnded.winnerIds().contains("P1") || 
                                    gameEnded.winnerIds().contains("Team1");
-                profileService.recordGameResult(current.getNickname(), humanWon)
-                               .ifPresent(SelectedProfileHolder::set);
+                // notified on the game thread: the profile holder belongs to the EDT
+                SwingUtilities.invokeLater(() -> profileService.recordGameResult(current.getNickname(), humanWon)
+                                                               .ifPresent(SelectedProfileHolder::set));
             }
         });
     }
 
     /**
-     * Shows a simple splash overlay that disables interactions for a short time.
+     * Shows the splash overlay, which disables interactions and displays the
+     * loading progress until the preloader has finished.
      *
      * @param frame the application window
+     * @param preloader the running asset preloader
+     * @param onLoaded action run on the EDT once loading is finished, before
+     *        the interactions are enabled again
      */
-    private static void showSplash(GameFrame frame) {
+    private static void showSplash(GameFrame frame, AssetPreloader preloader, Runnable onLoaded) {
         JRootPane root = frame.getRootPane();
         JComponent glass = (JComponent) root.getGlassPane();
         glass.setLayout(new BorderLayout());
         Container content = frame.getContentPane();
         setEnabledComponents(content, false);
-        SplashOverlay splash = new SplashOverlay(() -> {
-            glass.setVisible(false);
-            setEnabledComponents(content, true);
-            content.repaint();
+        SplashOverlay splash = new SplashOverlay(preloader::getProgress, () -> {
+            try {
+                onLoaded.run();
+            } finally { // the UI must never stay locked behind the glass pane
+                glass.setVisible(false);
+                setEnabledComponents(content, true);
+                content.repaint();
+            }
         });
         // additional listeners: only for safety, but not real necessary
         glass.addMouseListener(new java.awt.event.MouseAdapter(){});
@@ -225,6 +246,7 @@ public class JTresette {
         glass.removeAll();
         glass.add(splash, BorderLayout.CENTER);
         glass.setVisible(true);
+        preloader.whenDone().thenRun(() -> SwingUtilities.invokeLater(splash::dismiss));
     }
 
     /**
@@ -0,0 +1,56 @@
+package model;
+
+import java.util.List;
+
+import model.deal.DealPosition;
+import model.sign.SignType;
+
+/**
+ * Typed requests to a game, executed in order on its game thread by
+ * {@link GameManager#submit(GameCommand)}.
+ *
+ * @param <R> type of the result of the command ({@code Void} if none)
+ */
+public sealed interface GameCommand<R> {
+
+    /** Start the first deal of the game. */
+    record StartGame() implements GameCommand<Void> {}
+
+    /** Start the next deal if the current one is over. */
+    record StartNextDeal() implements GameCommand<Void> {}
+
+    /** Accept the results of the finished deal and start the next one. */
+    record ConfirmDealResults() implements GameCommand<Void> {}
+
+    /**
+     * Play a card of a human player; the result tells if the play was accepted.
+     * @param seat index of the player in table order
+     * @param cardOrdinal ordinal of the card, see {@link model.cards.Card#getOrdinal()}
+     */
+    record PlayCard(int seat, int cardOrdinal) implements GameCommand<Boolean> {}
+
+    /** Send a sign for the player at a seat; the result tells if the sign was allowed. */
+    record MakeSign(int seat, SignType type) implements GameCommand<Boolean> {}
+
+    /** Claim the rest of the deal for the player at a seat; the result tells if the claim was accepted. */
+    record Claim(int seat) implements GameCommand<Boolean> {}
+
+    /** Move a card inside the hand of the player at a seat; the result is the new hand order. */
+    record MoveHandCard(int seat, int from, int to) implements GameCommand<List<String>> {}
+
+    /**
+     * Replace the current deal with one resumed from a position; the next
+     * deals are numbered after it.
+     * @param position the position to load, see {@link model.deal.DealPosition}
+     */
+    record LoadPosition(DealPosition position) implements GameCommand<Void> {}
+
+    /** Suspend the current deal. */
+    record Pause() implements GameCommand<Void> {}
+
+    /** Resume the current deal. */
+    record Resume() implements GameCommand<Void> {}
+
+    /** Stop the game and release its thread. */
+    record Stop() implements GameCommand<Void> {}
+}
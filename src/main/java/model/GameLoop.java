@@ -0,0 +1,118 @@
+package model;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import model.deal.GameScheduler;
+
+/**
+ * The thread that owns one game.
+ *
+ * Commands from any thread (UI, network, simulations, bot workers) are
+ * pushed on a lock-free multi-producer queue; the single game thread drains
+ * it and runs the delayed tasks when they are due, parking in between.
+ * Everything that mutates the {@link GameManager} and its deals therefore
+ * runs on this thread, in submission order.
+ *
+ * Exceptions thrown by an action are reported and do not stop the loop.
+ */
+public final class GameLoop implements GameScheduler {
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final Queue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<Delayed> timers = new PriorityQueue<>(); // game thread only
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long sequence; // FIFO among tasks due at the same time
+
+    /** A delayed task, ordered by due time then by scheduling order. */
+    private final class Delayed implements Task, Comparable<Delayed> {
+        final long dueNanos;
+        final long order;
+        final Runnable action;
+        volatile boolean pending = true;
+
+        Delayed(long dueNanos, long order, Runnable action) {
+            this.dueNanos = dueNanos;
+            this.order = order;
+            this.action = action;
+        }
+
+        @Override public void cancel() { pending = false; }
+        @Override public boolean isPending() { return pending; }
+        @Override public int compareTo(Delayed other) {
+            int byTime = Long.compare(dueNanos - other.dueNanos, 0);
+            return byTime != 0 ? byTime : Long.compare(order, other.order);
+        }
+    }
+
+    /** Start the game thread (a daemon thread named {@code game-N}). */
+    public GameLoop() {
+        thread = new Thread(this::run, "game-" + COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public boolean execute(Runnable action) {
+        if (!running) return false;
+        inbox.add(action);
+        // stopped meanwhile: take the action back unless the loop already got it
+        if (!running && inbox.remove(action)) return false;
+        LockSupport.unpark(thread);
+        return true;
+    }
+
+    @Override
+    public Task schedule(Runnable action, long delayMs) {
+        Delayed task = new Delayed(System.nanoTime() + delayMs * 1_000_000L, 0, action);
+        if (inOwnerThread()) addTimer(task);
+        else execute(() -> addTimer(task));
+        return task;
+    }
+
+    @Override
+    public boolean inOwnerThread() { return Thread.currentThread() == thread; }
+
+    /** Stop the loop once the queued commands have run; later ones are dropped. */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void addTimer(Delayed task) {
+        timers.add(new Delayed(task.dueNanos, sequence++, () -> {
+            if (task.pending) {
+                task.pending = false;
+                task.action.run();
+            }
+        }));
+    }
+
+    private void run() {
+        while (running || !inbox.isEmpty()) {
+            Runnable action;
+            while ((action = inbox.poll()) != null) runSafely(action);
+            long now = System.nanoTime();
+            while (!timers.isEmpty() && timers.peek().dueNanos - now <= 0) {
+                runSafely(timers.poll().action);
+                now = System.nanoTime();
+            }
+            if (!running || !inbox.isEmpty()) continue;
+            if (timers.isEmpty()) LockSupport.park(this);
+            else LockSupport.parkNanos(this, timers.peek().dueNanos - now);
+        }
+    }
+
+    private static void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            System.err.println("Game command failed: " + e);
+            e.printStackTrace();
+        }
+    }
+}
@@ -3,7 +3,11 @@ package model;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import model.cards.CardMask;
+import model.cards.CardSuit;
+import model.deal.BotComputePool;
 import model.player.Player;
 import model.player.Team;
 import model.score.ScoreManager;
@@ -12,7 +16,12 @@ import model.sign.SignType;
 import model.events.ModelEvents;
 import model.deal.Deal;
 import model.deal.Deal2v2;
+import model.deal.DealPosition;
+import model.deal.GameScheduler;
 import model.events.DealSnapshot;
+import model.search.DealKnowledge;
+import model.search.SearchBudgetController;
+import model.search.WinProbabilityEstimator;
 import java.util.Observable;
 import java.util.Observer;
 
@@ -26,19 +35,39 @@ import java.util.Observer;
  * {@link java.util.Observable}/{@link java.util.Observer} to elaborate 
  * notifications from the deal and send the relevant events to the 
  * {@link controller.GameController}.
+ *
+ * Each game is owned by its own {@link GameLoop}: requests arrive as
+ * {@link GameCommand}s through {@link #submit(GameCommand)} and run one at a
+ * time on the game thread, which is also the thread the deal notifies its
+ * events on. After every command and event the manager publishes an
+ * immutable {@link GameView} that other threads read without locking.
+ *
+ * After every card the manager also asks a {@link WinProbabilityEstimator}
+ * for the odds of the teams, seen from the seat of the human player; the
+ * estimate runs on the bot pool and comes back as
+ * {@link ModelEvents.WinEstimate}.
  */
 @SuppressWarnings("deprecation")
 public final class GameManager extends Observable implements Observer {
 
     private final List<Player> players;              
+    private final Player[] seats;                    // players by seat index
     private final List<Team> teams = new ArrayList<>();
     private final ScoreManager scoreManager;         
     private final int winningScore;                  
+    private final GameLoop loop = new GameLoop();
+    private volatile GameView view;
     // field for current deal
     private Deal currentDeal;                       
     private boolean gameOver = false;
     private boolean paused = false;                  
     private int dealCounter = 0;                    
+    private static final int ESTIMATE_OBSERVER = 0;  // the estimates see what this seat sees
+    private WinProbabilityEstimator estimator;       // created for the first estimate
+    // budgets of the searches under the load of the pool; taken now so its gauge is there from the first deal
+    private final SearchBudgetController searchBudgets = SearchBudgetController.shared();
+    private DealKnowledge knowledge;                 // what the observer knows of the current deal
+    private int estimateEpoch;                       // one per deal started
 
     /** The GameManager constructor receives the ordered list of players and the winning score.
      *  It initializes the two instances of {@link Team} and the {@link ScoreManager}.
@@ -50,6 +79,7 @@ public final class GameManager extends Observable implements Observer {
         if (players == null || players.size() != 4)
             throw new IllegalArgumentException("Players must be exactly 4 for 2vs2 mode.");
         this.players = new ArrayList<>(players);
+        this.seats = players.toArray(new Player[0]);
         this.winningScore = winningScore;
         // team1: 0, 2; team2: 1, 3
         Team t1 = new Team("Team1", List.of(players.get(0), players.get(2)));
@@ -57,6 +87,49 @@ public final class GameManager extends Observable implements Observer {
         teams.add(t1); 
         teams.add(t2);
         scoreManager = new ScoreManager(List.of(t1.getId(), t2.getId()), winningScore);
+        view = new GameView(null, true, false, false, scoreManager.getTeamGameScores(), Map.of());
+    }
+
+    // ------------------ Commands ------------------
+    /**
+     * Queue a command for the game thread. Commands run in submission order;
+     * a command submitted from the game thread itself (i.e. by an observer)
+     * runs immediately.
+     * @param command the command
+     * @return the result of the command, completed on the game thread; it
+     *         completes exceptionally if the command failed or the game is stopped
+     */
+    public <R> CompletableFuture<R> submit(GameCommand<R> command) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                result.complete(execute(command));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        if (loop.inOwnerThread()) task.run();
+        else if (!loop.execute(task))
+            result.completeExceptionally(new IllegalStateException("The game has been stopped"));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R execute(GameCommand<R> command) {
+        Object result = null;
+        if (command instanceof GameCommand.StartGame) startGame();
+        else if (command instanceof GameCommand.StartNextDeal) startNextDeal();
+        else if (command instanceof GameCommand.ConfirmDealResults) confirmDealResults();
+        else if (command instanceof GameCommand.LoadPosition load) loadPosition(load.position());
+        else if (command instanceof GameCommand.Pause) pauseGame();
+        else if (command instanceof GameCommand.Resume) resumeGame();
+        else if (command instanceof GameCommand.Stop) stopGame();
+        else if (command instanceof GameCommand.PlayCard play) result = playCard(play.seat(), play.cardOrdinal());
+        else if (command instanceof GameCommand.MakeSign sign) result = makeSign(sign.seat(), sign.type());
+        else if (command instanceof GameCommand.Claim claim) result = claim(claim.seat());
+        else if (command instanceof GameCommand.MoveHandCard move) result = moveHandCard(move.seat(), move.from(), move.to());
+        publishView(view.deal());
+        return (R) result;
     }
 
     // ------------------ Game Flow ------------------
@@ -64,11 +137,11 @@ public final class GameManager extends Observable implements Observer {
     * Starts the game lifecycle. Wrapper that delegate startNextDeal()
     * This method is intended to be called once to start the game.
     * It delegates to {@link #startNextDeal()} which performs the
-    * actual deal creation. UI/controllers should call {@code startGame()} to
-    * begin the match and may call {@link #startNextDeal()} subsequently to
+    * actual deal creation. UI/controllers submit {@link GameCommand.StartGame} to
+    * begin the match and may submit {@link GameCommand.StartNextDeal} subsequently to
     * request additional deals during the game flow.
      */
-    public void startGame() { startNextDeal(); }
+    private void startGame() { startNextDeal(); }
 
     /**
      * Starts a new deal if the game is not over.
@@ -76,39 +149,65 @@ public final class GameManager extends Observable implements Observer {
     * {@link controller.GameController#confirmDealResults()}). It will be ignored when
      * a deal is already active or when the game has finished.
      */
-    public void startNextDeal() {
+    private void startNextDeal() {
         if (gameOver) return;
         if (currentDeal != null && !currentDeal.isOver()) {
             return; // ignore request
         }
-        currentDeal = new Deal2v2(dealCounter, players, teams);
+        currentDeal = new Deal2v2(dealCounter, players, teams, loop);
         attachToDeal(currentDeal); // observe the new deal
         if (paused) currentDeal.setPaused(true); // if GameManager is paused, pause the deal
         currentDeal.start();
         dealCounter++;
     }
 
+    /**
+     * Replaces the current deal with a {@link Deal2v2} resumed from a position,
+     * to replay a reported situation or a puzzle without playing the tricks
+     * before it. The scores of the game are left as they are.
+     */
+    private void loadPosition(DealPosition position) {
+        if (gameOver) return;
+        if (currentDeal != null) currentDeal.close();
+        currentDeal = new Deal2v2(position.getDealIndex(), players, teams, loop);
+        attachToDeal(currentDeal);
+        if (paused) currentDeal.setPaused(true);
+        currentDeal.startFrom(position);
+        dealCounter = position.getDealIndex() + 1;
+    }
+
     /**
      * Pauses the current game: the active deal is suspended
      * Calling multiple times while already paused has no additional effect
      */
-    public void pauseGame() { 
+    private void pauseGame() { 
         paused = true; 
         if (currentDeal != null) currentDeal.setPaused(true); 
     }
     /**
      * Resumes the game if it was paused, reactivating the deal.
      */
-    public void resumeGame() { 
+    private void resumeGame() { 
         paused = false; 
         if (currentDeal != null) currentDeal.setPaused(false); 
     }
 
-    /** Stop current game */
-    public void stopGame() {
+    /** Stop current game and release the game thread */
+    private void stopGame() {
         paused = true;
         gameOver = true;
+        if (currentDeal != null) currentDeal.close();
         currentDeal = null; // release reference to current deal
+        if (estimator != null) estimator.close();
+        loop.shutdown();
+    }
+
+    /** Accept end-of-deal results and start the next deal. */
+    private void confirmDealResults() {
+        if (isCurrentDealOver() && !gameOver) {
+            resumeGame();
+            startNextDeal();
+        }
     }
     /**
      * This handler is called when the active deal notifies completion. It updates lastDealWinner,
@@ -132,68 +231,103 @@ public final class GameManager extends Observable implements Observer {
         // 1) update scores (calculate and save lastDealTeamPoints)
         scoreManager.updateTeamGameScores(teams, teamWinnerId);
         // 2) retrieve points for this calculated deal
-        Map<String,Integer> dealPoints = scoreManager.getLastDealTeamPoints();
+        Map<String,Integer> dealPoints = Map.copyOf(scoreManager.getLastDealTeamPoints());
         // 3) notify score update event (deal + cumulative + deal winner)
         setChanged();
-        notifyObservers(new ModelEvents.ScoresUpdated(dealPoints, scoreManager.getTeamGameScores(), teamWinnerId, snapshot));
+        notifyObservers(new ModelEvents.ScoresUpdated(dealPoints, Map.copyOf(scoreManager.getTeamGameScores()), teamWinnerId, snapshot));
         // 4) check for game over
         if (scoreManager.checkForGameWinner()) {
             List<String> winners = scoreManager.getFinalWinnerIds();
             setChanged();
-            notifyObservers(new ModelEvents.GameEnded(scoreManager.getTeamGameScores(), winners));
+            notifyObservers(new ModelEvents.GameEnded(Map.copyOf(scoreManager.getTeamGameScores()), winners));
             gameOver = true;
         }
     }
 
     // ------------------ Delegated methods towards current deal ------------------
     /**
-    /**
-     * Whether the given player can send a sign at this moment.
-     * It's called by the GameController
-     * @param player the player to check
-     * @return {@code true} if a deal is active and it authorizes the sign
+     * Plays a card for a human player.
+     * @param seat index of the player performing the play
+     * @param cardOrdinal ordinal of the card to play
+     * @return {@code true} if the play was accepted by the current deal
      */
-    public boolean canPlayerMakeSign(Player player) {
-        return (currentDeal != null && currentDeal.canPlayerMakeSign(player));
+    private boolean playCard(int seat, int cardOrdinal) {
+        Player player = playerAt(seat);
+        return currentDeal != null && currentDeal.playHumanCard(player, Card.fromOrdinal(cardOrdinal));
     }
+
     /**
      * Delegates a sign emission attempt to the current deal.
-     * It's called by the game Controller.
-     * @param player the player making the sign
+     * @param seat index of the player making the sign
      * @param type sign type desired
+     * @return {@code true} if a deal is active and it authorized the sign
      */
-    public void handlePlayerSign(Player player, SignType type) { 
-        if (currentDeal != null) 
-            currentDeal.handlePlayerSign(player, type); 
+    private boolean makeSign(int seat, SignType type) {
+        Player player = playerAt(seat);
+        if (currentDeal == null || !currentDeal.canPlayerMakeSign(player)) return false;
+        currentDeal.handlePlayerSign(player, type);
+        return true;
     }
 
     /**
-     * Pass-through allowing tests/UI to request a human play.
-     * @param player the player performing the play
-     * @param card the card to play
-     * @return {@code true} if the play was accepted by the current deal
+     * Claims the rest of the current deal for a player, see {@link Deal#claim(Player)}.
+     * @param seat index of the player claiming
+     * @return {@code true} if a deal is active and its points were determined
      */
-    public boolean playHumanCard(Player player, Card card) {
-        return currentDeal != null && currentDeal.playHumanCard(player, card);
+    private boolean claim(int seat) {
+        Player player = playerAt(seat);
+        return currentDeal != null && currentDeal.claim(player);
     }
+
     /**
-     * True if no deal is active or the active deal has finished.
-     * @return {@code true} when there is no active deal or it is over
+     * Moves a card inside a player's hand; out of range targets are clamped.
+     * @return the codes of the hand in the new order
      */
-    public boolean isCurrentDealOver() { 
+    private List<String> moveHandCard(int seat, int from, int to) {
+        Player player = playerAt(seat);
+        int size = player.getHandCards().size();
+        player.moveCard(from, Math.max(0, Math.min(to, size)));
+        return List.copyOf(player.getHandCardsCode());
+    }
+
+    /** True if no deal is active or the active deal has finished. */
+    private boolean isCurrentDealOver() { 
         return (currentDeal == null || currentDeal.isOver()); 
     }
 
+    private Player playerAt(int seat) {
+        if (seat < 0 || seat >= seats.length) throw new IllegalArgumentException("Unknown seat: " + seat);
+        return seats[seat];
+    }
+
     // ------------------ Getters ------------------
     public List<Team> getTeams() { return new ArrayList<>(teams); }
     public List<Player> getPlayers() { return new ArrayList<>(players); }
-    public Map<String,Integer> getTotalScores() { return scoreManager.getAllScores(); }
-    public Map<String,Integer> getLastDealPoints() { 
-        return scoreManager.getLastDealTeamPoints();
-    }
-    public boolean isGameOver() { return gameOver; }
+    /** @return the last published state of the game (any thread) */
+    public GameView getView() { return view; }
+    /** @return the scheduler of the game thread */
+    public GameScheduler getScheduler() { return loop; }
     public int getWinningScore() { return winningScore; }
 
+    /** @return the deal snapshot carried by the event, or the last published one */
+    private DealSnapshot snapshotOf(ModelEvents.Event event) {
+        if (event instanceof ModelEvents.DealStarted e) return e.snapshot();
+        if (event instanceof ModelEvents.TrickStarted e) return e.snapshot();
+        if (event instanceof ModelEvents.CardPlayed e) return e.snapshot();
+        if (event instanceof ModelEvents.TrickEnded e) return e.snapshot();
+        if (event instanceof ModelEvents.Sign e) return e.snapshot();
+        if (event instanceof ModelEvents.DealClaimed e) return e.snapshot();
+        if (event instanceof ModelEvents.ClaimAvailable e) return e.snapshot();
+        if (event instanceof ModelEvents.DealEnded e) return e.snapshot();
+        return view.deal();
+    }
+
+    /** Publish a new immutable view of the game (game thread only). */
+    private void publishView(DealSnapshot snapshot) {
+        view = new GameView(snapshot, isCurrentDealOver(), paused, gameOver,
+                scoreManager.getTeamGameScores(), scoreManager.getLastDealTeamPoints());
+    }
+
     // ------------------ Observable helpers ------------------
     /**
      * Registers a model events observer. If a deal is already active, it is attached to it.
@@ -219,8 +353,72 @@ public final class GameManager extends Observable implements Observer {
             ModelEvents.DealEnded dealEnded = (ModelEvents.DealEnded) argument;
             handleDealEnded(dealEnded.snapshot());
         }
+        publishView(snapshotOf((ModelEvents.Event) argument));
         setChanged();
         notifyObservers(argument);
+        trackForEstimate((ModelEvents.Event) argument);
+    }
+
+    // ------------------ Win estimates ------------------
+    /**
+     * Follows the deal from the observer seat and asks for a new estimate at
+     * the start of the deal, after each card and after each trick. The fourth
+     * card of a trick is estimated once the trick is collected.
+     */
+    private void trackForEstimate(ModelEvents.Event event) {
+        if (event instanceof ModelEvents.DealStarted) {
+            startKnowledge();
+            requestEstimate();
+        } else if (event instanceof ModelEvents.CardPlayed played && knowledge != null) {
+            List<String> table = played.snapshot().getTableCards();
+            CardSuit palo = table.size() > 1 ? Card.fromOrdinal(Card.ordinalOf(table.get(0))).getSuit() : null;
+            knowledge.onCardPlayed(seatOf(played.playerId()), Card.fromOrdinal(Card.ordinalOf(played.cardCode())), palo);
+            if (table.size() < seats.length) requestEstimate();
+        } else if (event instanceof ModelEvents.TrickEnded) {
+            requestEstimate();
+        }
+    }
+
+    private void startKnowledge() {
+        long inHands = 0L;
+        int[] sizes = new int[seats.length];
+        for (int seat = 0; seat < seats.length; seat++) {
+            inHands |= CardMask.of(seats[seat].getHandCards());
+            sizes[seat] = seats[seat].getHandCards().size();
+        }
+        long observerHand = CardMask.of(seats[ESTIMATE_OBSERVER].getHandCards());
+        knowledge = new DealKnowledge(ESTIMATE_OBSERVER, observerHand, CardMask.ALL & ~inHands, sizes);
+        estimateEpoch++;
+    }
+
+    private void requestEstimate() {
+        if (currentDeal == null || currentDeal.isOver() || knowledge == null) return;
+        if (currentDeal.getPlayers().stream().allMatch(Player::hasNoCards)) return; // the deal is ending
+        if (estimator == null)
+            estimator = new WinProbabilityEstimator(winningScore, BotComputePool.shared(), searchBudgets,
+                    System.nanoTime(),
+                    estimate -> loop.execute(() -> publishEstimate(estimate)));
+        Map<String, Integer> scores = scoreManager.getTeamGameScores();
+        int[] totals = { scores.get(teams.get(0).getId()), scores.get(teams.get(1).getId()) };
+        estimator.submit(new WinProbabilityEstimator.Request(estimateEpoch, currentDeal.takePosition(),
+                                                             knowledge.copy(), totals));
+    }
+
+    // back on the game thread; estimates of a finished deal are dropped
+    private void publishEstimate(WinProbabilityEstimator.Estimate estimate) {
+        if (estimate.epoch() != estimateEpoch || gameOver || isCurrentDealOver()) return;
+        String team1 = teams.get(0).getId(), team2 = teams.get(1).getId();
+        setChanged();
+        notifyObservers(new ModelEvents.WinEstimate(
+                Map.of(team1, estimate.expectedPoints()[0], team2, estimate.expectedPoints()[1]),
+                Map.of(team1, estimate.winProbability()[0], team2, estimate.winProbability()[1]),
+                estimate.samples()));
+    }
+
+    private int seatOf(String playerId) {
+        for (int seat = 0; seat < seats.length; seat++)
+            if (seats[seat].getId().equals(playerId)) return seat;
+        throw new IllegalArgumentException("Unknown player: " + playerId);
     }
 
 }
@@ -0,0 +1,25 @@
+package model;
+
+import java.util.Map;
+
+import model.events.DealSnapshot;
+
+/**
+ * Immutable state of a game, published by the game thread after every
+ * command and model event. It is read through a volatile reference, so any
+ * thread sees a consistent and complete view without locking.
+ *
+ * @param deal the last snapshot of the current deal, null before the first deal
+ * @param dealOver true if there is no active deal or it has finished
+ * @param paused true if the game is paused
+ * @param gameOver true once a team reached the winning score or the game was stopped
+ * @param totalScores cumulative score of each team
+ * @param lastDealPoints points of each team in the last finished deal
+ */
+public record GameView(DealSnapshot deal, boolean dealOver, boolean paused, boolean gameOver,
+                       Map<String, Integer> totalScores, Map<String, Integer> lastDealPoints) {
+    public GameView {
+        totalScores = Map.copyOf(totalScores);
+        lastDealPoints = Map.copyOf(lastDealPoints);
+    }
+}
@@ -37,9 +37,23 @@ public class Table {
         return played;
     }
 
+    /** Copy of the table with the same plays in the same order, 
+     *  so a bot can read it while the game goes on.
+     * @return an independent table
+     */
+    public Table copy() {
+        Table copy = new Table();
+        currentTrick.getPlays().forEach(copy::addCard);
+        return copy;
+    }
+
     // Those methods are used to extract the Table state
     public Optional<CardSuit> getPalo() { return currentTrick.getPalo(); }
     public Map<Player, Card> getCardsOnTable() { return currentTrick.getPlays(); }
+    // allocation-free variants, for the bot heuristics and the simulations
+    public CardSuit getPaloOrNull() { return currentTrick.getPaloOrNull(); }
+    public Card getCardAt(int i) { return currentTrick.getCardAt(i); }
+    public Player getPlayerAt(int i) { return currentTrick.getPlayerAt(i); }
     public boolean isEmpty() { return currentTrick.isEmpty(); }
     public int size() { return currentTrick.size(); }
 
@@ -1,10 +1,12 @@
 package model.board;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import model.cards.Card;
@@ -19,6 +21,9 @@ public class Trick {
 
     private CardSuit palo;
     private final LinkedHashMap<Player, Card> plays = new LinkedHashMap<>();
+    // the same plays by position, for allocation-free reads
+    private Player[] players = new Player[4];
+    private Card[] cards = new Card[4];
 
     /** Adds a play to the trick. */
     public void addPlay(Player player, Card card) {
@@ -28,12 +33,29 @@ public class Trick {
         if (plays.isEmpty()) {
             palo = card.getSuit();
         }
-        plays.put(player, card);
+        if (plays.put(player, card) == null) {
+            int n = plays.size() - 1;
+            if (n == players.length) {
+                players = Arrays.copyOf(players, n * 2);
+                cards = Arrays.copyOf(cards, n * 2);
+            }
+            players[n] = player;
+            cards[n] = card;
+        } else { // same player again: the map keeps the position
+            for (int i = 0; i < plays.size(); i++)
+                if (players[i] == player) cards[i] = card;
+        }
     }
     // Methods used to extract the Trick state
     public Optional<CardSuit> getPalo() { return Optional.ofNullable(palo); }
     public Map<Player, Card> getPlays() { return Collections.unmodifiableMap(plays); }
     public List<Card> getCards() { return new ArrayList<>(plays.values()); }
+    /** @return the suit of the first card, or null if the trick is empty */
+    public CardSuit getPaloOrNull() { return palo; }
+    /** @return the i-th card played, in play order */
+    public Card getCardAt(int i) { return cards[Objects.checkIndex(i, plays.size())]; }
+    /** @return the player of the i-th card played */
+    public Player getPlayerAt(int i) { return players[Objects.checkIndex(i, plays.size())]; }
     public boolean isEmpty() { return plays.isEmpty(); }
     public int size() { return plays.size(); }
 }
@@ -1,5 +1,7 @@
 package model.cards;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -12,6 +14,19 @@ public class Card {
 	
 	private final CardSuit suit;
 	private final CardValue value;
+
+	// one shared instance per card, indexed by ordinal and by code
+	private static final Card[] BY_ORDINAL = new Card[CardSuit.values().length * CardMask.SUIT_SIZE];
+	private static final Map<String, Integer> ORDINAL_BY_CODE = new HashMap<>();
+	static {
+		for (CardSuit suit : CardSuit.values()) {
+			for (CardValue value : CardValue.values()) {
+				Card card = new Card(suit, value);
+				BY_ORDINAL[card.getOrdinal()] = card;
+				ORDINAL_BY_CODE.put(card.getCode(), card.getOrdinal());
+			}
+		}
+	}
 	
 	/**
 	 * Create a new card with the given suit and value
@@ -44,6 +59,35 @@ public class Card {
 	public CardSuit getSuit() { return suit; }
 	public CardValue getValue() { return value; }
 
+	/**
+	 * Position of this card in a 40 card deck: suit ordinal * 10 + value ordinal.
+	 * It is the bit used for the card in a {@link CardMask}.
+	 * @return int in [0, 40)
+	 */
+	public int getOrdinal() {
+		return suit.ordinal() * CardMask.SUIT_SIZE + value.ordinal();
+	}
+
+	/**
+	 * The card with the given ordinal (see {@link #getOrdinal()}).
+	 * @param ordinal int in [0, 40)
+	 * @return a shared instance of the card
+	 * @throws IndexOutOfBoundsException if the ordinal is not a card
+	 */
+	public static Card fromOrdinal(int ordinal) {
+		return BY_ORDINAL[Objects.checkIndex(ordinal, BY_ORDINAL.length)];
+	}
+
+	/**
+	 * The ordinal of the card with the given code (see {@link #getCode()}).
+	 * @param code the card code, e.g. "SETTE_DENARI"
+	 * @return the ordinal, or -1 if the code is null or unknown
+	 */
+	public static int ordinalOf(String code) {
+		Integer ordinal = code == null ? null : ORDINAL_BY_CODE.get(code);
+		return ordinal == null ? -1 : ordinal;
+	}
+
 	@Override
 	/**
 	 * This representation is made for the user, e.g. "Asso di Denari"
@@ -0,0 +1,46 @@
+package model.cards;
+
+import java.util.List;
+
+/**
+ * Static helpers to pack sets of cards into a {@code long} bit mask.
+ *
+ * Bit {@link Card#getOrdinal()} is set for every card of the set, so each
+ * suit occupies 10 consecutive bits ordered by {@link CardValue} ordinal.
+ * The 10 bits of one suit are called a holding.
+ */
+public final class CardMask {
+    private CardMask() {}
+
+    public static final int SUIT_SIZE = 10;
+    public static final int HOLDING_MASK = (1 << SUIT_SIZE) - 1;  // 10 bits
+    public static final int HOLDINGS = 1 << SUIT_SIZE;            // 1024 holdings per suit
+    public static final long ALL = (1L << 40) - 1;                // the whole deck
+
+    /** @return the mask with only the given card */
+    public static long of(Card card) {
+        return 1L << card.getOrdinal();
+    }
+
+    /** @return the mask of the given cards */
+    public static long of(List<Card> cards) {
+        long mask = 0L;
+        for (int i = 0; i < cards.size(); i++) mask |= 1L << cards.get(i).getOrdinal();
+        return mask;
+    }
+
+    /**
+     * Extract the holding (10 bits, one per {@link CardValue}) of a suit.
+     * @param mask the card mask
+     * @param suit the suit
+     * @return the holding in [0, 1024)
+     */
+    public static int holding(long mask, CardSuit suit) {
+        return (int) (mask >>> (suit.ordinal() * SUIT_SIZE)) & HOLDING_MASK;
+    }
+
+    /** @return the mask of all the cards of a suit */
+    public static long suitMask(CardSuit suit) {
+        return (long) HOLDING_MASK << (suit.ordinal() * SUIT_SIZE);
+    }
+}
@@ -3,6 +3,7 @@ package model.cards;
 import java.util.Collections;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Represents a deck of 40 Tre Sette cards (4 suits x 10 values).
@@ -43,6 +44,15 @@ public class Deck {
 	    Collections.shuffle(cards);
 	}
 
+	/**
+	 * Shuffle with the given random source, so that simulations can
+	 * reproduce a deal from its seed.
+	 * @param random the random source
+	 */
+	public void shuffle(Random random) {
+	    Collections.shuffle(cards, random);
+	}
+
 	public int size() { return cards.size(); }
 
 	public boolean isEmpty() { return cards.isEmpty(); }
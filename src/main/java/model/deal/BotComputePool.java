@@ -0,0 +1,341 @@
+package model.deal;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import utils.metrics.MetricsRegistry;
+
+/**
+ * Executor shared by the bots of every table on this JVM.
+ *
+ * Each table submits through its own {@link Lane}. Workers pick the next task
+ * with deficit round robin over the lanes that have work: a lane may run a
+ * task while its deficit is positive, the measured CPU time of the task is
+ * charged to it afterwards, and when no lane has credit left every waiting
+ * lane receives a quantum proportional to its weight. A table running an
+ * expensive search therefore only consumes its own share, and cheap move
+ * decisions of the other tables keep a flat latency.
+ *
+ * Within the pool, tasks of a higher {@link Priority} are served first (a
+ * pending move before background analysis); within a lane they run in
+ * submission order. Every lane keeps its CPU time, queue depth, completed
+ * tasks and queue wait, for metrics and load control.
+ */
+public final class BotComputePool {
+    /** Number of workers of {@link #shared()}, default: all cores but one. */
+    public static final String THREADS_PROPERTY = "tresette.bot.threads";
+
+    /** Scheduling class of a task. */
+    public enum Priority { MOVE, SIGN, BACKGROUND }
+
+    private static final long QUANTUM_NANOS = 2_000_000; // CPU credit per weight and round
+    private static final double LATENCY_SMOOTHING = 0.1; // weight of the last move in the average
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final List<Lane> active = new ArrayList<>(); // lanes with queued tasks
+    private final List<Lane> lanes = new ArrayList<>();  // every lane, for metrics
+    private final AtomicInteger laneIds = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+    private int cursor;
+    private int queued;
+    private long sequence;
+    private boolean shutdown;
+    private double moveLatencyNanos; // moving average of MOVE tasks, guarded by the lock
+    private long movesCompleted;     // MOVE tasks completed, guarded by the lock
+
+    /**
+     * @param threads number of worker threads
+     */
+    public BotComputePool(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("At least one worker is required");
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::work, "bot-compute-" + (i + 1));
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /** The pool shared by all tables, sized by {@value #THREADS_PROPERTY}. */
+    public static BotComputePool shared() { return Holder.INSTANCE; }
+
+    private static final class Holder {
+        private static final BotComputePool INSTANCE = new BotComputePool(
+            Integer.getInteger(THREADS_PROPERTY, Math.max(1, Runtime.getRuntime().availableProcessors() - 1)));
+        static {
+            MetricsRegistry metrics = MetricsRegistry.shared();
+            metrics.gauge("botpool.queueDepth", INSTANCE::getQueueDepth);
+            metrics.gauge("botpool.moveLatencyNanos", INSTANCE::getMoveLatencyNanos);
+            metrics.gauge("botpool.lanes", () -> INSTANCE.getLanes().size());
+            metrics.gauge("botpool.cpuNanos", () -> INSTANCE.getLanes().stream().mapToLong(Lane::getCpuNanos).sum());
+        }
+    }
+
+    /**
+     * Open a lane for a table.
+     * @param name prefix of the lane name, used in metrics
+     * @param weight relative CPU share of the lane (at least 1)
+     * @return the new lane
+     */
+    public Lane newLane(String name, int weight) {
+        Lane lane = new Lane(name + "-" + laneIds.incrementAndGet(), Math.max(1, weight));
+        lock.lock();
+        try {
+            lanes.add(lane);
+        } finally {
+            lock.unlock();
+        }
+        return lane;
+    }
+
+    /** @return tasks waiting in all lanes */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return moving average of the time from submission to completion of MOVE tasks */
+    public long getMoveLatencyNanos() {
+        lock.lock();
+        try {
+            return (long) moveLatencyNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return MOVE tasks completed so far, to tell whether {@link #getMoveLatencyNanos} moved */
+    public long getMovesCompleted() {
+        lock.lock();
+        try {
+            return movesCompleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the lanes not closed yet */
+    public List<Lane> getLanes() {
+        lock.lock();
+        try {
+            return List.copyOf(lanes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return number of worker threads */
+    public int getThreads() { return workers.size(); }
+
+    /** Stop the workers; queued tasks are cancelled. */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            for (Lane lane : active) {
+                Task<?> task;
+                while ((task = lane.tasks.poll()) != null) task.result.cancel(false);
+            }
+            active.clear();
+            queued = 0;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ------------------ Scheduling ------------------
+    private void enqueue(Lane lane, Task<?> task) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                task.result.cancel(false);
+                return;
+            }
+            task.sequence = sequence++;
+            if (lane.tasks.isEmpty()) active.add(lane);
+            lane.tasks.add(task);
+            queued++;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Deficit round robin over the lanes whose next task has the best priority. */
+    private Task<?> next() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!shutdown) {
+                if (active.isEmpty()) {
+                    available.await();
+                    continue;
+                }
+                Priority best = Priority.BACKGROUND;
+                for (Lane lane : active) {
+                    Priority head = lane.tasks.peek().priority;
+                    if (head.compareTo(best) < 0) best = head;
+                }
+                int n = active.size();
+                for (int visited = 0; visited < n; visited++) {
+                    if (cursor >= n) cursor = 0;
+                    Lane lane = active.get(cursor);
+                    if (lane.deficit > 0 && lane.tasks.peek().priority == best) {
+                        Task<?> task = lane.tasks.poll();
+                        queued--;
+                        if (lane.tasks.isEmpty()) {
+                            // an idle lane keeps its debt but does not bank credit
+                            lane.deficit = Math.min(lane.deficit, 0);
+                            active.remove(cursor);
+                        }
+                        return task;
+                    }
+                    cursor++;
+                }
+                // nobody eligible has credit left: start a new round
+                for (Lane lane : active) {
+                    if (lane.tasks.peek().priority == best) lane.deficit += QUANTUM_NANOS * lane.weight;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Task<?> task;
+            try {
+                task = next();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (task == null) return;
+            long started = System.nanoTime();
+            long cpuStart = CPU_TIME ? THREADS.getCurrentThreadCpuTime() : started;
+            task.run();
+            long ended = System.nanoTime();
+            long cpu = (CPU_TIME ? THREADS.getCurrentThreadCpuTime() : ended) - cpuStart;
+            Lane lane = task.lane;
+            lane.cpuNanos.addAndGet(cpu);
+            lane.waitNanos.addAndGet(started - task.submitted);
+            lane.lastLatencyNanos = ended - task.submitted;
+            lane.completed.incrementAndGet();
+            lock.lock();
+            try {
+                lane.deficit -= cpu;
+                if (task.priority == Priority.MOVE) {
+                    moveLatencyNanos += LATENCY_SMOOTHING * ((ended - task.submitted) - moveLatencyNanos);
+                    movesCompleted++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // ------------------ Lanes and tasks ------------------
+    /** The queue of one table, with its accounting. */
+    public final class Lane {
+        private final String name;
+        private final int weight;
+        private final PriorityQueue<Task<?>> tasks = new PriorityQueue<>();
+        private long deficit;                    // guarded by the pool lock
+        private final AtomicLong cpuNanos = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private volatile long lastLatencyNanos;
+
+        private Lane(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        /**
+         * Queue a computation on the pool.
+         * @param priority scheduling class of the task
+         * @param work the computation, run on a worker thread
+         * @return completed with the result of the work, or exceptionally
+         */
+        public <T> CompletableFuture<T> submit(Priority priority, Callable<T> work) {
+            Task<T> task = new Task<>(this, priority, work);
+            enqueue(this, task);
+            return task.result;
+        }
+
+        /** Remove the lane from the metrics; tasks already queued still run. */
+        public void close() {
+            lock.lock();
+            try {
+                lanes.remove(this);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public String getName() { return name; }
+        public int getWeight() { return weight; }
+        public long getCpuNanos() { return cpuNanos.get(); }
+        public long getWaitNanos() { return waitNanos.get(); }
+        public long getCompleted() { return completed.get(); }
+        /** @return time from submission to completion of the last task */
+        public long getLastLatencyNanos() { return lastLatencyNanos; }
+
+        /** @return tasks of this lane waiting to run */
+        public int getQueueDepth() {
+            lock.lock();
+            try {
+                return tasks.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Task<T> implements Comparable<Task<?>> {
+        private final Lane lane;
+        private final Priority priority;
+        private final Callable<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long submitted = System.nanoTime();
+        private long sequence;
+
+        Task(Lane lane, Priority priority, Callable<T> work) {
+            this.lane = lane;
+            this.priority = priority;
+            this.work = work;
+        }
+
+        void run() {
+            if (result.isDone()) return; // cancelled while queued
+            try {
+                result.complete(work.call());
+            } catch (Exception | Error ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
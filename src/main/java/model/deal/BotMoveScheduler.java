@@ -1,34 +1,46 @@
 package model.deal;
 
-import javax.swing.Timer;
-
 import java.util.List;
 
+import model.GameDifficultyState;
+import model.board.Table;
 import model.cards.Card;
 import model.player.BotPlayer;
 import model.player.Player;
 import model.player.Team;
+import model.search.SearchBudgetController;
 import model.sign.SignType;
+import utils.jfr.BotDecisionEvent;
 
 /**
  * Schedules delayed bot moves for a {@link Deal}.
  * 
- * This is a helper that triggers a delayed bot action using a {@link javax.swing.Timer} so the
- * UI has a short pause between plays. 
+ * This is a helper that triggers a delayed bot action through the {@link GameScheduler}
+ * of the deal so the UI has a short pause between plays. The decision itself is computed
+ * on the shared {@link BotComputePool}, in the lane of this table, and applied back on
+ * the game thread.
  *
  * Responsibilities:
  * - Detect whether the current player is a bot.
- * - After a short delay, ask the bot for a card and invoke the parent
- *   {@link Deal#playCardFromBot} to execute the play.
- * - Optionally ask the bot to emit a sign before playing
- * - Avoid re-scheduling while a timer is already pending.
+ * - After a short delay, submit the bot decision (optional sign and card) to the pool
+ *   on a copy of the table.
+ * - Ask the {@link SearchBudgetController} for the budget of the decision under the load
+ *   of the pool, and record it with the decision.
+ * - When the decision is ready, check the deal is still running and invoke the parent
+ *   {@link Deal#handlePlayerSign} and {@link Deal#playCardFromBot} to execute it.
+ * - Avoid re-scheduling while a timer or a decision is already pending.
  */
 
 public class BotMoveScheduler {
     private final Deal deal;        
     private final int delayMs; 
     private final List<Team> teams;    
-    private Timer timer;           
+    private GameScheduler.Task timer;
+    private boolean pending;                 // a decision is being computed on the pool
+    private BotComputePool.Lane lane;        // opened on the first decision
+
+    /** Result of a bot turn, computed off the game thread. */
+    private record Decision(SignType sign, Card card) {}
 
     /**
      * Create a scheduler bound to a parent {@link Deal} and using the given delay.
@@ -46,72 +58,114 @@ public class BotMoveScheduler {
     /**
      * Schedule a bot move if the current player is a bot.
      * 
-     * If a timer is already pending, this method does nothing. If no bot is
+     * If a timer or a decision is already pending, this method does nothing. If no bot is
      * currently active, the scheduler cancels any pending timer.
-     * Otherwise, it schedules a new timer for the bot's turn and overrides
-     * the actionPerformed method to handle the bot's play (card and sign)
+     * Otherwise, it schedules a new timer for the bot's turn that submits the
+     * decision to the compute pool.
      */
     public void scheduleIfBotTurn() {
         if (deal.isOver() || deal.isPaused()) return;
         BotPlayer bot = currentBot();
         if (bot == null) { cancel(); return; }
-        if (timer != null && timer.isRunning()) return; 
+        if (pending || (timer != null && timer.isPending())) return; 
 
-        timer = new Timer(delayMs, new java.awt.event.ActionListener() {
-            @Override
-            public void actionPerformed(java.awt.event.ActionEvent e) {
-                try {
-                    BotPlayer current = currentBot();
-                    if (current == null || deal.isOver() || deal.isPaused()) return;
-                    maybeSendSign(current);
-                    // Find the team for the current bot
-                    Team botTeam = null;
-                    if (teams != null) {
-                        botTeam = teams.stream()
-                                       .filter(team -> team.getMembers().contains(current))
-                                       .findFirst()
-                                       .orElse(null);
-                    }
-                    Card choice = current.decideCard(deal.table, botTeam);
-                    deal.playCardFromBot(current, choice);
-                } catch (Exception ignored) {
-                    // The drawback is that any issues are silently ignored
-                } finally {
-                    // clear reference so new schedules are allowed
-                    timer = null;
-                    // chain if trick not complete and still bot turn
-                    boolean dealRunning = !deal.isOver() && !deal.isPaused();
-                    boolean trickComplete = deal.table.size() == deal.players.size();
-                    if (dealRunning && !trickComplete) {
-                        scheduleIfBotTurn();
-                    }
-                }
-            }
-        });
-        timer.setRepeats(false);
-        timer.start();
+        timer = deal.getScheduler().schedule(this::requestDecision, delayMs);
     }
 
-    /** Cancel any pending bot move timer. */
+    /** Cancel any pending bot move timer. A decision already computing is
+     *  discarded if the deal is paused or over when it completes. */
     public void cancel() { 
         if (timer != null) { 
-            timer.stop(); 
+            timer.cancel(); 
             timer = null; 
         } 
     }
+
+    /** Cancel the timer and release the compute lane of the table. */
+    public void close() {
+        cancel();
+        if (lane != null) lane.close();
+    }
+
     //---- Private helpers ----
-    private BotPlayer currentBot() {
-        Player player = deal.getCurrentPlayer();
-        if (player instanceof BotPlayer bot) return bot;
-        return null;
+    // on the game thread, when the delay expires
+    private void requestDecision() {
+        // clear reference so new schedules are allowed
+        timer = null;
+        BotPlayer current = currentBot();
+        if (current == null || deal.isOver() || deal.isPaused()) return;
+        boolean signAllowed = deal.canPlayerMakeSign(current);
+        Table table = deal.table.copy();
+        List<Card> hand = List.copyOf(current.getHandCards()); // the worker must not read the live hand
+        Team botTeam = teamOf(current);
+        if (lane == null) lane = BotComputePool.shared().newLane("table", 1);
+        pending = true;
+        lane.submit(BotComputePool.Priority.MOVE, () -> decide(current, table, hand, botTeam, signAllowed))
+            .whenComplete((decision, error) -> deal.getScheduler().execute(() -> apply(current, decision)));
     }
 
-    private void maybeSendSign(BotPlayer bot) {
-        if (deal.canPlayerMakeSign(bot)) {
-            SignType type = bot.decideSign(deal.table);
-            if (type != null && type != SignType.NONE) {
-                deal.handlePlayerSign(bot, type);
+    // on a pool worker
+    private static Decision decide(BotPlayer bot, Table table, List<Card> hand, Team team, boolean signAllowed) {
+        GameDifficultyState difficulty = bot.getDifficulty();
+        SearchBudgetController.Budget budget = difficulty == null ? null
+                                             : SearchBudgetController.shared().budgetFor(difficulty);
+        BotDecisionEvent event = new BotDecisionEvent();
+        event.begin();
+        SignType sign = signAllowed ? bot.decideSign(table, hand) : null;
+        Card card = bot.decideCard(table, hand, team);
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = "heuristic";
+            event.difficulty = bot.getDifficultyLabel();
+            event.bot = bot.getId();
+            event.card = card.getCode();
+            event.sign = sign == null ? null : sign.name();
+            event.nodes = 0; // the heuristic engine does not search
+            if (budget != null) {
+                event.budgetIterations = budget.iterations();
+                event.budgetNanos = budget.nanos();
             }
+            event.commit();
         }
+        return new Decision(sign, card);
+    }
+
+    // back on the game thread
+    private void apply(BotPlayer bot, Decision decision) {
+        pending = false;
+        try {
+            // the deal may have been paused or ended meanwhile: resume schedules a new decision
+            if (decision == null || currentBot() != bot || deal.isOver() || deal.isPaused()) return;
+            // the hand changed meanwhile (position loaded, cards moved): decide again
+            if (!bot.getHandCards().contains(decision.card())) return;
+            SignType sign = decision.sign();
+            if (sign != null && sign != SignType.NONE && deal.canPlayerMakeSign(bot)) {
+                deal.handlePlayerSign(bot, sign);
+            }
+            deal.playCardFromBot(bot, decision.card());
+        } catch (Exception ignored) {
+            // The drawback is that any issues are silently ignored
+        } finally {
+            // chain if trick not complete and still bot turn
+            boolean dealRunning = !deal.isOver() && !deal.isPaused();
+            boolean trickComplete = deal.table.size() == deal.players.size();
+            if (dealRunning && !trickComplete) {
+                scheduleIfBotTurn();
+            }
+        }
+    }
+
+    private Team teamOf(BotPlayer bot) {
+        if (teams == null) return null;
+        return teams.stream()
+                    .filter(team -> team.getMembers().contains(bot))
+                    .findFirst()
+                    .orElse(null);
+    }
+
+    private BotPlayer currentBot() {
+        Player player = deal.getCurrentPlayer();
+        if (player instanceof BotPlayer bot) return bot;
+        return null;
     }
 }
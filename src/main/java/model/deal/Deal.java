@@ -6,28 +6,41 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Observable;
+import java.util.stream.Collectors;
 
 import model.GameRules;
 import model.board.Table;
 import model.cards.Card;
+import model.cards.CardMask;
 import model.cards.CardSuit;
 import model.cards.Deck;
 import model.player.BotPlayer;
 import model.player.Player;
+import model.search.ClaimSolver;
 import model.sign.SignManager;
 import model.sign.SignType;
 import model.events.DealSnapshot;
 import model.events.ModelEvents;
+import model.events.PackedDealSnapshot;
 import model.events.SignEvent;
+import utils.jfr.DealEndedEvent;
+import utils.jfr.DealStartedEvent;
+import utils.jfr.TrickResolvedEvent;
+import utils.metrics.Counter;
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
 
 /**
  * Abstract base for a single deal (mano) lifecycle.
  * 
  * This class holds the ordered {@code players}, a {@link Deck}, a
- * {@link Table}, the {@link SignManager} and scheduling helpers (timers and
- * {@code BotMoveScheduler}). It implements the deal lifecycle: start,
- * play resolution, trick resolution and end, and emits {@link ModelEvents}
- * for observers.
+ * {@link Table}, the {@link SignManager} and scheduling helpers (the
+ * {@link GameScheduler} of the game and the {@code BotMoveScheduler}). It
+ * implements the deal lifecycle: start, play resolution, trick resolution and
+ * end, and emits {@link ModelEvents} for observers.
+ *
+ * A deal is not thread-safe: every method must be called on the thread of its
+ * {@link GameScheduler}, which also runs its delayed steps.
  */
 @SuppressWarnings("deprecation")
 public abstract class Deal extends Observable {
@@ -37,24 +50,52 @@ public abstract class Deal extends Observable {
     protected final Table table = new Table();     
     private int currentIndex;                      
     private Player lastTrickWinner;                
+    private long wonMask;                          // cards already won, see CardMask
     private boolean over = false;                  // Deal is Over
     private boolean paused = false;                // Deal paused
-    private javax.swing.Timer trickResolutionTimer; // Timer for tock resolution
+    private GameScheduler.Task trickResolution;    // delayed trick resolution
+    private final GameScheduler scheduler;         // runs the delayed steps on the game thread
     private final SignManager signManager;         
+    private final List<DealPosition.Sign> signs = new ArrayList<>(); // signs sent, for takePosition()
     private final int dealIndex;                 
     protected static final int BOT_MOVE_DELAY_MS = 2000;  // Delay for bot moves
     private static final int TRICK_RESOLUTION_DELAY_MS = 1200;  // Delay for trick resolution
-    protected final BotMoveScheduler botScheduler = new BotMoveScheduler(this, BOT_MOVE_DELAY_MS, null);
+    protected final BotMoveScheduler botScheduler;
+    private long startedAt;                        // System.nanoTime() of start()
+    private final boolean botsOnly;                // no human at the table: claims apply by themselves
+    private ClaimSolver claimSolver;               // created for the first claim search, used on the claim lane
+    private BotComputePool.Lane claimLane;         // opened for the first claim search
+    private int claimEpoch;                        // one per claim search: older results are dropped
+    private boolean claimable;                     // the points of the rest are determined
+    private final int[] claimPoints = new int[2];  // determined points of each team
+    // scratch arrays of takePackedSnapshot(), copied by the snapshot
+    private final byte[] packedHandSizes = new byte[PackedDealSnapshot.SEATS];
+    private final byte[] packedWonCounts = new byte[PackedDealSnapshot.SEATS];
+    private final byte[] packedTable = new byte[PackedDealSnapshot.SEATS];
+    private final byte[] packedHumanHand = new byte[PackedDealSnapshot.MAX_HAND];
+
+    // runtime metrics, shared by every deal
+    private static final Counter EVENTS = MetricsRegistry.shared().counter("model.events");
+    private static final Counter DEALS_STARTED = MetricsRegistry.shared().counter("deal.started");
+    private static final Histogram DEAL_DURATION = MetricsRegistry.shared().histogram("deal.duration");
+    private static final Histogram TRICK_RESOLUTION = MetricsRegistry.shared().histogram("trick.resolve");
+    private static final Histogram SNAPSHOT_BUILD = MetricsRegistry.shared().histogram("snapshot.build");
+    private static final Histogram CLAIM_SEARCH = MetricsRegistry.shared().histogram("claim.search");
+    private static final Histogram OBSERVER_DISPATCH = MetricsRegistry.shared().histogram("observer.dispatch");
 
     /** Constructor for the Deal class.
      * @param dealIndex the index of the deal
      * @param players the list of players participating in the deal
+     * @param scheduler the scheduler of the game thread owning the deal
      * It also initializes the sign manager with the players list.
      */
-    protected Deal(int dealIndex, List<Player> players) {
+    protected Deal(int dealIndex, List<Player> players, GameScheduler scheduler) {
         this.players = new ArrayList<>(players);
         this.signManager = new SignManager(this.players);
         this.dealIndex = dealIndex;
+        this.scheduler = scheduler;
+        this.botScheduler = new BotMoveScheduler(this, BOT_MOVE_DELAY_MS, null);
+        this.botsOnly = this.players.stream().allMatch(p -> p instanceof BotPlayer);
     }
 
 
@@ -64,15 +105,61 @@ public abstract class Deal extends Observable {
      * determines the starting player, sends start events, and schedules the bot if needed
      */
     public void start() {
+        startedAt = System.nanoTime();
+        DEALS_STARTED.increment();
         resetPlayers();
         deck.shuffle();
         initialDeal();
         currentIndex = determineStartingPlayerIndex();
-        setChanged();
-        notifyObservers(new ModelEvents.DealStarted(takeGameSnapshot()));
-        setChanged();
-        notifyObservers(new ModelEvents.TrickStarted(takeGameSnapshot()));
-        botScheduler.scheduleIfBotTurn();
+        begin();
+    }
+
+    /**
+     * Starts the deal from a position instead of a fresh shuffle: the players
+     * get the hands and the won cards of the position, the cards of the
+     * current trick are put on the table and the sign state is restored
+     * (the bots are told of the prior signs). Then it goes on as {@link #start()}.
+     * @param position a position of this deal, see {@link DealPosition}
+     * @throws IllegalArgumentException if the position is not for 4 players
+     */
+    public void startFrom(DealPosition position) {
+        if (players.size() != DealPosition.SEATS)
+            throw new IllegalArgumentException("A position needs " + DealPosition.SEATS + " players");
+        startedAt = System.nanoTime();
+        DEALS_STARTED.increment();
+        resetPlayers();
+        for (int seat = 0; seat < DealPosition.SEATS; seat++) {
+            Player p = players.get(seat);
+            for (long m = position.getHand(seat); m != 0; m &= m - 1) p.addCard(Card.fromOrdinal(Long.numberOfTrailingZeros(m)));
+            List<Card> wonCards = new ArrayList<>();
+            for (long m = position.getWon(seat); m != 0; m &= m - 1) wonCards.add(Card.fromOrdinal(Long.numberOfTrailingZeros(m)));
+            p.addWonCards(wonCards);
+            wonMask |= position.getWon(seat);
+        }
+        int last = position.getLastTrickWinner();
+        lastTrickWinner = last < 0 ? null : players.get(last);
+        currentIndex = position.getLeader();
+        for (int i = 0; i < position.getTrickSize(); i++) {
+            table.addCard(currentPlayer(), Card.fromOrdinal(position.getTrickCard(i)));
+            advanceTurn();
+        }
+        for (DealPosition.Sign sign : position.getSigns()) {
+            signManager.restoreSign(players.get(sign.seat()), sign.type(), sign.trick() == position.getTricksPlayed());
+            signs.add(sign);
+        }
+        begin();
+    }
+
+    // send the start events and hand the turn to the bot if needed
+    private void begin() {
+        DealStartedEvent started = new DealStartedEvent();
+        if (started.shouldCommit()) {
+            started.dealIndex = dealIndex;
+            started.startingPlayer = currentPlayer().getId();
+            started.commit();
+        }
+        emit(new ModelEvents.DealStarted(takeGameSnapshot()));
+        startTrick();
     }
 
     /**
@@ -108,8 +195,7 @@ public abstract class Deal extends Observable {
     private void executePlay(Player player, Card card) {
         player.playCard(card);
         table.addCard(player, card);
-        setChanged();
-        notifyObservers(new ModelEvents.CardPlayed(player.getId(), card.getCode(), card.toString(), takeGameSnapshot()));
+        emit(new ModelEvents.CardPlayed(player.getId(), card.getCode(), card.toString(), takeGameSnapshot()));
         if (table.size() == players.size()) {
             scheduleTrickResolution();
         } else {
@@ -122,35 +208,20 @@ public abstract class Deal extends Observable {
     }
 
     /**
-     * Schedules the resolution of the current trick using a timer, if all players have played.
+     * Schedules the resolution of the current trick after a delay, if all players have played.
      * This method is used internally after each play.
      */
     private void scheduleTrickResolution() {
         if (over || paused) return;
-        if (trickResolutionTimer != null && trickResolutionTimer.isRunning()) return; // already running
+        if (trickResolution != null && trickResolution.isPending()) return; // already scheduled
         if (table.size() != players.size()) return; // not all players have played
-        // it calls the actionPerformed method of the Timer listener after the delay,
-        // invoking onTrickResolutionTimer
-        trickResolutionTimer = new javax.swing.Timer(
-            TRICK_RESOLUTION_DELAY_MS,
-            this::onTrickResolutionTimer
-        );
-        trickResolutionTimer.setRepeats(false); 
-        trickResolutionTimer.start();
+        trickResolution = scheduler.schedule(this::onTrickResolutionDue, TRICK_RESOLUTION_DELAY_MS);
     }
-    // when the timer is expired, it triggers the resolution of the trick
-    private void onTrickResolutionTimer(java.awt.event.ActionEvent event) {
-        try {
-            resolveTrick();
-        // to ensure the timer is stopped after the trick resolution
-        } finally {
-            // after some checks it has been necessary to stop the timer, because
-            // it happens some timers continue running even after the game is over
-            if (trickResolutionTimer != null) {
-                trickResolutionTimer.stop();
-                trickResolutionTimer = null;
-            }
-        }
+    // when the delay is expired, it triggers the resolution of the trick
+    private void onTrickResolutionDue() {
+        trickResolution = null;
+        if (over || paused) return;
+        resolveTrick();
     }
 
     /**
@@ -159,30 +230,144 @@ public abstract class Deal extends Observable {
      * Called by the timer after all players have played their cards for the trick.
      */
     private void resolveTrick() {
+        long started = System.nanoTime();
+        TrickResolvedEvent event = new TrickResolvedEvent();
+        event.begin();
         CardSuit palo = table.getPalo().orElseThrow(() ->
                         new IllegalStateException("Palo not found"));
+        List<Card> trickCards = collectTrick(palo);
+        Player trickWinner = lastTrickWinner;
+        TRICK_RESOLUTION.recordSince(started);
+        if (event.shouldCommit()) {
+            event.dealIndex = dealIndex;
+            event.palo = palo.name();
+            event.cards = trickCards.stream().map(Card::getCode).collect(Collectors.joining(","));
+            event.winner = trickWinner.getId();
+            event.commit();
+        }
+        emit(new ModelEvents.TrickEnded(takeGameSnapshot()));
+        if (isDealFinished()) { // check if deal is finished according to variant rules
+            endDeal();
+        } else {
+            startTrick();
+        }
+    }
+
+    /** Gives the cards of the complete trick to its winner, who leads the next trick. */
+    private List<Card> collectTrick(CardSuit palo) {
         Player trickWinner = GameRules.getTrickWinner(table.getCardsOnTable(), palo);
         if (trickWinner == null) throw new IllegalStateException("Trick winner null");
         List<Card> trickCards = table.clearTableAndReturnCards();
         trickWinner.addWonCards(trickCards);
+        wonMask |= CardMask.of(trickCards);
         lastTrickWinner = trickWinner;
         currentIndex = players.indexOf(trickWinner);
         signManager.onTrickEnded(); // ensure sign manager turn off the sign accessibility
-        setChanged();
-        notifyObservers(new ModelEvents.TrickEnded(takeGameSnapshot()));
-        if (isDealFinished()) { // check if deal is finished according to variant rules
-            endDeal();
-        } else {
-            setChanged();
-            notifyObservers(new ModelEvents.TrickStarted(takeGameSnapshot()));
-            botScheduler.scheduleIfBotTurn();
+        return trickCards;
+    }
+
+    /**
+     * Opens the next trick: looks for a claim first, which a bot-only table
+     * applies at once, otherwise the trick starts and the bot is scheduled.
+     */
+    private void startTrick() {
+        requestClaim();
+        emit(new ModelEvents.TrickStarted(takeGameSnapshot()));
+        botScheduler.scheduleIfBotTurn();
+    }
+
+    // ------------------ Claims ------------------
+    /**
+     * Starts the claim proof search once the deal is short enough, see
+     * {@link ClaimSolver}. The search runs on a background lane of the
+     * {@link BotComputePool}, never on the game thread, and its result comes
+     * back through the scheduler: a bot-only table then claims at once,
+     * otherwise {@link ModelEvents.ClaimAvailable} is sent.
+     */
+    private void requestClaim() {
+        claimable = false;
+        int epoch = ++claimEpoch;
+        if (GameRules.CARDS_PER_PLAYER - tricksPlayed() > ClaimSolver.MAX_TRICKS) return;
+        DealPosition position = takePosition();
+        if (claimSolver == null) claimSolver = new ClaimSolver();
+        if (claimLane == null) claimLane = BotComputePool.shared().newLane("claim", 1);
+        ClaimSolver solver = claimSolver;
+        claimLane.submit(BotComputePool.Priority.BACKGROUND, () -> searchClaim(solver, position))
+            .whenComplete((points, error) -> scheduler.execute(() -> onClaimSearched(epoch, points)));
+    }
+
+    // on a pool worker: the points of each team, or null if they are not determined
+    private static int[] searchClaim(ClaimSolver solver, DealPosition position) {
+        synchronized (solver) { // the solver keeps scratch state; searches of one deal never overlap
+            long started = System.nanoTime();
+            int[] points = new int[2];
+            boolean determined = solver.solve(position, points);
+            CLAIM_SEARCH.recordSince(started);
+            return determined ? points : null;
+        }
+    }
+
+    // back on the game thread; a result overtaken by a newer search is dropped
+    private void onClaimSearched(int epoch, int[] points) {
+        if (points == null || epoch != claimEpoch || over) return;
+        claimable = true;
+        System.arraycopy(points, 0, claimPoints, 0, claimPoints.length);
+        if (botsOnly && claim(null)) return;
+        emit(new ModelEvents.ClaimAvailable(takeGameSnapshot()));
+    }
+
+    /** @return true if the points of the rest of the deal are determined, whatever is played */
+    public boolean isClaimable() { return claimable && !over; }
+
+    /**
+     * Ends the deal at once when its points are determined: the remaining
+     * cards are played without delays (any legal line gives the same points),
+     * then {@link ModelEvents.DealClaimed} and the usual end of deal are sent,
+     * so the deal is scored as if it had been played out.
+     * @param player the player claiming, or {@code null} when the deal claims by itself
+     * @return {@code true} if the claim was accepted
+     */
+    public boolean claim(Player player) {
+        if (over || paused || !claimable) return false;
+        botScheduler.cancel();
+        if (trickResolution != null) {
+            trickResolution.cancel();
+            trickResolution = null;
+        }
+        if (table.size() == players.size()) collectTrick(table.getPaloOrNull());
+        while (!isDealFinished()) {
+            Player p = currentPlayer();
+            Card card = firstValidCard(p);
+            p.playCard(card);
+            table.addCard(p, card);
+            if (table.size() == players.size()) collectTrick(table.getPaloOrNull());
+            else advanceTurn();
+        }
+        emit(new ModelEvents.DealClaimed(player == null ? null : player.getId(), takeGameSnapshot()));
+        endDeal();
+        return true;
+    }
+
+    private Card firstValidCard(Player player) {
+        for (Card card : player.getHandCards()) {
+            if (GameRules.isValidPlay(player, card, table)) return card;
         }
+        throw new IllegalStateException("No valid card for " + player.getId());
     }
 
     private void endDeal() { 
         over = true;
-        setChanged();
-        notifyObservers(new ModelEvents.DealEnded(takeGameSnapshot())); 
+        botScheduler.close();
+        if (claimLane != null) claimLane.close();
+        DEAL_DURATION.recordSince(startedAt);
+        DealEndedEvent ended = new DealEndedEvent();
+        if (ended.shouldCommit()) {
+            ended.dealIndex = dealIndex;
+            ended.lastTrickWinner = lastTrickWinner == null ? null : lastTrickWinner.getId();
+            ended.dealDuration = System.nanoTime() - startedAt;
+            ended.commit();
+        }
+        emit(new ModelEvents.DealEnded(takeGameSnapshot())); 
     }
     private Player currentPlayer() { return players.get(currentIndex); }
 
@@ -192,9 +377,9 @@ public abstract class Deal extends Observable {
         this.paused = paused;
         if (paused) {
             botScheduler.cancel();
-            if (trickResolutionTimer != null) {
-                trickResolutionTimer.stop();
-                trickResolutionTimer = null;
+            if (trickResolution != null) {
+                trickResolution.cancel();
+                trickResolution = null;
             }
         } else { // resume
             if (!over && table.size() == players.size()) {
@@ -205,6 +390,13 @@ public abstract class Deal extends Observable {
         }
     }
 
+    /** Release an abandoned deal: cancels its delayed steps and its bot computations. */
+    public void close() {
+        setPaused(true);
+        botScheduler.close();
+        if (claimLane != null) claimLane.close();
+    }
+
     // ------------------ Signs and Interaction ------------------
     public boolean canPlayerMakeSign(Player p) { 
         return signManager.canPlayerMakeSign(p, table, currentPlayer()); 
@@ -220,16 +412,34 @@ public abstract class Deal extends Observable {
      */
     public SignEvent handlePlayerSign(Player player, SignType type) {
         SignEvent event = signManager.sendSign(player, type, table, currentPlayer());
-        setChanged();
-        notifyObservers(new ModelEvents.Sign(event, takeGameSnapshot()));
+        signs.add(new DealPosition.Sign(tricksPlayed(), currentIndex, type));
+        emit(new ModelEvents.Sign(event, takeGameSnapshot()));
         return event;
     }
 
-    // ------------------ Snapshot ------------------
+    // ------------------ Events and Snapshot ------------------
+    /** Notify the observers of a model event, recording the dispatch time. */
+    private void emit(ModelEvents.Event event) {
+        long started = System.nanoTime();
+        setChanged();
+        notifyObservers(event);
+        OBSERVER_DISPATCH.recordSince(started);
+        EVENTS.increment();
+    }
+
     /** This methods prepare a Snapshot of the current game state
      *  using {@link DealSnapshot}.
      */
     private DealSnapshot takeGameSnapshot() {
+        long started = System.nanoTime();
+        try {
+            return buildSnapshot();
+        } finally {
+            SNAPSHOT_BUILD.recordSince(started);
+        }
+    }
+
+    private DealSnapshot buildSnapshot() {
         // each player's hand size and won cards count
         Map<String,Integer> handSizes = new LinkedHashMap<>();
         Map<String,Integer> wonCounts = new LinkedHashMap<>();
@@ -267,8 +477,52 @@ public abstract class Deal extends Observable {
         lastWinnerId,
         canSign,
         paused,
+        !over && !paused && claimable,
         humanHand);
     }
+    /**
+     * Compact snapshot of the deal for servers and journals: seats, card
+     * ordinals and masks only, without the strings of {@link DealSnapshot}.
+     * @return the packed snapshot of the current state
+     */
+    public PackedDealSnapshot takePackedSnapshot() {
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
+            packedHandSizes[seat] = (byte) p.getHandCards().size();
+            packedWonCounts[seat] = (byte) p.getWonCards().size();
+        }
+        int tableCount = 0;
+        for (Card card : table.getCardsOnTable().values()) packedTable[tableCount++] = (byte) card.getOrdinal();
+        List<Card> humanHand = players.get(0).getHandCards();
+        for (int i = 0; i < humanHand.size(); i++) packedHumanHand[i] = (byte) humanHand.get(i).getOrdinal();
+        return PackedDealSnapshot.of(dealIndex, currentIndex,
+                lastTrickWinner == null ? -1 : players.indexOf(lastTrickWinner),
+                !over && !paused && canPlayerMakeSign(currentPlayer()), paused, !over && !paused && claimable,
+                packedHandSizes, packedWonCounts, packedTable, tableCount,
+                packedHumanHand, humanHand.size(), wonMask);
+    }
+
+    /**
+     * The position of the deal, to resume it later with {@link #startFrom(DealPosition)}.
+     * @return the current position
+     * @throws IllegalStateException while a complete trick waits to be resolved
+     */
+    public DealPosition takePosition() {
+        if (table.size() == players.size()) throw new IllegalStateException("The trick is being resolved");
+        long[] hands = new long[players.size()];
+        long[] won = new long[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            hands[seat] = CardMask.of(players.get(seat).getHandCards());
+            won[seat] = CardMask.of(players.get(seat).getWonCards());
+        }
+        int[] trick = new int[table.size()];
+        for (int i = 0; i < trick.length; i++) trick[i] = table.getCardAt(i).getOrdinal();
+        int leader = table.isEmpty() ? currentIndex : players.indexOf(table.getPlayerAt(0));
+        return DealPosition.of(dealIndex, hands, won, leader, trick, signs);
+    }
+
+    private int tricksPlayed() { return Long.bitCount(wonMask) / players.size(); }
+
     // ------------------ getters ------------------
     public boolean isOver() { return over; }
     public boolean isPaused() { return paused; }
@@ -276,6 +530,7 @@ public abstract class Deal extends Observable {
     public List<Player> getPlayers() { return Collections.unmodifiableList(players); }
     public Player getLastTrickWinner() { return lastTrickWinner; }
     public int getDealIndex() { return dealIndex; }
+    public GameScheduler getScheduler() { return scheduler; }
 
     // ------------------ Utility methods ------------------
     private void resetPlayers() {
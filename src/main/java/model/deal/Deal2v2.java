@@ -14,9 +14,11 @@ public final class Deal2v2 extends Deal {
      * Create a 2v2 deal instance.
      * @param dealIndex the sequential index of the deal in the game
      * @param players ordered list of 4 players participating in the deal
+     * @param teams the two teams
+     * @param scheduler the scheduler of the game thread owning the deal
      */
-    public Deal2v2(int dealIndex, List<Player> players, List<Team> teams) {
-        super(dealIndex, players);
+    public Deal2v2(int dealIndex, List<Player> players, List<Team> teams, GameScheduler scheduler) {
+        super(dealIndex, players, scheduler);
         if (players.size() != 4) 
             throw new IllegalArgumentException("Deal2v2 requires exactly 4 players");
         this.botScheduler = new BotMoveScheduler(this, BOT_MOVE_DELAY_MS, teams);
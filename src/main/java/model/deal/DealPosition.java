@@ -0,0 +1,323 @@
+package model.deal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import model.GameRules;
+import model.cards.Card;
+import model.cards.CardMask;
+import model.sign.SignType;
+
+/**
+ * A position inside a deal: what is needed to resume it without playing
+ * through the previous tricks. It is loaded into a live deal by
+ * {@link Deal#startFrom(DealPosition)} and taken from one by
+ * {@link Deal#takePosition()}.
+ *
+ * Players are identified by seat (table order, team 0 holds seats 0 and 2)
+ * and cards by ordinal ({@link Card#getOrdinal()}); hands and won piles are
+ * {@link CardMask} longs. The position is checked when it is built: every
+ * card is in exactly one place, the won piles are whole tricks, every seat
+ * holds the cards its turn requires and the first trick is led by the holder
+ * of {@link GameRules#STARTING_CARD}. After the first trick the leader is the
+ * winner of the last trick.
+ *
+ * The text format is a list of {@code key value} entries separated by new
+ * lines or {@code ;}, with {@code #} comments:
+ * <pre>
+ * deal 3
+ * hands 4D 7D AC RC 2B / AS 3S ... / ... / ...
+ * won - / - / FD CD 6S 5B / -
+ * leader 2
+ * trick 3D
+ * signs 0:1:BUSSO 1:2:VOLO
+ * </pre>
+ * A card is its value ({@code A 2 3 4 5 6 7 F C R}) followed by its suit
+ * ({@code D B C S}); the codes of {@link Card#getCode()} are accepted too.
+ * {@code hands} and {@code won} list the seats in order, {@code -} is an
+ * empty set; {@code trick} lists the cards already on the table from the
+ * leader on. Each sign is {@code trick:seat:TYPE}, the trick counted from 0.
+ * Missing entries are empty, the deal index defaults to 0.
+ */
+public final class DealPosition {
+    public static final int SEATS = 4;
+
+    private static final String VALUES = "A234567FCR";   // by CardValue ordinal
+    private static final String SUITS = "DBCS";          // by CardSuit ordinal, see Card#getOrdinal()
+
+    /**
+     * A sign already sent in the deal.
+     * @param trick index of the trick, from 0
+     * @param seat the seat of the sender
+     * @param type the sign
+     */
+    public record Sign(int trick, int seat, SignType type) {
+        public Sign {
+            Objects.requireNonNull(type, "type");
+        }
+        @Override
+        public String toString() { return trick + ":" + seat + ":" + type.name(); }
+    }
+
+    private final int dealIndex;
+    private final long[] hands;
+    private final long[] won;
+    private final int leader;
+    private final int[] trick;   // ordinals in play order
+    private final List<Sign> signs;
+    private final int tricksPlayed;
+
+    private DealPosition(int dealIndex, long[] hands, long[] won, int leader, int[] trick, List<Sign> signs) {
+        this.dealIndex = dealIndex;
+        this.hands = hands;
+        this.won = won;
+        this.leader = leader;
+        this.trick = trick;
+        this.signs = signs;
+        long wonMask = 0L;
+        for (long pile : won) wonMask |= pile;
+        this.tricksPlayed = Long.bitCount(wonMask) / SEATS;
+        validate();
+    }
+
+    /**
+     * Build a position.
+     * @param dealIndex index of the deal in the game
+     * @param hands the cards in the hand of each seat
+     * @param won the cards won by each seat
+     * @param leader the seat that leads the current trick
+     * @param trick the ordinals of the cards of the current trick, from the leader on (0 to 3)
+     * @param signs the signs sent so far, in order
+     * @return the position
+     * @throws IllegalArgumentException if the position cannot be reached in a deal
+     */
+    public static DealPosition of(int dealIndex, long[] hands, long[] won, int leader, int[] trick, List<Sign> signs) {
+        if (hands.length != SEATS || won.length != SEATS)
+            throw new IllegalArgumentException("A position needs the hands and the won cards of " + SEATS + " seats");
+        return new DealPosition(dealIndex, hands.clone(), won.clone(), leader, trick.clone(), List.copyOf(signs));
+    }
+
+    private void validate() {
+        if (leader < 0 || leader >= SEATS) throw new IllegalArgumentException("Unknown leader seat " + leader);
+        if (trick.length >= SEATS) throw new IllegalArgumentException("The current trick has " + trick.length + " cards");
+        long seen = 0L;
+        for (int seat = 0; seat < SEATS; seat++) {
+            seen = claim(seen, hands[seat], "hand of seat " + seat);
+            seen = claim(seen, won[seat], "won cards of seat " + seat);
+            if (Long.bitCount(won[seat]) % SEATS != 0)
+                throw new IllegalArgumentException("The won cards of seat " + seat + " are not whole tricks");
+        }
+        for (int ordinal : trick) seen = claim(seen, CardMask.of(Card.fromOrdinal(ordinal)), "current trick");
+        if (seen != CardMask.ALL) throw new IllegalArgumentException("Cards missing: " + format(CardMask.ALL & ~seen));
+        for (int seat = 0; seat < SEATS; seat++) {
+            int expected = GameRules.CARDS_PER_PLAYER - tricksPlayed - (hasPlayed(seat) ? 1 : 0);
+            if (Long.bitCount(hands[seat]) != expected)
+                throw new IllegalArgumentException("Seat " + seat + " holds " + Long.bitCount(hands[seat])
+                                                   + " cards instead of " + expected);
+        }
+        if (tricksPlayed == 0) {
+            long starting = CardMask.of(GameRules.STARTING_CARD);
+            boolean leads = (hands[leader] & starting) != 0 || (trick.length > 0 && trick[0] == GameRules.STARTING_CARD.getOrdinal());
+            if (!leads) throw new IllegalArgumentException("The first trick is led by the holder of " + GameRules.STARTING_CARD);
+        }
+        for (Sign sign : signs) {
+            if (sign.seat() < 0 || sign.seat() >= SEATS) throw new IllegalArgumentException("Unknown sign seat " + sign.seat());
+            if (sign.trick() < 0 || sign.trick() > tricksPlayed) throw new IllegalArgumentException("Sign " + sign + " of a future trick");
+            if (!isOnlySignOf(sign.trick())) throw new IllegalArgumentException("More than one sign in trick " + sign.trick());
+            if (sign.trick() == tricksPlayed && sign.seat() != leader)
+                throw new IllegalArgumentException("Sign " + sign + ": the current trick is led by seat " + leader);
+        }
+    }
+
+    private static long claim(long seen, long cards, String where) {
+        if ((seen & cards) != 0) throw new IllegalArgumentException("Cards repeated in " + where + ": " + format(seen & cards));
+        return seen | cards;
+    }
+
+    private boolean isOnlySignOf(int trickIndex) {
+        int count = 0;
+        for (Sign s : signs) if (s.trick() == trickIndex) count++;
+        return count == 1;
+    }
+
+    /** @return true if the seat has already played in the current trick */
+    private boolean hasPlayed(int seat) { return (seat - leader + SEATS) % SEATS < trick.length; }
+
+    // ------------------ Getters ------------------
+    public int getDealIndex() { return dealIndex; }
+    public long getHand(int seat) { return hands[seat]; }
+    public long getWon(int seat) { return won[seat]; }
+    public int getLeader() { return leader; }
+    public int getTrickSize() { return trick.length; }
+    public int getTrickCard(int i) { return trick[Objects.checkIndex(i, trick.length)]; }
+    public List<Sign> getSigns() { return signs; }
+    /** @return the number of tricks already won */
+    public int getTricksPlayed() { return tricksPlayed; }
+    /** @return the seat that must play */
+    public int getCurrentSeat() { return (leader + trick.length) % SEATS; }
+    /** @return the winner of the last trick, the leader of the current one, or -1 before the first */
+    public int getLastTrickWinner() { return tricksPlayed == 0 ? -1 : leader; }
+    /** @return true if the leader already sent the sign of the current trick */
+    public boolean isSignUsed() {
+        for (Sign sign : signs) if (sign.trick() == tricksPlayed) return true;
+        return false;
+    }
+
+    // ------------------ Text format ------------------
+    /**
+     * Read a position in the text format described above.
+     * @param text the position
+     * @return the position
+     * @throws IllegalArgumentException if the text is malformed or the position unreachable
+     */
+    public static DealPosition parse(String text) {
+        int dealIndex = 0;
+        long[] hands = new long[SEATS];
+        long[] won = new long[SEATS];
+        int leader = -1;
+        int[] trick = new int[0];
+        List<Sign> signs = new ArrayList<>();
+        for (String line : text.split("[;\\n]")) {
+            int comment = line.indexOf('#');
+            String entry = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (entry.isEmpty()) continue;
+            String[] parts = entry.split("\\s+", 2);
+            String value = parts.length > 1 ? parts[1].trim() : "";
+            switch (parts[0]) {
+                case "deal" -> dealIndex = parseNumber(value, "deal");
+                case "hands" -> hands = parseSeats(value, "hands");
+                case "won" -> won = parseSeats(value, "won");
+                case "leader" -> leader = parseNumber(value, "leader");
+                case "trick" -> trick = parseCards(value);
+                case "signs" -> {
+                    for (String s : tokens(value)) signs.add(parseSign(s));
+                }
+                default -> throw new IllegalArgumentException("Unknown entry '" + parts[0] + "'");
+            }
+        }
+        if (leader < 0) throw new IllegalArgumentException("Missing entry 'leader'");
+        return new DealPosition(dealIndex, hands, won, leader, trick, List.copyOf(signs));
+    }
+
+    /** @return the position in the text format, on one line */
+    public String format() {
+        StringBuilder text = new StringBuilder("deal ").append(dealIndex);
+        text.append("; hands ");
+        appendSeats(text, hands);
+        text.append("; won ");
+        appendSeats(text, won);
+        text.append("; leader ").append(leader);
+        if (trick.length > 0) {
+            text.append("; trick");
+            for (int ordinal : trick) text.append(' ').append(notation(ordinal));
+        }
+        if (!signs.isEmpty()) {
+            text.append("; signs");
+            for (Sign sign : signs) text.append(' ').append(sign);
+        }
+        return text.toString();
+    }
+
+    /** @return the short notation of a card, e.g. "7D" for the Sette di Denari */
+    public static String notation(int ordinal) {
+        Card card = Card.fromOrdinal(ordinal);
+        return "" + VALUES.charAt(card.getValue().ordinal()) + SUITS.charAt(card.getSuit().ordinal());
+    }
+
+    /**
+     * The ordinal of a card in short notation or as {@link Card#getCode()}.
+     * @throws IllegalArgumentException if the card is unknown
+     */
+    public static int parseCard(String token) {
+        if (token.length() == 2) {
+            int value = VALUES.indexOf(Character.toUpperCase(token.charAt(0)));
+            int suit = SUITS.indexOf(Character.toUpperCase(token.charAt(1)));
+            if (value >= 0 && suit >= 0) return suit * CardMask.SUIT_SIZE + value;
+        }
+        int ordinal = Card.ordinalOf(token);
+        if (ordinal < 0) throw new IllegalArgumentException("Unknown card '" + token + "'");
+        return ordinal;
+    }
+
+    private static void appendSeats(StringBuilder text, long[] masks) {
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (seat > 0) text.append(" / ");
+            text.append(masks[seat] == 0 ? "-" : format(masks[seat]));
+        }
+    }
+
+    private static String format(long mask) {
+        StringBuilder cards = new StringBuilder();
+        for (long m = mask; m != 0; m &= m - 1) {
+            if (cards.length() > 0) cards.append(' ');
+            cards.append(notation(Long.numberOfTrailingZeros(m)));
+        }
+        return cards.toString();
+    }
+
+    private static long[] parseSeats(String value, String key) {
+        String[] seats = value.split("/", -1);
+        if (seats.length != SEATS) throw new IllegalArgumentException("'" + key + "' needs " + SEATS + " seats separated by /");
+        long[] masks = new long[SEATS];
+        for (int seat = 0; seat < SEATS; seat++) {
+            for (int ordinal : parseCards(seats[seat])) {
+                long bit = 1L << ordinal;
+                if ((masks[seat] & bit) != 0) throw new IllegalArgumentException("Card repeated in '" + key + "': " + notation(ordinal));
+                masks[seat] |= bit;
+            }
+        }
+        return masks;
+    }
+
+    private static int[] parseCards(String value) {
+        List<String> tokens = tokens(value);
+        int[] ordinals = new int[tokens.size()];
+        for (int i = 0; i < ordinals.length; i++) ordinals[i] = parseCard(tokens.get(i));
+        return ordinals;
+    }
+
+    private static Sign parseSign(String token) {
+        String[] fields = token.split(":");
+        if (fields.length != 3) throw new IllegalArgumentException("Malformed sign '" + token + "', expected trick:seat:TYPE");
+        try {
+            return new Sign(parseNumber(fields[0], "sign"), parseNumber(fields[1], "sign"),
+                            SignType.valueOf(fields[2].toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed sign '" + token + "'", e);
+        }
+    }
+
+    private static List<String> tokens(String value) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : value.trim().split("\\s+"))
+            if (!token.isEmpty() && !token.equals("-")) tokens.add(token);
+        return tokens;
+    }
+
+    private static int parseNumber(String value, String key) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + key + "' needs a number, found '" + value + "'");
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof DealPosition other)) return false;
+        return dealIndex == other.dealIndex && leader == other.leader
+            && Arrays.equals(hands, other.hands) && Arrays.equals(won, other.won)
+            && Arrays.equals(trick, other.trick) && signs.equals(other.signs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dealIndex, leader, Arrays.hashCode(hands), Arrays.hashCode(won), Arrays.hashCode(trick), signs);
+    }
+
+    @Override
+    public String toString() { return format(); }
+}
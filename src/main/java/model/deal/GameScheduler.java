@@ -0,0 +1,40 @@
+package model.deal;
+
+/**
+ * Executes the actions of a game on the thread that owns it.
+ *
+ * A {@link Deal} and its {@link BotMoveScheduler} never start timers or
+ * threads of their own: delayed steps (bot moves, trick resolution) and
+ * results computed elsewhere (bot decisions) are handed to the scheduler,
+ * which runs them one at a time on the owning thread. The model state is
+ * then only ever touched by that single thread.
+ */
+public interface GameScheduler {
+
+    /** A delayed action that can still be cancelled. */
+    interface Task {
+        /** Cancel the action if it did not run yet (owning thread only). */
+        void cancel();
+
+        /** @return true until the action has run or was cancelled */
+        boolean isPending();
+    }
+
+    /**
+     * Run an action on the owning thread as soon as possible (any thread).
+     * @param action the action
+     * @return false if the scheduler has been stopped and the action was dropped
+     */
+    boolean execute(Runnable action);
+
+    /**
+     * Run an action on the owning thread after a delay.
+     * @param action the action
+     * @param delayMs the delay in milliseconds
+     * @return the scheduled task
+     */
+    Task schedule(Runnable action, long delayMs);
+
+    /** @return true if the calling thread is the owning thread */
+    boolean inOwnerThread();
+}
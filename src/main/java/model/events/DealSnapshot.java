@@ -18,6 +18,7 @@ public final class DealSnapshot {
     private final String lastTrickWinnerId;        
     private final boolean canCurrentPlayerSign;
     private final boolean paused;
+    private final boolean claimable;
     private final List<String> humanHand;          
 
     public DealSnapshot(int dealIndex,
@@ -29,6 +30,21 @@ public final class DealSnapshot {
                         boolean canCurrentPlayerSign,
                         boolean paused,
                         List<String> humanHand) {
+        this(dealIndex, currentPlayerId, handSizes, wonCards, tableCards, lastTrickWinnerId,
+             canCurrentPlayerSign, paused, false, humanHand);
+    }
+
+    /** As above; {@code claimable} tells that the rest of the deal can be claimed. */
+    public DealSnapshot(int dealIndex,
+                        String currentPlayerId,
+                        Map<String,Integer> handSizes,
+                        Map<String,Integer> wonCards,
+                        List<String> tableCards,
+                        String lastTrickWinnerId,
+                        boolean canCurrentPlayerSign,
+                        boolean paused,
+                        boolean claimable,
+                        List<String> humanHand) {
 
         this.dealIndex = dealIndex;
         this.currentPlayerId = currentPlayerId;
@@ -38,6 +54,7 @@ public final class DealSnapshot {
         this.lastTrickWinnerId = lastTrickWinnerId;
         this.canCurrentPlayerSign = canCurrentPlayerSign;
         this.paused = paused;
+        this.claimable = claimable;
         if (humanHand == null) this.humanHand = List.of(); 
         else this.humanHand = List.copyOf(humanHand);      
     }
@@ -49,5 +66,6 @@ public final class DealSnapshot {
     public String getLastTrickWinnerId() { return lastTrickWinnerId; }
     public boolean canCurrentPlayerSign() { return canCurrentPlayerSign; }
     public boolean isPaused() { return paused; }
+    public boolean isClaimable() { return claimable; }
     public List<String> getHumanHand() { return humanHand; }
 }
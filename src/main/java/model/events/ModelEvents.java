@@ -22,6 +22,10 @@ public final class ModelEvents {
     // Gameplay
     public static record CardPlayed(String playerId, String cardCode, String cardText, DealSnapshot snapshot) implements Event {}
     public static record Sign(SignEvent event, DealSnapshot snapshot) implements Event {}
+    /** The rest of the deal was played at once because its points were determined; no player id for an automatic claim. */
+    public static record DealClaimed(String playerId, DealSnapshot snapshot) implements Event {}
+    /** The claim search proved the points of the rest of the deal: it can be claimed now. */
+    public static record ClaimAvailable(DealSnapshot snapshot) implements Event {}
 
     // Scoring and game end
     public static record ScoresUpdated(
@@ -34,4 +38,13 @@ public final class ModelEvents {
         Map<String, Integer> finalScores,
         List<String> winnerIds) implements Event {}
 
+    /**
+     * Live estimate of the deal points and of the odds of winning the match of
+     * each team by id, seen from the human seat; the odds are NaN for very high targets.
+     */
+    public static record WinEstimate(
+        Map<String, Double> expectedPoints,
+        Map<String, Double> winProbability,
+        int samples) implements Event {}
+
 }
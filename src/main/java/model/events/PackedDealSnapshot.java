@@ -0,0 +1,217 @@
+package model.events;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import model.GameRules;
+import model.cards.Card;
+
+/**
+ * Compact, fixed-layout encoding of the state of a deal, for servers and
+ * journals where {@link DealSnapshot} (maps keyed by player id and card
+ * code strings) is too costly to build and keep.
+ *
+ * Players are identified by seat index (table order) and cards by ordinal
+ * ({@link Card#getOrdinal()}). The per-seat counters, the cards on the table
+ * and the ordered hand of the human player live in one byte array with the
+ * layout below; the cards on the table and the cards already won are also
+ * kept as {@link model.cards.CardMask} bit sets.
+ *
+ * <pre>
+ * offset size field
+ *      0    4 deal index (int, big endian)
+ *      4    1 current seat
+ *      5    1 last trick winner seat, -1 if none
+ *      6    1 flags: bit 0 current player can sign, bit 1 paused, bit 2 claimable
+ *      7    1 number of cards on the table
+ *      8    4 hand size of each seat
+ *     12    4 won cards of each seat
+ *     16    4 ordinals of the cards on the table, in play order
+ *     20    1 number of cards in the human hand
+ *     21   10 ordinals of the human hand, in hand order
+ *     31    1 padding
+ *     32    8 won cards mask (long)
+ * </pre>
+ *
+ * The table mask is rebuilt from the table ordinals when read back.
+ * String accessors are adapters for the Swing layer.
+ */
+public final class PackedDealSnapshot {
+    public static final int SEATS = 4;
+    public static final int MAX_HAND = 10;
+    /** Size in bytes of the encoded snapshot. */
+    public static final int BYTES = 40;
+
+    private static final int CURRENT = 4, LAST_WINNER = 5, FLAGS = 6, TABLE_COUNT = 7;
+    private static final int HAND_SIZES = 8, WON_COUNTS = 12, TABLE = 16;
+    private static final int HUMAN_COUNT = 20, HUMAN_HAND = 21, WON_MASK = 32;
+    private static final int CAN_SIGN = 1, PAUSED = 2, CLAIMABLE = 4;
+
+    private final byte[] data;   // the first WON_MASK bytes of the layout
+    private final long tableMask;
+    private final long wonMask;
+
+    private PackedDealSnapshot(byte[] data, long tableMask, long wonMask) {
+        this.data = data;
+        this.tableMask = tableMask;
+        this.wonMask = wonMask;
+    }
+
+    /**
+     * Build a snapshot. The arrays are read, not kept.
+     * @param dealIndex index of the deal in the game
+     * @param currentSeat seat of the player to move
+     * @param lastTrickWinnerSeat seat of the last trick winner, -1 if none
+     * @param canCurrentPlayerSign true if the current player can sign
+     * @param paused true if the deal is paused
+     * @param claimable true if the rest of the deal can be claimed
+     * @param handSizes hand size of each seat
+     * @param wonCounts won cards of each seat
+     * @param table ordinals of the cards on the table in play order
+     * @param tableCount number of cards on the table
+     * @param humanHand ordinals of the human hand in hand order
+     * @param humanCount number of cards in the human hand
+     * @param wonMask cards already won by any player
+     * @return the snapshot
+     */
+    public static PackedDealSnapshot of(int dealIndex, int currentSeat, int lastTrickWinnerSeat,
+                                        boolean canCurrentPlayerSign, boolean paused, boolean claimable,
+                                        byte[] handSizes, byte[] wonCounts,
+                                        byte[] table, int tableCount,
+                                        byte[] humanHand, int humanCount, long wonMask) {
+        if (tableCount > SEATS || humanCount > MAX_HAND)
+            throw new IllegalArgumentException("Too many cards: table " + tableCount + ", hand " + humanCount);
+        byte[] data = new byte[WON_MASK];
+        putInt(data, dealIndex);
+        data[CURRENT] = (byte) currentSeat;
+        data[LAST_WINNER] = (byte) lastTrickWinnerSeat;
+        data[FLAGS] = (byte) ((canCurrentPlayerSign ? CAN_SIGN : 0) | (paused ? PAUSED : 0)
+                                | (claimable ? CLAIMABLE : 0));
+        data[TABLE_COUNT] = (byte) tableCount;
+        System.arraycopy(handSizes, 0, data, HAND_SIZES, SEATS);
+        System.arraycopy(wonCounts, 0, data, WON_COUNTS, SEATS);
+        System.arraycopy(table, 0, data, TABLE, tableCount);
+        data[HUMAN_COUNT] = (byte) humanCount;
+        System.arraycopy(humanHand, 0, data, HUMAN_HAND, humanCount);
+        return new PackedDealSnapshot(data, maskOf(data, TABLE, tableCount), wonMask);
+    }
+
+    // ------------------ ByteBuffer I/O ------------------
+    /**
+     * Write the {@link #BYTES} bytes of the snapshot at the buffer position.
+     * @param buffer the target buffer
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(data).putLong(wonMask);
+    }
+
+    /**
+     * Read a snapshot written by {@link #writeTo(ByteBuffer)}.
+     * @param buffer the source buffer, positioned at the snapshot
+     * @return the snapshot
+     * @throws IllegalArgumentException if a count, a seat or a card ordinal is out of range
+     */
+    public static PackedDealSnapshot readFrom(ByteBuffer buffer) {
+        byte[] data = new byte[WON_MASK];
+        buffer.get(data);
+        long wonMask = buffer.getLong();
+        int tableCount = data[TABLE_COUNT];
+        if (tableCount < 0 || tableCount > SEATS || data[HUMAN_COUNT] < 0 || data[HUMAN_COUNT] > MAX_HAND)
+            throw new IllegalArgumentException("Corrupted deal snapshot: table " + tableCount + ", hand " + data[HUMAN_COUNT]);
+        if (data[CURRENT] < 0 || data[CURRENT] >= SEATS || data[LAST_WINNER] < -1 || data[LAST_WINNER] >= SEATS)
+            throw new IllegalArgumentException("Corrupted deal snapshot: seats " + data[CURRENT] + ", " + data[LAST_WINNER]);
+        checkOrdinals(data, TABLE, tableCount);
+        checkOrdinals(data, HUMAN_HAND, data[HUMAN_COUNT]);
+        return new PackedDealSnapshot(data, maskOf(data, TABLE, tableCount), wonMask);
+    }
+
+    // ------------------ Getters ------------------
+    public int getDealIndex() {
+        return (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF);
+    }
+    public int getCurrentSeat() { return data[CURRENT]; }
+    public int getLastTrickWinnerSeat() { return data[LAST_WINNER]; }
+    public boolean canCurrentPlayerSign() { return (data[FLAGS] & CAN_SIGN) != 0; }
+    public boolean isPaused() { return (data[FLAGS] & PAUSED) != 0; }
+    public boolean isClaimable() { return (data[FLAGS] & CLAIMABLE) != 0; }
+    public int getHandSize(int seat) { return data[HAND_SIZES + checkSeat(seat)]; }
+    public int getWonCount(int seat) { return data[WON_COUNTS + checkSeat(seat)]; }
+    public int getTableCount() { return data[TABLE_COUNT]; }
+    /** @return ordinal of the i-th card played on the table */
+    public int getTableCard(int i) { return data[TABLE + Objects.checkIndex(i, getTableCount())]; }
+    public int getHumanHandCount() { return data[HUMAN_COUNT]; }
+    /** @return ordinal of the i-th card of the human hand */
+    public int getHumanHandCard(int i) { return data[HUMAN_HAND + Objects.checkIndex(i, getHumanHandCount())]; }
+    public long getTableMask() { return tableMask; }
+    public long getHumanHandMask() { return maskOf(data, HUMAN_HAND, getHumanHandCount()); }
+    public long getWonMask() { return wonMask; }
+
+    // ------------------ String adapters ------------------
+    /** @return codes of the cards on the table, in play order */
+    public List<String> getTableCardCodes() { return codes(TABLE, getTableCount()); }
+
+    /** @return codes of the human hand, in hand order */
+    public List<String> getHumanHandCodes() { return codes(HUMAN_HAND, getHumanHandCount()); }
+
+    /**
+     * Expand to the {@link DealSnapshot} used by the view.
+     * @param seatIds id of the player at each seat
+     * @return the equivalent snapshot
+     */
+    public DealSnapshot toDealSnapshot(List<String> seatIds) {
+        Map<String,Integer> handSizes = new LinkedHashMap<>();
+        Map<String,Integer> wonCounts = new LinkedHashMap<>();
+        for (int seat = 0; seat < SEATS; seat++) {
+            handSizes.put(seatIds.get(seat), getHandSize(seat));
+            wonCounts.put(seatIds.get(seat), getWonCount(seat));
+        }
+        int lastWinner = getLastTrickWinnerSeat();
+        return new DealSnapshot(getDealIndex(), seatIds.get(getCurrentSeat()), handSizes, wonCounts,
+                getTableCardCodes(), lastWinner < 0 ? null : seatIds.get(lastWinner),
+                canCurrentPlayerSign(), isPaused(), isClaimable(), getHumanHandCodes());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof PackedDealSnapshot other)) return false;
+        return wonMask == other.wonMask && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() { return 31 * Arrays.hashCode(data) + Long.hashCode(wonMask); }
+
+    // ------------------ Helpers ------------------
+    private List<String> codes(int offset, int count) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) codes.add(Card.fromOrdinal(data[offset + i]).getCode());
+        return codes;
+    }
+
+    private static void checkOrdinals(byte[] data, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+            if (data[offset + i] < 0 || data[offset + i] >= GameRules.TOTAL_DECK_CARDS)
+                throw new IllegalArgumentException("Corrupted deal snapshot: card ordinal " + data[offset + i]);
+        }
+    }
+
+    private static long maskOf(byte[] data, int offset, int count) {
+        long mask = 0L;
+        for (int i = 0; i < count; i++) mask |= 1L << data[offset + i];
+        return mask;
+    }
+
+    private static void putInt(byte[] data, int value) {
+        data[0] = (byte) (value >>> 24);
+        data[1] = (byte) (value >>> 16);
+        data[2] = (byte) (value >>> 8);
+        data[3] = (byte) value;
+    }
+
+    private static int checkSeat(int seat) { return Objects.checkIndex(seat, SEATS); }
+}
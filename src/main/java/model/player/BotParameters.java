@@ -0,0 +1,161 @@
+package model.player;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import model.GameDifficultyState;
+
+/**
+ * Immutable parameter vector used by the {@link BotStrategyEngine}.
+ *
+ * The values were hard-coded in the engine: here they are grouped so they
+ * can be tuned offline (see the {@code model.simulation.BotParameterTuner} tool) and
+ * loaded per difficulty from a {@code .properties} file on the classpath.
+ * When no tuned file is available the original constants are used.
+ */
+public final class BotParameters {
+    // names used both for the vector positions and the properties keys
+    public static final String STRONG_GAME_VALUE = "strongGameValue";
+    public static final String ACTION_NOISE = "actionNoise";
+    public static final String SIGN_NOISE = "signNoise";
+    public static final String SIGN_GATE = "signGate";
+    public static final String BUSSO_MIN_STRONG = "bussoMinStrong";
+    public static final String[] NAMES = {
+        STRONG_GAME_VALUE, ACTION_NOISE, SIGN_NOISE, SIGN_GATE, BUSSO_MIN_STRONG
+    };
+    // bounds of each vector position, same order as NAMES
+    private static final double[] MIN = { 5, 0.0, 0.0, 0.0, 1 };
+    private static final double[] MAX = { 10, 1.0, 1.0, 1.0, 4 };
+
+    private static final String RESOURCE_PATTERN = "bot/params-%s.properties";
+
+    private final int strongGameValue;  // consider >= this game value a strong card
+    private final double actionNoise;   // probability of a random legal card
+    private final double signNoise;     // probability of skipping a sign
+    private final double signGate;      // probability of considering a sign at all
+    private final int bussoMinStrong;   // strong cards in a suit needed for BUSSO
+
+    public BotParameters(int strongGameValue, double actionNoise, double signNoise,
+                         double signGate, int bussoMinStrong) {
+        this.strongGameValue = (int) clamp(0, strongGameValue);
+        this.actionNoise = clamp(1, actionNoise);
+        this.signNoise = clamp(2, signNoise);
+        this.signGate = clamp(3, signGate);
+        this.bussoMinStrong = (int) clamp(4, bussoMinStrong);
+    }
+
+    /**
+     * The original hard-coded values for the given difficulty.
+     * @param difficulty the difficulty level
+     * @return the default parameters
+     */
+    public static BotParameters defaults(GameDifficultyState difficulty) {
+        return switch (difficulty) {
+            case EASY -> new BotParameters(8, 0.60, 0.60, 0.50, 2);
+            case HARD -> new BotParameters(8, 0.10, 0.10, 0.50, 2);
+            default -> new BotParameters(8, 0.35, 0.35, 0.50, 2);
+        };
+    }
+
+    /**
+     * Parameters for the given difficulty: the tuned file
+     * {@code bot/params-<difficulty>.properties} is used when present on the
+     * classpath, otherwise {@link #defaults(GameDifficultyState)}.
+     * @param difficulty the difficulty level
+     * @return the parameters to use
+     */
+    public static BotParameters forDifficulty(GameDifficultyState difficulty) {
+        BotParameters fallback = defaults(difficulty);
+        String path = resourcePath(difficulty);
+        try (InputStream input = BotParameters.class.getClassLoader().getResourceAsStream(path)) {
+            if (input == null) return fallback;
+            Properties properties = new Properties();
+            properties.load(input);
+            return fromProperties(properties, fallback);
+        } catch (IOException | IllegalArgumentException ignored) {
+            // a broken tuned file should never prevent the game from starting
+            return fallback;
+        }
+    }
+
+    /** Classpath location of the tuned file for a difficulty. */
+    public static String resourcePath(GameDifficultyState difficulty) {
+        return String.format(RESOURCE_PATTERN, difficulty.name().toLowerCase());
+    }
+
+    // ------------------ Vector form ------------------
+    /** @return the parameters as a vector, ordered as {@link #NAMES} */
+    public double[] toVector() {
+        return new double[] { strongGameValue, actionNoise, signNoise, signGate, bussoMinStrong };
+    }
+
+    /**
+     * Build parameters from a vector ordered as {@link #NAMES}. Values are
+     * clamped to their bounds and integer positions are rounded.
+     * @param vector the parameter vector
+     * @return the parameters
+     */
+    public static BotParameters fromVector(double[] vector) {
+        if (vector == null || vector.length != NAMES.length)
+            throw new IllegalArgumentException("Parameter vector must have " + NAMES.length + " values");
+        return new BotParameters((int) Math.round(clamp(0, vector[0])), vector[1], vector[2],
+                                 vector[3], (int) Math.round(clamp(4, vector[4])));
+    }
+
+    /** Lower bound of a vector position. */
+    public static double min(int index) { return MIN[index]; }
+    /** Upper bound of a vector position. */
+    public static double max(int index) { return MAX[index]; }
+
+    // ------------------ Properties form ------------------
+    /** @return the parameters as properties, keyed by {@link #NAMES} */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        double[] vector = toVector();
+        for (int i = 0; i < NAMES.length; i++) {
+            if (i == 0 || i == 4) properties.setProperty(NAMES[i], Integer.toString((int) vector[i]));
+            else properties.setProperty(NAMES[i], Double.toString(vector[i]));
+        }
+        return properties;
+    }
+
+    /**
+     * Read parameters from properties; missing keys keep the fallback value.
+     * @param properties the source properties
+     * @param fallback values used for missing keys
+     * @return the parameters
+     */
+    public static BotParameters fromProperties(Properties properties, BotParameters fallback) {
+        double[] vector = fallback.toVector();
+        for (int i = 0; i < NAMES.length; i++) {
+            String value = properties.getProperty(NAMES[i]);
+            if (value != null) vector[i] = Double.parseDouble(value.trim());
+        }
+        return fromVector(vector);
+    }
+
+    /** Write the parameters as a properties file. */
+    public void store(OutputStream output, String comment) throws IOException {
+        toProperties().store(output, comment);
+    }
+
+    // ------------------ Getters ------------------
+    public int getStrongGameValue() { return strongGameValue; }
+    public double getActionNoise() { return actionNoise; }
+    public double getSignNoise() { return signNoise; }
+    public double getSignGate() { return signGate; }
+    public int getBussoMinStrong() { return bussoMinStrong; }
+
+    @Override
+    public String toString() {
+        return String.format("BotParameters[strong=%d, actionNoise=%.3f, signNoise=%.3f, signGate=%.3f, bussoMinStrong=%d]",
+                             strongGameValue, actionNoise, signNoise, signGate, bussoMinStrong);
+    }
+
+    private static double clamp(int index, double value) {
+        if (Double.isNaN(value)) throw new IllegalArgumentException(NAMES[index] + " is NaN");
+        return Math.max(MIN[index], Math.min(MAX[index], value));
+    }
+}
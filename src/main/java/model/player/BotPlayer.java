@@ -1,12 +1,15 @@
 package model.player;
 
 import java.util.List;
+import java.util.Random;
 
 import model.GameDifficultyState;
 import model.board.Table;
 import model.cards.Card;
 import model.sign.SignType;
 import model.events.SignEvent;
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
 
 /**
  * This class represents a bot player: the decision-making is delegated to the
@@ -15,6 +18,9 @@ import model.events.SignEvent;
 
 public class BotPlayer extends Player {
     private final BotStrategyEngine strategyEngine; // delega tutta la strategia
+    private final GameDifficultyState difficulty;   // null for explicit parameters
+    private final String difficultyLabel;           // difficulty name, "custom" for explicit parameters
+    private final Histogram decisionLatency;        // decideCard time, per difficulty
     /** A bot player is built with a specific strategy engine, 
      *  according to the level of difficulty
      * @param id the player's ID
@@ -24,6 +30,24 @@ public class BotPlayer extends Player {
     public BotPlayer(String id, String username, GameDifficultyState difficulty) {
         super(id, username);
         this.strategyEngine = new BotStrategyEngine(difficulty);
+        this.difficulty = difficulty;
+        this.difficultyLabel = difficulty.name();
+        this.decisionLatency = MetricsRegistry.shared().histogram("bot.decideCard." + difficultyLabel);
+    }
+
+    /** A bot player driven by an explicit parameter vector, used by the
+     *  headless simulations to compare or tune strategies.
+     * @param id the player's ID
+     * @param username the player's username
+     * @param parameters the strategy parameters
+     * @param random the random source of the strategy
+     */
+    public BotPlayer(String id, String username, BotParameters parameters, Random random) {
+        super(id, username);
+        this.strategyEngine = new BotStrategyEngine(parameters, random);
+        this.difficulty = null;
+        this.difficultyLabel = "custom";
+        this.decisionLatency = MetricsRegistry.shared().histogram("bot.decideCard." + difficultyLabel);
     }
 
     /**
@@ -31,17 +55,44 @@ public class BotPlayer extends Player {
      * @return the chosen legal card 
      */
     public Card decideCard(Table table, Team team) {
-        List<Card> handCards = getHandCards();
+        return decideCard(table, getHandCards(), team);
+    }
+
+    /**
+     * Decide which card to play from a copy of the hand, so the decision can
+     * run off the game thread while the hand itself changes.
+     * @param hand the cards of the bot when the decision was requested
+     * @return the chosen legal card
+     */
+    public Card decideCard(Table table, List<Card> hand, Team team) {
+        List<Card> handCards = hand;
         if (handCards.isEmpty()) throw new IllegalStateException("No cards in hand");
-        return strategyEngine.chooseCard(table, handCards, team);
+        long started = System.nanoTime();
+        Card card = strategyEngine.chooseCard(table, handCards, team);
+        decisionLatency.recordSince(started);
+        return card;
     }
 
+    /** @return the difficulty the bot was built for, null for explicit parameters */
+    public GameDifficultyState getDifficulty() { return difficulty; }
+
+    /** @return the difficulty the bot was built for, "custom" for explicit parameters */
+    public String getDifficultyLabel() { return difficultyLabel; }
+
     /**
      * Decide whether to emit a sign, and which, this turn.
      * @return chosen sign type or NONE
      */
     public SignType decideSign(Table table) {
-        return strategyEngine.chooseSign(table, getHandCards());
+        return decideSign(table, getHandCards());
+    }
+
+    /**
+     * Decide whether to emit a sign on a copy of the hand, see {@link #decideCard(Table, List, Team)}.
+     * @return chosen sign type or NONE
+     */
+    public SignType decideSign(Table table, List<Card> hand) {
+        return strategyEngine.chooseSign(table, hand);
     }
     /**
      * Notified when any sign is emitted at the table
@@ -6,6 +6,7 @@ import model.GameDifficultyState;
 import model.GameRules;
 import model.board.Table;
 import model.cards.Card;
+import model.cards.CardMask;
 import model.cards.CardSuit;
 import model.cards.CardValue;
 import model.events.SignEvent;
@@ -14,93 +15,104 @@ import model.sign.SignType;
 /**
  * Bot strategic engine.
  * Same base logic for all difficulties; difficulty only changes randomness.
+ * The thresholds and noise levels come from a {@link BotParameters} vector.
+ * Signs, BUSSO suits and leads are evaluated from the {@link SuitHoldingTable},
+ * with one lookup per suit of the hand.
+ *
+ * {@link #chooseCard} is called by every playout of the simulations, so it
+ * works on indexes and never allocates. {@code ReferenceStrategyEngine}, in
+ * the tools, keeps the original stream-based formulation of the same
+ * heuristic as its specification, and {@code HeuristicEquivalenceCheck}
+ * checks one against the other.
  */
 final class BotStrategyEngine {
-    private final Random random = new Random();
+    private static final CardSuit[] SUITS = CardSuit.values();
+    private static final int ACE_GAME_VALUE = CardValue.ASSO.getGameValue();
+    // expected value of the hand, summed over its holdings, behind LISCIO and VOLO
+    private static final float LISCIO_POINTS = 1.5f;
+    private static final float VOLO_TRICKS = 0.25f;
+    private final Random random;
+    private final BotParameters parameters;
+    private final SuitHoldingTable holdingTable = SuitHoldingTable.shared();
+    private final int[] holdingFeatures; // hand-shape counters per holding
     // Difficulty constants: follow the heuristics or play randomly
     private final double actionNoise;   
     private final double signNoise;     
-    // Value thresholds
-    private static final int STRONG_GAME_VALUE = 8; // consider >=8 a strong card
 
     private CardSuit plannedBussoPalo; // remember BUSSO suit to possibly lead next time
 
     public BotStrategyEngine(GameDifficultyState difficulty){
-        switch (difficulty) {
-            case EASY -> { actionNoise = 0.60; signNoise = 0.60; }
-            case MEDIUM -> { actionNoise = 0.35; signNoise = 0.35; }
-            case HARD -> { actionNoise = 0.10; signNoise = 0.10; }
-            default -> { actionNoise = 0.35; signNoise = 0.35; }
-        }
+        this(BotParameters.forDifficulty(difficulty), new Random());
+    }
+
+    /**
+     * Engine driven by an explicit parameter vector and random source
+     * (used by the headless simulations).
+     */
+    BotStrategyEngine(BotParameters parameters, Random random){
+        this.parameters = parameters;
+        this.random = random;
+        this.actionNoise = parameters.getActionNoise();
+        this.signNoise = parameters.getSignNoise();
+        // a card is strong from parameters.getStrongGameValue() on
+        this.holdingFeatures = SuitHoldingTable.features(parameters.getStrongGameValue());
     }
 
     /**
      * Choose a legal card to play. The same heuristic is used for every difficulty,
      * only the amount of randomness varies.
+     * The legal cards are not collected: they are the cards of the led suit
+     * when the hand has some, otherwise the whole hand. Ties go to the first
+     * card in hand order, as in the reference formulation.
      */
     public Card chooseCard(Table table, List<Card> hand, Team team) {
-        List<Card> legal = legalMoves(hand, table);
-        if (legal.size() == 1) return legal.get(0);
+        CardSuit palo = table.getPaloOrNull();
+        CardSuit follow = (palo != null && countSuit(hand, palo) > 0) ? palo : null; // null: any card is legal
+        int legalCount = follow == null ? hand.size() : countSuit(hand, follow);
+        if (legalCount == 1) return legalAt(hand, follow, 0);
 
         // With the Difficulty probability, ignore the heuristic and pick a random legal card
-        if (random.nextDouble() < actionNoise) 
-            return legal.get(random.nextInt(legal.size()));
+        if (random.nextDouble() < actionNoise)
+            return legalAt(hand, follow, random.nextInt(legalCount));
 
-        // 1) NO palo condition
-        if (table.getPalo().isEmpty()) {
-            // If the bot planned a BUSSO, try to lead that suit with the highest point card
+        // 1) NO palo condition: every card is legal
+        if (palo == null) {
             if (plannedBussoPalo != null) {
-                Card chosen = highestPointsOfSuitOrLowest(plannedBussoPalo, legal);
-                plannedBussoPalo = null; 
+                Card chosen = maxByPoints(hand, plannedBussoPalo);
+                if (chosen == null) chosen = minByGameValue(hand, null);
+                plannedBussoPalo = null;
                 return chosen;
             }
-            // If the bot doesn't have a BUSSO plan, lead with the strongest card:
-            // Ace or better
-            // Otherwise play the weakest card to safely gather information.
-            return findBestLeadCard(legal);
+            return leadCard(hand);
         }
 
         // 2) Palo condition
-        CardSuit palo = table.getPalo().get();
-        List<Card> onTable = new ArrayList<>(table.getCardsOnTable().values());
-        Card currentWinning = GameRules.getWinningCard(onTable, palo);
-
-        // 2.a) The team mate is winning
-        //Determine if a teammate is currently winning the trick.
-        boolean isMateWinning = false;
-        if (team != null) {
-            isMateWinning = table.getCardsOnTable().entrySet().stream()
-                .anyMatch(e -> e.getValue().equals(currentWinning) // the card in entry is the currentWinning
-                             && team.getMembers().contains(e.getKey())); // the owner is the team mate
-        }
+        int winner = winningPosition(table, palo);
+        Card currentWinning = table.getCardAt(winner);
 
-        // If a teammate is winning, play the card with the highest points
-        if (isMateWinning) {
-            boolean hasPaloSuitInHand = hand.stream().anyMatch(c -> c.getSuit() == palo);
-            if (hasPaloSuitInHand) {
-                // Yes,then follow suit. Play the lowest legal card of that suit to save better ones.
-                return minByGameValue(legal);
-            } else {
-                // No, then discard. This is an opportunity to pass points.
-                // Play the card with the highest point value.
-                return legal.stream()
-                            .max(Comparator.comparingDouble(c -> c.getValue().getPoints()))
-                            .orElse(minByGameValue(legal)); // should not happen
+        // 2.a) The team mate is winning: save the suit or pass points
+        if (team != null && team.contains(table.getPlayerAt(winner))) {
+            if (follow != null) return minByGameValue(hand, follow);
+            return maxByPoints(hand, null);
+        }
+        // 2.b) opponent is winning, win with the lowest winning card or discard the lowest
+        Card cheapestWinning = null;
+        int lowest = Integer.MAX_VALUE;
+        for (int i = 0; i < hand.size(); i++) {
+            Card c = hand.get(i);
+            if (follow != null && c.getSuit() != follow) continue;
+            int value = c.getValue().getGameValue();
+            if (value < lowest && GameRules.cardBeats(c, currentWinning, palo)) {
+                cheapestWinning = c;
+                lowest = value;
             }
         }
-        // 2.b) opponent is winning, try to win as cheaply as possible.
-        List<Card> winning = legal.stream()
-                                    .filter(c -> GameRules.cardBeats(c, currentWinning, palo))
-                                    .toList();
-
-        // If we can't win, discard the lowest card. If we can, win with the lowest possible winning card.
-        if (winning.isEmpty()) return minByGameValue(legal);
-        return minByGameValue(winning);
+        return cheapestWinning != null ? cheapestWinning : minByGameValue(hand, follow);
     }
 
     /** Decide whether to emit a sign this turn and which. */
     public SignType chooseSign(Table table, List<Card> hand){
-        if(random.nextDouble() > 0.50
+        if(random.nextDouble() > parameters.getSignGate()
             || random.nextDouble() < signNoise
             ) return SignType.NONE;
         // Compute the ideal sign deterministically
@@ -114,108 +126,147 @@ final class BotStrategyEngine {
     public void observeSign(SignEvent event){ /* no-op for now */ }
 
     // ------------------- Helpers -------------------
-    private SignType computeIdealSign(List<Card> hand){
-        // Try to announce control in a suit if we have it
-        Optional<CardSuit> maybeSuit = selectBussoSuit(hand);
-        if (maybeSuit.isPresent()){
-            plannedBussoPalo = maybeSuit.get();
-            return SignType.BUSSO;
+    private static int countSuit(List<Card> hand, CardSuit suit) {
+        int count = 0;
+        for (int i = 0; i < hand.size(); i++)
+            if (hand.get(i).getSuit() == suit) count++;
+        return count;
+    }
+
+    /** The k-th legal card: the k-th card of suit {@code follow}, or of the hand if null. */
+    private static Card legalAt(List<Card> hand, CardSuit follow, int k) {
+        for (int i = 0; i < hand.size(); i++) {
+            Card c = hand.get(i);
+            if (follow == null || c.getSuit() == follow) {
+                if (k-- == 0) return c;
+            }
         }
+        throw new IndexOutOfBoundsException("legal card " + k);
+    }
 
-        // Otherwise choose between VOLO / LISCIO based on hand shape
-        int strong = 0, pointCards = 0;
-        for (Card c : hand) {
-            if (isStrong(c)) strong++;
-            if (c.getValue().getPoints() > 0) pointCards++;
+    /** First card with the lowest game value, among the cards of {@code suit} (all if null). */
+    private static Card minByGameValue(List<Card> hand, CardSuit suit) {
+        Card best = null;
+        for (int i = 0; i < hand.size(); i++) {
+            Card c = hand.get(i);
+            if (suit != null && c.getSuit() != suit) continue;
+            if (best == null || c.getValue().getGameValue() < best.getValue().getGameValue()) best = c;
         }
-        if (pointCards >= 3) return SignType.LISCIO; //  The team has strong cards, play smooth
-        if (strong == 0 && pointCards <= 2) return SignType.VOLO; // no strong cards: fluy
-        return SignType.NONE;
+        return best;
     }
 
-    private List<Card> legalMoves(List<Card> handCards, Table table){
-        if (table.getPalo().isEmpty()) return handCards;
-        CardSuit leading = table.getPalo().get();
-        List<Card> match = new ArrayList<>();
-        handCards.stream()
-                 .filter(c -> c.getSuit() == leading)
-                 .forEach(match::add);
-        if(match.isEmpty()) return handCards;
-        return match;
+    /** First card with the highest game value among the cards of {@code suit}. */
+    private static Card maxByGameValue(List<Card> hand, CardSuit suit) {
+        Card best = null;
+        for (int i = 0; i < hand.size(); i++) {
+            Card c = hand.get(i);
+            if (c.getSuit() != suit) continue;
+            if (best == null || c.getValue().getGameValue() > best.getValue().getGameValue()) best = c;
+        }
+        return best;
     }
 
-    private boolean isStrong(Card c){
-        return c.getValue().getGameValue() >= STRONG_GAME_VALUE;
+    /**
+     * Lead from the suit whose holding takes the most tricks: its strongest
+     * card when it is an Ace or better, otherwise its lowest card.
+     */
+    private Card leadCard(List<Card> hand) {
+        CardSuit suit = bestTrickSuit(CardMask.of(hand));
+        Card strongest = maxByGameValue(hand, suit);
+        if (strongest.getValue().getGameValue() >= ACE_GAME_VALUE) return strongest;
+        return minByGameValue(hand, suit);
     }
-    private boolean isTopStrong(Card c){
-        return c.getValue().getGameValue() >= STRONG_GAME_VALUE + 1;
+
+    /** The suit of the hand with the most expected tricks, one table lookup per suit; first suit on ties. */
+    private CardSuit bestTrickSuit(long handMask) {
+        CardSuit best = null;
+        float bestTricks = -1f;
+        for (CardSuit suit : SUITS) {
+            int holding = CardMask.holding(handMask, suit);
+            if (holding == 0) continue;
+            float tricks = holdingTable.getExpectedTricks(holding);
+            if (tricks > bestTricks) {
+                best = suit;
+                bestTricks = tricks;
+            }
+        }
+        return best;
     }
 
-    private Card minByGameValue(List<Card> cards){
-        return Collections.min(cards, Comparator.comparingInt(c -> c.getValue().getGameValue()));
+    /** First card with the most points among the cards of {@code suit} (all if null), null if none. */
+    private static Card maxByPoints(List<Card> hand, CardSuit suit) {
+        Card best = null;
+        for (int i = 0; i < hand.size(); i++) {
+            Card c = hand.get(i);
+            if (suit != null && c.getSuit() != suit) continue;
+            if (best == null || c.getValue().getPoints() > best.getValue().getPoints()) best = c;
+        }
+        return best;
     }
 
-    private Card highestPointsOfSuitOrLowest(CardSuit suit, List<Card> legal){
-        Card best = legal.stream()
-                        .filter(c -> c.getSuit() == suit)
-                        .max(Comparator.comparingDouble(c -> c.getValue().getPoints()))
-                        .orElseGet(() -> minByGameValue(legal));
+    /** Position on the table of the card winning the trick, as {@link GameRules#getWinningCard}. */
+    private static int winningPosition(Table table, CardSuit palo) {
+        int best = -1, bestValue = -1;
+        for (int i = 0; i < table.size(); i++) {
+            Card c = table.getCardAt(i);
+            if (c.getSuit() == palo && c.getValue().getGameValue() > bestValue) {
+                bestValue = c.getValue().getGameValue();
+                best = i;
+            }
+        }
+        if (best < 0) throw new IllegalStateException("No card with palo " + palo + " on table.");
         return best;
     }
 
-    private Optional<CardSuit> selectBussoSuit(List<Card> hand){
-        Map<CardSuit,List<Card>> bySuit = new EnumMap<>(CardSuit.class);
-        for(Card c : hand){
-            bySuit.computeIfAbsent(c.getSuit(), k -> new ArrayList<>()).add(c);
+    private SignType computeIdealSign(List<Card> hand){
+        long mask = CardMask.of(hand);
+        // Try to announce control in a suit if we have it
+        CardSuit bussoSuit = selectBussoSuit(mask);
+        if (bussoSuit != null){
+            plannedBussoPalo = bussoSuit;
+            return SignType.BUSSO;
+        }
+
+        // Otherwise choose between VOLO / LISCIO from the expected value of the hand
+        float tricks = 0f, points = 0f;
+        for (CardSuit suit : SUITS) {
+            int holding = CardMask.holding(mask, suit);
+            tricks += holdingTable.getExpectedTricks(holding);
+            points += holdingTable.getExpectedPoints(holding);
         }
+        if (points >= LISCIO_POINTS) return SignType.LISCIO; // the hand should bring points: play smooth
+        if (tricks < VOLO_TRICKS) return SignType.VOLO; // hardly a trick to take: fly
+        return SignType.NONE;
+    }
 
+    /**
+     * Pick the suit to announce with BUSSO (null if none qualifies). A suit
+     * qualifies by its shape; among those, the holding with the most expected
+     * tricks is announced. One feature and one table lookup per suit.
+     */
+    private CardSuit selectBussoSuit(long handMask){
         CardSuit bestSuit = null;
-        int bestStrongNumber = -1, bestTop = -1, bestSize = -1;
-        for(Map.Entry<CardSuit,List<Card>> entry : bySuit.entrySet()){
-            List<Card> list = entry.getValue();
-            int strongNumber = 0;
-            int top = 0;
-            for (Card c : list){
-                if (isStrong(c)) {
-                    strongNumber++; 
-                    if (isTopStrong(c)) top++; 
-                }
-            }
-            boolean qualifies = (strongNumber >= 2); // hard-coded minimum of 2 strong cards bot rule
+        float bestTricks = -1f;
+        for(CardSuit suit : SUITS){
+            int holding = CardMask.holding(handMask, suit);
+            int feature = holdingFeatures[holding];
+            int size = SuitHoldingTable.size(feature);
+            if (size == 0) continue;
+            int strongNumber = SuitHoldingTable.strong(feature);
+            int top = SuitHoldingTable.top(feature);
+            boolean qualifies = (strongNumber >= parameters.getBussoMinStrong()); // minimum strong cards bot rule
             if(!qualifies){
                 // the bot has a top card and more than 1 for the suit
-                if(top == 1 && list.size() >= 2) qualifies = true;
+                if(top == 1 && size >= 2) qualifies = true;
             }
             if(!qualifies) continue;
 
-            int size = list.size();
-            boolean better = false;
-            if (strongNumber > bestStrongNumber) better = true;
-            else if (strongNumber == bestStrongNumber){
-                if (top > bestTop) better = true;  
-                else if (top == bestTop && size > bestSize) better = true;
-            }
-            if (better){ 
-                bestSuit = entry.getKey(); 
-                bestStrongNumber = strongNumber; 
-                bestTop = top; 
-                bestSize = size; 
+            float tricks = holdingTable.getExpectedTricks(holding);
+            if (tricks > bestTricks){ 
+                bestSuit = suit; 
+                bestTricks = tricks;
             }
         }
-        return Optional.ofNullable(bestSuit);
-    }
-
-    private Card findBestLeadCard(List<Card> legal) {
-        // Find the card with the highest game value
-        Card strongestCard = Collections.max(legal, 
-                                Comparator.comparingInt(c -> c.getValue().getGameValue()));
-
-        // If the strongest card is an Ace or better (3 or 2), play it.
-        if (strongestCard.getValue().getGameValue() >= CardValue.ASSO.getGameValue()) {
-            return strongestCard;
-        }
-
-        // Otherwise, play the weakest card (lowest game value), following a conservative approach
-        return minByGameValue(legal);
+        return bestSuit;
     }
 }
@@ -0,0 +1,156 @@
+package model.player;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import model.cards.CardMask;
+import model.cards.CardValue;
+
+/**
+ * Precomputed strength of every possible holding of a suit.
+ *
+ * A holding is the set of cards of one suit held by a player, packed in 10
+ * bits (see {@link CardMask#holding}), so there are only 1024 of them. For
+ * each holding the table stores the expected number of tricks won with that
+ * suit and the expected card points captured in those tricks, measured
+ * offline by the {@code model.simulation.SuitHoldingTableGenerator} tool.
+ *
+ * The table ships as the compact resource {@value #RESOURCE} (4 bytes per
+ * holding) and is loaded once at startup through {@link #shared()}. The
+ * {@link BotStrategyEngine} reads it for its signs (expected tricks and
+ * points of the hand), for the BUSSO suit and for the suit it leads; the
+ * shape counters of {@link #features(int)} only decide which suits qualify
+ * for BUSSO. Either way a hand is evaluated with one lookup per suit.
+ */
+public final class SuitHoldingTable {
+    public static final String RESOURCE = "bot/suit-holdings.bin";
+    private static final int MAGIC = 0x54534854; // "TSHT"
+    private static final int VERSION = 1;
+    private static final float FIXED_POINT = 1000f; // values are stored in thousandths
+
+    private final float[] expectedTricks;
+    private final float[] expectedPoints;
+    private final long samples;
+
+    // hand-shape counters, one array per strong card threshold
+    private static final int[][] FEATURES = new int[CardValue.values().length + 2][];
+
+    /**
+     * @param expectedTricks expected tricks for each of the 1024 holdings
+     * @param expectedPoints expected points for each of the 1024 holdings
+     * @param samples number of observed holdings the values come from
+     */
+    public SuitHoldingTable(float[] expectedTricks, float[] expectedPoints, long samples) {
+        if (expectedTricks.length != CardMask.HOLDINGS || expectedPoints.length != CardMask.HOLDINGS)
+            throw new IllegalArgumentException("A holding table needs " + CardMask.HOLDINGS + " entries");
+        this.expectedTricks = expectedTricks.clone();
+        this.expectedPoints = expectedPoints.clone();
+        this.samples = samples;
+    }
+
+    /** The table shipped with the application, loaded on first access. */
+    public static SuitHoldingTable shared() { return Holder.INSTANCE; }
+
+    private static final class Holder {
+        private static final SuitHoldingTable INSTANCE = loadShared();
+    }
+
+    private static SuitHoldingTable loadShared() {
+        try (InputStream input = SuitHoldingTable.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (input != null) return read(input);
+        } catch (IOException | IllegalArgumentException ex) {
+            System.err.println("Invalid holding table " + RESOURCE + ": " + ex.getMessage() + " (using an empty holding table)");
+            return empty();
+        }
+        System.err.println("Resource not found on classpath: " + RESOURCE + " (using an empty holding table)");
+        return empty();
+    }
+
+    private static SuitHoldingTable empty() {
+        return new SuitHoldingTable(new float[CardMask.HOLDINGS], new float[CardMask.HOLDINGS], 0);
+    }
+
+    // ------------------ Binary format ------------------
+    /**
+     * Read a table written by {@link #write(OutputStream)}.
+     * @param input the source stream (not closed)
+     * @return the table
+     */
+    public static SuitHoldingTable read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC) throw new IllegalArgumentException("not a holding table");
+        int version = data.readUnsignedShort();
+        if (version != VERSION) throw new IllegalArgumentException("unsupported version " + version);
+        long samples = data.readLong();
+        float[] tricks = new float[CardMask.HOLDINGS];
+        float[] points = new float[CardMask.HOLDINGS];
+        for (int h = 0; h < CardMask.HOLDINGS; h++) {
+            tricks[h] = data.readUnsignedShort() / FIXED_POINT;
+            points[h] = data.readUnsignedShort() / FIXED_POINT;
+        }
+        return new SuitHoldingTable(tricks, points, samples);
+    }
+
+    /**
+     * Write the table: a 14 byte header, then two unsigned 16 bit fixed point
+     * values (thousandths) per holding.
+     * @param output the target stream (not closed)
+     */
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(samples);
+        for (int h = 0; h < CardMask.HOLDINGS; h++) {
+            data.writeShort(Math.round(expectedTricks[h] * FIXED_POINT));
+            data.writeShort(Math.round(expectedPoints[h] * FIXED_POINT));
+        }
+        data.flush();
+    }
+
+    // ------------------ Lookups ------------------
+    public float getExpectedTricks(int holding) { return expectedTricks[holding]; }
+    public float getExpectedPoints(int holding) { return expectedPoints[holding]; }
+    public long getSamples() { return samples; }
+
+    /**
+     * Hand-shape counters of every holding for a strong card threshold. Each
+     * entry packs the number of cards, strong cards and top strong cards;
+     * read them with {@link #size}, {@link #strong} and {@link #top}.
+     * @param strongGameValue game value from which a card is strong
+     * @return 1024 packed counters (shared, do not modify)
+     */
+    static int[] features(int strongGameValue) {
+        int index = Math.max(0, Math.min(FEATURES.length - 1, strongGameValue));
+        synchronized (FEATURES) {
+            if (FEATURES[index] == null) FEATURES[index] = buildFeatures(index);
+            return FEATURES[index];
+        }
+    }
+
+    static int size(int feature) { return feature & 0xF; }
+    static int strong(int feature) { return (feature >>> 4) & 0xF; }
+    static int top(int feature) { return (feature >>> 8) & 0xF; }
+
+    private static int[] buildFeatures(int strongGameValue) {
+        CardValue[] values = CardValue.values();
+        int[] features = new int[CardMask.HOLDINGS];
+        for (int h = 0; h < CardMask.HOLDINGS; h++) {
+            int size = 0, strong = 0, top = 0;
+            for (int v = 0; v < values.length; v++) {
+                if ((h & (1 << v)) == 0) continue;
+                size++;
+                if (values[v].getGameValue() >= strongGameValue) {
+                    strong++;
+                    if (values[v].getGameValue() >= strongGameValue + 1) top++;
+                }
+            }
+            features[h] = size | (strong << 4) | (top << 8);
+        }
+        return features;
+    }
+}
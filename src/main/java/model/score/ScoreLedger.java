@@ -0,0 +1,145 @@
+package model.score;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Team-indexed score book of a game.
+ *
+ * The points of every deal are appended to one growable int array (one row
+ * of {@code teamCount} values per deal) and the cumulative totals are kept
+ * in a second array, together with the highest total, so that checking the
+ * winning score costs O(1) per deal.
+ *
+ * The views returned by the getters are read-only and backed by the arrays:
+ * they are built once, never copy, and follow the ledger as deals are added.
+ * Callers that hand the values to another thread must copy them.
+ */
+public final class ScoreLedger {
+    private static final int INITIAL_DEALS = 16;
+    private static final int TOTALS = 0, LAST_DEAL = 1; // rows of TeamMap
+
+    private final String[] teamIds;
+    private final int[] totals;
+    private int[] history;           // deal d, team t at d * teamCount + t
+    private int dealCount;
+    private int maxTotal;
+
+    private final Map<String, Integer> totalsView;
+    private final Map<String, Integer> lastDealView;
+
+    /**
+     * Create an empty ledger.
+     * @param teamIds id of each team, in team index order
+     */
+    public ScoreLedger(List<String> teamIds) {
+        if (teamIds.isEmpty()) throw new IllegalArgumentException("At least one team is required");
+        this.teamIds = teamIds.toArray(new String[0]);
+        this.totals = new int[this.teamIds.length];
+        this.history = new int[INITIAL_DEALS * this.teamIds.length];
+        this.totalsView = new TeamMap(TOTALS);
+        this.lastDealView = new TeamMap(LAST_DEAL);
+    }
+
+    /**
+     * Append the points of a deal and add them to the totals.
+     * @param points points of each team, in team index order
+     */
+    public void record(int[] points) {
+        int teams = teamIds.length;
+        if (points.length != teams)
+            throw new IllegalArgumentException("Expected " + teams + " team points, got " + points.length);
+        if ((dealCount + 1) * teams > history.length)
+            history = Arrays.copyOf(history, history.length * 2);
+        System.arraycopy(points, 0, history, dealCount * teams, teams);
+        dealCount++;
+        for (int t = 0; t < teams; t++) {
+            totals[t] += points[t];
+            if (totals[t] > maxTotal) maxTotal = totals[t];
+        }
+    }
+
+    // ------------------------ Getters ------------------------
+    public int getTeamCount() { return teamIds.length; }
+    public String getTeamId(int team) { return teamIds[team]; }
+
+    /** @return the index of the team, or -1 if unknown */
+    public int indexOf(String teamId) {
+        for (int t = 0; t < teamIds.length; t++)
+            if (teamIds[t].equals(teamId)) return t;
+        return -1;
+    }
+
+    public int getDealCount() { return dealCount; }
+    public int getTotal(int team) { return totals[team]; }
+    /** @return the highest cumulative score */
+    public int getMaxTotal() { return maxTotal; }
+
+    /**
+     * @param deal index of the recorded deal, in [0, getDealCount())
+     * @param team index of the team
+     * @return the points of the team in that deal
+     */
+    public int getDealPoints(int deal, int team) {
+        if (deal < 0 || deal >= dealCount) throw new IndexOutOfBoundsException("deal " + deal);
+        return history[deal * teamIds.length + team];
+    }
+
+    /** @return read-only view of the cumulative score of each team id */
+    public Map<String, Integer> totals() { return totalsView; }
+
+    /** @return read-only view of the points of the last deal, empty before the first one */
+    public Map<String, Integer> lastDeal() { return lastDealView; }
+
+    /**
+     * @param team index of the team
+     * @return read-only view of the points of the team in every deal, in deal order
+     */
+    public List<Integer> history(int team) {
+        if (team < 0 || team >= teamIds.length) throw new IndexOutOfBoundsException("team " + team);
+        return new AbstractList<>() {
+            @Override public Integer get(int deal) { return getDealPoints(deal, team); }
+            @Override public int size() { return dealCount; }
+        };
+    }
+
+    /** Map view over the totals or the last deal of the ledger. */
+    private final class TeamMap extends AbstractMap<String, Integer> {
+        private final int row;
+        private final Set<Entry<String, Integer>> entries = new AbstractSet<>() {
+            @Override public int size() { return TeamMap.this.size(); }
+            @Override public Iterator<Entry<String, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+                    @Override public boolean hasNext() { return next < size(); }
+                    @Override public Entry<String, Integer> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        int t = next++;
+                        return new SimpleImmutableEntry<>(teamIds[t], value(t));
+                    }
+                };
+            }
+        };
+
+        TeamMap(int row) { this.row = row; }
+
+        private int value(int team) {
+            return row == TOTALS ? totals[team] : history[(dealCount - 1) * teamIds.length + team];
+        }
+
+        @Override public int size() { return row == LAST_DEAL && dealCount == 0 ? 0 : teamIds.length; }
+        @Override public boolean containsKey(Object key) { return size() > 0 && key instanceof String id && indexOf(id) >= 0; }
+        @Override public Integer get(Object key) {
+            int t = size() > 0 && key instanceof String id ? indexOf(id) : -1;
+            return t < 0 ? null : value(t);
+        }
+        @Override public Set<Entry<String, Integer>> entrySet() { return entries; }
+    }
+}
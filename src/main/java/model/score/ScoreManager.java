@@ -1,6 +1,6 @@
 package model.score;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -13,18 +13,21 @@ import model.player.Team;
  * compute raw points, apply the "cappotto" rule, the end-of-deal bonus and rounding.
  * The {@code winningScoreTarget} defines when the game ends and the class
  * exposes utilities to update scores and to detect game winners.
+ *
+ * Scores are kept in a {@link ScoreLedger} with the points of every deal;
+ * the map getters are read-only views over it, not copies.
  */
 public class ScoreManager {
-    private final Map<String, Integer> gameScores = new HashMap<>();
-    private Map<String, Integer> lastDealTeamPoints = new HashMap<>(); 
+    private final ScoreLedger ledger;
+    private final int[] dealPoints; // scratch row passed to the ledger
     private final ScoreCalculator calculator = new ScoreCalculator(); 
     private String lastDealWinnerId; // last deal-trick winner 
     private final int winningScoreTarget;
     private List<String> finalWinnerIds = List.of();
 
     public ScoreManager(List<String> participantIds, int winningScoreTarget) {
-        for (String id : participantIds) 
-            gameScores.put(id, 0);
+        this.ledger = new ScoreLedger(participantIds);
+        this.dealPoints = new int[participantIds.size()];
         this.winningScoreTarget = winningScoreTarget;
     }
 
@@ -32,9 +35,8 @@ public class ScoreManager {
      * Compute and update team scores for the given deal
      * 
      * The method aggregates raw team points through {@link ScoreCalculator},
-     * applies the last-trick bonus and the cappotto rule, stores a snapshot
-     * in {@code lastDealTeamPoints} and accumulates the result into the
-     * game scores.
+     * applies the last-trick bonus and the cappotto rule and appends the
+     * result to the {@link ScoreLedger}, which accumulates the game scores.
      * @param teams the list of teams participating in the deal
      * @param lastTrickWinnerId id of the team that won the last trick (maybe null)
      * @return map from team id to integer deal points computed for this deal
@@ -51,22 +53,12 @@ public class ScoreManager {
         } else lastDealWinnerId = null;
         // (4) Cappotto
         calculator.applyCappotto(dealTeamPoints);
-        // (5) Snapshot
-        lastDealTeamPoints = new HashMap<>(dealTeamPoints);
-        // (6) Accumulate to the Game score
-        accumulate(dealTeamPoints);
+        // (5) Record the deal and accumulate to the Game score
+        for (int t = 0; t < dealPoints.length; t++)
+            dealPoints[t] = dealTeamPoints.getOrDefault(ledger.getTeamId(t), 0);
+        ledger.record(dealPoints);
         return dealTeamPoints;
     }
-    
-    /** Progressive accumulation: gameScore += deal points.
-     * @param dealPoints map from participant/team id to deal points
-     */
-    private void accumulate(Map<String, Integer> dealPoints) {
-        for (Map.Entry<String, Integer> e : dealPoints.entrySet()) {
-            Integer newScore = gameScores.getOrDefault(e.getKey(), 0) + e.getValue();
-            gameScores.put(e.getKey(), newScore);
-        }
-    }
 
     /**
      * Check whether one or more participants reached the configured
@@ -75,12 +67,11 @@ public class ScoreManager {
      * @return {@code true} if the game has a winner according to the target
      */
     public boolean checkForGameWinner() {
-        int max = gameScores.values().stream().max(Integer::compareTo).orElse(-1);
+        int max = ledger.getMaxTotal();
         if (max < winningScoreTarget) return false;
-        List<String> winners = gameScores.entrySet().stream()
-            .filter(e -> e.getValue() == max && e.getValue() >= winningScoreTarget)
-            .map(Map.Entry::getKey)
-            .toList();
+        List<String> winners = new ArrayList<>();
+        for (int t = 0; t < ledger.getTeamCount(); t++)
+            if (ledger.getTotal(t) == max) winners.add(ledger.getTeamId(t));
         finalWinnerIds = List.copyOf(winners);
         return true;
     }
@@ -88,21 +79,23 @@ public class ScoreManager {
     //------------------------ Getters ------------------------
     // single participant score. Not used, but kept for potential future use
     public int getScore(String participantId) { 
-        return gameScores.getOrDefault(participantId, 0); 
+        return ledger.totals().getOrDefault(participantId, 0); 
     }
     public Map<String, Integer> getAllScores() { 
-        return new HashMap<>(gameScores); 
+        return ledger.totals(); 
     }
     // single team score. Not used, but kept for potential future use
     public int getTeamScores(String teamId) { 
-        return gameScores.getOrDefault(teamId, 0); 
+        return ledger.totals().getOrDefault(teamId, 0); 
     }
     public Map<String, Integer> getLastDealTeamPoints() { 
-        return new HashMap<>(lastDealTeamPoints); 
+        return ledger.lastDeal(); 
     }
     /* Winner(s) id(s) */
     public String getLastDealWinnerId() { return lastDealWinnerId; }
     public List<String> getFinalWinnerIds(){ return finalWinnerIds; }
     public int getWinningScoreTarget(){ return winningScoreTarget; }
-    public Map<String,Integer> getTeamGameScores(){ return new HashMap<>(gameScores); }
+    public Map<String,Integer> getTeamGameScores(){ return ledger.totals(); }
+    /** @return the per-deal score history of the game */
+    public ScoreLedger getLedger() { return ledger; }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package model.search;
+
+import java.util.function.IntSupplier;
+
+import model.GameRules;
+import model.deal.DealPosition;
+import model.search.SearchBudgetController.Budget;
+import model.simulation.PackedDeal;
+import model.simulation.SteppableDeal;
+
+/**
+ * Proof search for claims: decides whether the points of a deal are already
+ * determined, whatever the players do with the cards left.
+ *
+ * The search sees every hand (it runs on the model, not for a player) and
+ * walks all the legal plays on a {@link PackedDeal}, one copy per ply so a
+ * card is undone by dropping the copy. A line stops as soon as two endings
+ * score differently: most positions are disproved after a few leaves, while
+ * a proof visits every line. Trick boundaries are shared through the
+ * {@link TranspositionTable} (the result below a boundary depends only on the
+ * hands, the cards won by team 0 and the leader), and a search that needs
+ * more than its node budget gives up, reporting no claim. The default solver
+ * takes its budget from the {@link SearchBudgetController}, between
+ * {@link #MIN_NODE_BUDGET} on a saturated pool and
+ * {@link #DEFAULT_NODE_BUDGET} on an idle one.
+ *
+ * Instances keep scratch state and are not thread-safe; the table may be
+ * shared.
+ */
+public final class ClaimSolver {
+    /** Claims are looked for when at most this many tricks are left. */
+    public static final int MAX_TRICKS = 5;
+    public static final int DEFAULT_NODE_BUDGET = 200_000;
+    public static final int MIN_NODE_BUDGET = 20_000;
+    // the search counts nodes only: no time budget
+    private static final Budget LOW = new Budget(MIN_NODE_BUDGET, 0);
+    private static final Budget HIGH = new Budget(DEFAULT_NODE_BUDGET, 0);
+
+    private static final int POINT_BASE = 32;           // encoded result: team 0 * POINT_BASE + team 1
+    private static final int UNDETERMINED = -1;
+    private static final int ABORTED = -2;
+    private static final long SALT = 0x6c61696d73L;     // keeps claim entries apart from other searches
+
+    private final TranspositionTable table;
+    private final IntSupplier nodeBudget;
+    private int budget;                                 // nodes allowed to the running search
+    private final PackedDeal[] stack = new PackedDeal[GameRules.TOTAL_DECK_CARDS + 1];
+    private final int[] points = new int[SteppableDeal.TEAMS];
+    private int nodes;
+
+    /**
+     * @param table the table shared with other claim searches
+     * @param nodeBudget nodes a search may visit before giving up
+     */
+    public ClaimSolver(TranspositionTable table, int nodeBudget) {
+        this(table, () -> nodeBudget);
+    }
+
+    /**
+     * @param table the table shared with other claim searches
+     * @param budgets scales the node budget of every search by the load of its pool
+     */
+    public ClaimSolver(TranspositionTable table, SearchBudgetController budgets) {
+        this(table, () -> budgets.scaled(LOW, HIGH).iterations());
+    }
+
+    /** A solver on {@link TranspositionTable#shared()} with the budget of {@link SearchBudgetController#shared()}. */
+    public ClaimSolver() { this(TranspositionTable.shared(), SearchBudgetController.shared()); }
+
+    private ClaimSolver(TranspositionTable table, IntSupplier nodeBudget) {
+        this.table = table;
+        this.nodeBudget = nodeBudget;
+        for (int i = 0; i < stack.length; i++) stack[i] = new PackedDeal();
+    }
+
+    /**
+     * @param position the position of the deal
+     * @param result receives the deal points of each team when they are determined
+     * @return true if every way of playing the rest gives the same points
+     */
+    public boolean solve(DealPosition position, int[] result) {
+        stack[0].reset(position);
+        return solveRoot(result);
+    }
+
+    /**
+     * @param deal a deal in progress, left unchanged
+     * @param result receives the deal points of each team when they are determined
+     * @return true if every way of playing the rest gives the same points
+     */
+    public boolean solve(PackedDeal deal, int[] result) {
+        stack[0].copyFrom(deal);
+        return solveRoot(result);
+    }
+
+    /** @return the nodes visited by the last search */
+    public int getNodes() { return nodes; }
+
+    private boolean solveRoot(int[] result) {
+        nodes = 0;
+        if (GameRules.CARDS_PER_PLAYER - stack[0].getTricks() > MAX_TRICKS) return false;
+        budget = nodeBudget.getAsInt();
+        table.newSearch();
+        int outcome = solve(0);
+        if (outcome < 0) return false;
+        result[0] = outcome / POINT_BASE;
+        result[1] = outcome % POINT_BASE;
+        return true;
+    }
+
+    /** @return the encoded points of the position, UNDETERMINED or ABORTED */
+    private int solve(int ply) {
+        PackedDeal deal = stack[ply];
+        if (deal.isOver()) {
+            deal.score(points);
+            return points[0] * POINT_BASE + points[1];
+        }
+        if (++nodes > budget) return ABORTED;
+        boolean boundary = deal.getTrickSize() == 0;
+        long key = 0L;
+        if (boundary) {
+            key = keyOf(deal);
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) return TranspositionTable.value(entry);
+        }
+        int outcome = ABORTED;
+        PackedDeal next = stack[ply + 1];
+        for (long moves = deal.legalMoves(); moves != 0; moves &= moves - 1) {
+            next.copyFrom(deal);
+            next.play(Long.numberOfTrailingZeros(moves));
+            int child = solve(ply + 1);
+            if (child == ABORTED) return ABORTED;
+            if (child == UNDETERMINED || (outcome != ABORTED && child != outcome)) {
+                outcome = UNDETERMINED;
+                break;
+            }
+            outcome = child;
+        }
+        if (boundary) {
+            int tricksLeft = GameRules.CARDS_PER_PLAYER - deal.getTricks();
+            table.store(key, outcome, tricksLeft, TranspositionTable.BOUND_EXACT, TranspositionTable.NO_MOVE);
+        }
+        return outcome;
+    }
+
+    private static long keyOf(PackedDeal deal) {
+        long key = SALT;
+        for (int seat = 0; seat < SteppableDeal.SEATS; seat++) key = mix(key ^ deal.getHand(seat));
+        return mix(key ^ deal.getWon(0) ^ (long) deal.getLeader() << 40);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
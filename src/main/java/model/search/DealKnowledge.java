@@ -0,0 +1,97 @@
+package model.search;
+
+import model.cards.Card;
+import model.cards.CardMask;
+import model.cards.CardSuit;
+
+/**
+ * What one seat knows about a deal in progress, in packed form.
+ *
+ * It keeps the observer's own hand, the cards already played, the number of
+ * cards left in every hand and the suits each player revealed to be void in
+ * by not following the palo. From this state {@link #sampler()} builds the
+ * {@link HiddenHandSampler} of the three other hands.
+ */
+public final class DealKnowledge {
+    private static final int SEATS = 4;
+
+    private final int observer;
+    private long observerHand;
+    private long played;
+    private final int[] handSizes = new int[SEATS];
+    private final int[] voids = new int[SEATS]; // bit set of void suits per seat
+
+    /**
+     * Knowledge at the start of a deal.
+     * @param observer the seat of the observer
+     * @param observerHand card mask of the observer's hand
+     */
+    public DealKnowledge(int observer, long observerHand) {
+        this.observer = observer;
+        this.observerHand = observerHand;
+        for (int i = 0; i < SEATS; i++) handSizes[i] = Long.bitCount(observerHand);
+    }
+
+    /**
+     * Knowledge of a deal joined in progress, e.g. loaded from a position:
+     * the suits the players are void in are not known.
+     * @param observer the seat of the observer
+     * @param observerHand card mask of the observer's hand
+     * @param played card mask of the cards already played, won or on the table
+     * @param handSizes number of cards left in each hand
+     */
+    public DealKnowledge(int observer, long observerHand, long played, int[] handSizes) {
+        this.observer = observer;
+        this.observerHand = observerHand;
+        this.played = played;
+        System.arraycopy(handSizes, 0, this.handSizes, 0, SEATS);
+    }
+
+    /** @return an independent copy, e.g. to hand the state to another thread */
+    public DealKnowledge copy() {
+        DealKnowledge copy = new DealKnowledge(observer, observerHand, played, handSizes);
+        System.arraycopy(voids, 0, copy.voids, 0, SEATS);
+        return copy;
+    }
+
+    /**
+     * Record a card played by a seat.
+     * @param seat the seat who played
+     * @param card the card
+     * @param palo the palo of the trick before the play, null when leading
+     */
+    public void onCardPlayed(int seat, Card card, CardSuit palo) {
+        long bit = CardMask.of(card);
+        played |= bit;
+        handSizes[seat]--;
+        if (seat == observer) observerHand &= ~bit;
+        // not following the palo is only legal without cards of that suit
+        if (palo != null && card.getSuit() != palo) voids[seat] |= 1 << palo.ordinal();
+    }
+
+    /** @return the sampler of the three hidden hands, ordered as {@link #hiddenSeat(int)} */
+    public HiddenHandSampler sampler() {
+        int[] sizes = new int[SEATS - 1];
+        int[] hiddenVoids = new int[SEATS - 1];
+        for (int i = 0; i < SEATS - 1; i++) {
+            sizes[i] = handSizes[hiddenSeat(i)];
+            hiddenVoids[i] = voids[hiddenSeat(i)];
+        }
+        return new HiddenHandSampler(unseen(), sizes, hiddenVoids);
+    }
+
+    /**
+     * @param index index of a hidden hand in [0, 3)
+     * @return the seat of that hand (the seats after the observer, in turn order)
+     */
+    public int hiddenSeat(int index) { return (observer + 1 + index) % SEATS; }
+
+    /** @return the cards neither played nor held by the observer */
+    public long unseen() { return CardMask.ALL & ~played & ~observerHand; }
+
+    public int getObserver() { return observer; }
+    public long getObserverHand() { return observerHand; }
+    public long getPlayed() { return played; }
+    public int getHandSize(int seat) { return handSizes[seat]; }
+    public int getVoids(int seat) { return voids[seat]; }
+}
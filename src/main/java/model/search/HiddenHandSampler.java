@@ -0,0 +1,242 @@
+package model.search;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import model.cards.CardMask;
+import model.cards.CardSuit;
+
+/**
+ * Uniform sampler of the hidden hands consistent with what an observer knows.
+ *
+ * The constraints are the set of unseen cards, the exact number of cards
+ * left in each hidden hand and the suits each hidden hand is known to be
+ * void in (a player who did not follow the palo, see
+ * {@link model.GameRules#isValidPlay}). Instead of rejection sampling, the
+ * constructor counts the consistent deals suit by suit: for each suit it
+ * enumerates how many of its unseen cards every hand can take, weighted by
+ * the multinomial number of ways, over the remaining capacities of the
+ * hands. A sample then walks the same table choosing one split per suit with
+ * the right probability and picks the cards of each split uniformly, so every
+ * consistent deal has the same probability and the cost of a sample does not
+ * depend on how tight the constraints are.
+ *
+ * Instances are immutable and can be shared between threads; sampling does
+ * not allocate.
+ */
+public final class HiddenHandSampler {
+    private static final int SUITS = CardSuit.values().length;
+    private static final int BASE = CardMask.SUIT_SIZE + 1; // capacities are in [0, 10]
+
+    private final long unseen;
+    private final int hands;
+    private final long[] suitCards = new long[SUITS]; // unseen cards of each suit
+    private final double count;
+    // per suit, per reachable capacity state: the allowed splits and their alias table
+    private final Level[][] levels;
+    private final int initialState;
+
+    /**
+     * Allowed splits of one suit from one capacity state: the encoded split,
+     * the cards each hand takes (flattened, {@code hands} per split) and a
+     * Walker alias table over the split weights, so a split is chosen in
+     * constant time.
+     */
+    private record Level(int[] splits, byte[] takes, double[] probability, int[] alias) {}
+
+    /**
+     * @param unseen mask of the cards held by the hidden hands
+     * @param sizes number of cards left in each hidden hand
+     * @param voids for each hidden hand, bit set of the suits (by ordinal) it is void in
+     * @throws IllegalArgumentException if the sizes do not match the unseen cards
+     */
+    public HiddenHandSampler(long unseen, int[] sizes, int[] voids) {
+        if (sizes.length == 0 || sizes.length > 4 || voids.length != sizes.length)
+            throw new IllegalArgumentException("Between 1 and 4 hidden hands are supported");
+        int total = 0;
+        for (int size : sizes) {
+            if (size < 0 || size > CardMask.SUIT_SIZE) throw new IllegalArgumentException("Invalid hand size " + size);
+            total += size;
+        }
+        if (total != Long.bitCount(unseen))
+            throw new IllegalArgumentException("Hand sizes " + total + " do not match " + Long.bitCount(unseen) + " unseen cards");
+        this.unseen = unseen;
+        this.hands = sizes.length;
+        for (CardSuit suit : CardSuit.values()) suitCards[suit.ordinal()] = unseen & CardMask.suitMask(suit);
+        int states = 1;
+        for (int h = 0; h < hands; h++) states *= BASE;
+        this.levels = new Level[SUITS][states];
+        double[][] memo = new double[SUITS][states];
+        for (double[] row : memo) Arrays.fill(row, Double.NaN);
+        this.initialState = encode(sizes);
+        this.count = ways(0, initialState, voids, memo);
+    }
+
+    /** @return number of consistent deals (0 if the constraints are contradictory) */
+    public double count() { return count; }
+
+    /** @return the unseen cards being dealt */
+    public long unseen() { return unseen; }
+
+    /**
+     * Draw one consistent deal uniformly at random.
+     * @param random the random source
+     * @param out receives the card mask of each hidden hand, same order as the sizes
+     * @throws IllegalStateException if no deal satisfies the constraints
+     */
+    public void sample(RandomGenerator random, long[] out) {
+        if (count == 0) throw new IllegalStateException("No deal satisfies the constraints");
+        for (int h = 0; h < hands; h++) out[h] = 0L;
+        int state = initialState;
+        for (int s = 0; s < SUITS; s++) {
+            Level level = levels[s][state];
+            int choice = below(random, level.splits().length);
+            if (random.nextDouble() >= level.probability()[choice]) choice = level.alias()[choice];
+            int split = level.splits()[choice];
+            byte[] takes = level.takes();
+            // deal the cards of the suit: each hand takes a uniform subset of what is left
+            int shift = s * CardMask.SUIT_SIZE;
+            int left = (int) (suitCards[s] >>> shift);
+            int remaining = Integer.bitCount(left);
+            for (int h = 0; h < hands - 1; h++) {
+                for (int take = takes[choice * hands + h]; take > 0; take--) {
+                    int bit = 1 << SELECT[left * CardMask.SUIT_SIZE + below(random, remaining--)];
+                    out[h] |= (long) bit << shift;
+                    left ^= bit;
+                }
+            }
+            out[hands - 1] |= (long) left << shift;
+            state -= split;
+        }
+    }
+
+    // ------------------ Counting ------------------
+    /** Number of ways to deal suits s.. into the capacities of the state, filling the split tables. */
+    private double ways(int s, int state, int[] voids, double[][] memo) {
+        if (s == SUITS) return state == 0 ? 1 : 0;
+        if (!Double.isNaN(memo[s][state])) return memo[s][state];
+        int cards = Long.bitCount(suitCards[s]);
+        int[] splits = new int[64];
+        double[] weights = new double[64];
+        int used = 0;
+        double total = 0;
+        int[] split = new int[hands];
+        // enumerate every split of the suit's cards among the hands
+        int combinations = 1;
+        for (int h = 0; h < hands - 1; h++) combinations *= (cards + 1);
+        for (int c = 0; c < combinations; c++) {
+            int rest = cards;
+            int code = c;
+            boolean valid = true;
+            for (int h = 0; h < hands - 1; h++) {
+                split[h] = code % (cards + 1);
+                code /= (cards + 1);
+                rest -= split[h];
+            }
+            split[hands - 1] = rest;
+            if (rest < 0) continue;
+            for (int h = 0; h < hands && valid; h++) {
+                if (split[h] > digit(state, h)) valid = false;
+                if (split[h] > 0 && (voids[h] & (1 << s)) != 0) valid = false;
+            }
+            if (!valid) continue;
+            int encoded = encode(split);
+            double weight = multinomial(cards, split) * ways(s + 1, state - encoded, voids, memo);
+            if (weight == 0) continue;
+            if (used == splits.length) {
+                splits = Arrays.copyOf(splits, used * 2);
+                weights = Arrays.copyOf(weights, used * 2);
+            }
+            total += weight;
+            splits[used] = encoded;
+            weights[used] = weight;
+            used++;
+        }
+        if (used > 0) {
+            byte[] takes = new byte[used * hands];
+            for (int i = 0; i < used; i++) {
+                for (int h = 0; h < hands; h++) takes[i * hands + h] = (byte) digit(splits[i], h);
+            }
+            levels[s][state] = aliasLevel(Arrays.copyOf(splits, used), takes, weights, used, total);
+        }
+        memo[s][state] = total;
+        return total;
+    }
+
+    /** Build the alias table of the weights (Vose's method). */
+    private static Level aliasLevel(int[] splits, byte[] takes, double[] weights, int n, double total) {
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+        // leftovers are 1 up to rounding
+        while (largeCount > 0) probability[large[--largeCount]] = 1;
+        while (smallCount > 0) probability[small[--smallCount]] = 1;
+        return new Level(splits, takes, probability, alias);
+    }
+
+    /**
+     * Uniform int in [0, bound) by multiply-shift with rejection (Lemire):
+     * same distribution as {@code nextInt(bound)} without a division in the
+     * common case, which dominates the cost of a sample.
+     */
+    private static int below(RandomGenerator random, int bound) {
+        long product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+        if ((int) product + Integer.MIN_VALUE < bound + Integer.MIN_VALUE) {
+            long threshold = (1L << 32) % bound;
+            while ((product & 0xFFFFFFFFL) < threshold) product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+        }
+        return (int) (product >>> 32);
+    }
+
+    private static double multinomial(int n, int[] parts) {
+        double result = FACTORIAL[n];
+        for (int part : parts) result /= FACTORIAL[part];
+        return result;
+    }
+
+    // SELECT[holding * 10 + n] = position of the n-th lowest card of a suit holding
+    private static final byte[] SELECT = new byte[CardMask.HOLDINGS * CardMask.SUIT_SIZE];
+    static {
+        for (int holding = 0; holding < CardMask.HOLDINGS; holding++) {
+            int n = 0;
+            for (int bit = 0; bit < CardMask.SUIT_SIZE; bit++) {
+                if ((holding & (1 << bit)) != 0) SELECT[holding * CardMask.SUIT_SIZE + n++] = (byte) bit;
+            }
+        }
+    }
+
+    private static final double[] FACTORIAL = new double[CardMask.SUIT_SIZE + 1];
+    static {
+        FACTORIAL[0] = 1;
+        for (int i = 1; i < FACTORIAL.length; i++) FACTORIAL[i] = FACTORIAL[i - 1] * i;
+    }
+
+    // capacities of up to 4 hands packed in base 11
+    private static int encode(int[] values) {
+        int code = 0;
+        for (int h = values.length - 1; h >= 0; h--) code = code * BASE + values[h];
+        return code;
+    }
+
+    private static int digit(int code, int h) {
+        for (int i = 0; i < h; i++) code /= BASE;
+        return code % BASE;
+    }
+}
@@ -0,0 +1,121 @@
+package model.search;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import model.GameDifficultyState;
+import model.deal.BotComputePool;
+import utils.metrics.MetricsRegistry;
+
+/**
+ * Elastic search budget of the bots, driven by the load of the
+ * {@link BotComputePool}.
+ *
+ * Every difficulty has a range of iterations and of thinking time. The
+ * controller keeps one scale factor in [0, 1] that places all budgets inside
+ * their ranges: when the queue of the pool grows beyond a couple of tasks
+ * per worker, or moves take longer than the target latency, the factor is
+ * cut multiplicatively; when the pool is quiet it grows back step by step.
+ * The move latency only counts when a move completed since the last update:
+ * the average does not change between moves, and an old slow move must not
+ * keep cutting the budgets of an idle pool.
+ * A saturated host therefore makes HARD bots think less instead of making
+ * every table slower, while {@link GameDifficultyState} keeps its meaning
+ * (a HARD budget never drops below the HARD minimum). Searches that do not
+ * belong to a bot (claims, win estimates) place their own range with
+ * {@link #scaled}.
+ *
+ * The factor is re-evaluated lazily, at most every
+ * {@value #UPDATE_INTERVAL_MS} ms, when a budget is requested or the
+ * {@code search.budgetScale} gauge is read.
+ */
+public final class SearchBudgetController {
+    /** Iterations and time a search may spend on one decision. */
+    public record Budget(int iterations, long nanos) {}
+
+    private static final long UPDATE_INTERVAL_MS = 100;
+    private static final double QUEUE_PER_WORKER = 2;        // tolerated backlog
+    private static final long TARGET_LATENCY_NANOS = 250_000_000;
+    private static final double DECREASE = 0.7;
+    private static final double INCREASE = 0.05;
+
+    private final BotComputePool pool;
+    private final Map<GameDifficultyState, Budget> minimum = new EnumMap<>(GameDifficultyState.class);
+    private final Map<GameDifficultyState, Budget> maximum = new EnumMap<>(GameDifficultyState.class);
+    private volatile double scale = 1;
+    private long lastUpdate;
+    private long lastMoves;   // moves completed at the last update
+
+    /**
+     * @param pool the pool whose load drives the budgets
+     */
+    public SearchBudgetController(BotComputePool pool) {
+        this.pool = pool;
+        bounds(GameDifficultyState.EASY, new Budget(50, 5_000_000), new Budget(200, 20_000_000));
+        bounds(GameDifficultyState.MEDIUM, new Budget(200, 10_000_000), new Budget(2_000, 100_000_000));
+        bounds(GameDifficultyState.HARD, new Budget(1_000, 50_000_000), new Budget(20_000, 500_000_000));
+    }
+
+    // built with the class, so the gauge is there before the first search
+    private static final SearchBudgetController SHARED = new SearchBudgetController(BotComputePool.shared());
+    static {
+        MetricsRegistry.shared().gauge("search.budgetScale", SHARED::currentScale);
+    }
+
+    /** The controller of the shared pool. */
+    public static SearchBudgetController shared() { return SHARED; }
+
+    /**
+     * @param difficulty the difficulty of the searching bot
+     * @return the budget for the next decision under the current load
+     */
+    public Budget budgetFor(GameDifficultyState difficulty) {
+        Budget low, high;
+        synchronized (this) { // the ranges are replaced under the same lock
+            low = minimum.get(difficulty);
+            high = maximum.get(difficulty);
+        }
+        return scaled(low, high);
+    }
+
+    /**
+     * Place a range by the current load.
+     * @param low the budget of a saturated pool
+     * @param high the budget of an idle pool
+     * @return the budget for the next search
+     */
+    public Budget scaled(Budget low, Budget high) {
+        double s = currentScale();
+        return new Budget((int) Math.round(low.iterations() + s * (high.iterations() - low.iterations())),
+                          Math.round(low.nanos() + s * (high.nanos() - low.nanos())));
+    }
+
+    /** @return the scale factor, re-evaluated if it is due */
+    public double currentScale() {
+        update();
+        return scale;
+    }
+
+    /** @return the current scale factor, 1 when the pool is idle */
+    public double getScale() { return scale; }
+
+    /** Replace the range of a difficulty. */
+    public synchronized void bounds(GameDifficultyState difficulty, Budget low, Budget high) {
+        if (low.iterations() > high.iterations() || low.nanos() > high.nanos())
+            throw new IllegalArgumentException("Minimum budget above the maximum for " + difficulty);
+        minimum.put(difficulty, low);
+        maximum.put(difficulty, high);
+    }
+
+    private synchronized void update() {
+        long now = System.currentTimeMillis();
+        if (now - lastUpdate < UPDATE_INTERVAL_MS) return;
+        lastUpdate = now;
+        double queuePressure = pool.getQueueDepth() / (QUEUE_PER_WORKER * pool.getThreads());
+        long moves = pool.getMovesCompleted();
+        double latencyPressure = moves == lastMoves ? 0 : pool.getMoveLatencyNanos() / (double) TARGET_LATENCY_NANOS;
+        lastMoves = moves;
+        if (Math.max(queuePressure, latencyPressure) > 1) scale = scale * DECREASE;
+        else scale = Math.min(1, scale + INCREASE);
+    }
+}
@@ -0,0 +1,180 @@
+package model.search;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-size transposition table shared by all search threads.
+ *
+ * Entries live off-heap in a direct {@link ByteBuffer}, so a large table puts
+ * no pressure on the garbage collector. Each entry is two longs: the position
+ * key XOR the data, and the data itself. Threads read and write without locks
+ * (Lazy SMP style); a torn entry written concurrently by two threads fails the
+ * XOR check on the next probe and is simply a miss.
+ *
+ * Entries are grouped in buckets of {@value #BUCKET_ENTRIES} (one 64 byte
+ * cache line). A store keeps the same position in place when the new result
+ * is at least as deep, otherwise it replaces the entry of the bucket that is
+ * the shallowest once its age (searches since it was written, see
+ * {@link #newSearch()}) is taken into account.
+ *
+ * The data packs a signed 16 bit value, the depth, the bound type, the best
+ * move (a card ordinal) and the generation; read it back with
+ * {@link #value}, {@link #depth}, {@link #bound} and {@link #move}.
+ */
+public final class TranspositionTable {
+    /** Size of {@link #shared()} in MB, default {@value #DEFAULT_MB}. */
+    public static final String SIZE_PROPERTY = "tresette.tt.mb";
+    public static final int DEFAULT_MB = 32;
+
+    public static final int BOUND_EXACT = 0;
+    public static final int BOUND_LOWER = 1;
+    public static final int BOUND_UPPER = 2;
+    public static final int NO_MOVE = 0xFF;
+    /** Returned by {@link #probe} when the position is not stored. */
+    public static final long MISS = 0L;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_BYTES = ENTRY_BYTES * BUCKET_ENTRIES;
+    private static final int AGE_WEIGHT = 8; // depth a stale entry loses per search of age
+    private static final long VALID = 1L << 63; // stored data is never MISS
+
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer entries;
+    private final int buckets;
+    private volatile int generation;
+
+    /**
+     * @param megabytes size of the table in MB (at least 1)
+     * @throws IllegalArgumentException if the size is not positive or too large
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || (long) megabytes * 1024 * 1024 > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid transposition table size: " + megabytes + " MB");
+        this.buckets = megabytes * 1024 * 1024 / BUCKET_BYTES;
+        // allocateDirect only guarantees the alignment of a long: over-allocate and
+        // slice so that every bucket starts on its own cache line
+        this.entries = ByteBuffer.allocateDirect(buckets * BUCKET_BYTES + BUCKET_BYTES - 1)
+                                 .alignedSlice(BUCKET_BYTES)
+                                 .order(ByteOrder.nativeOrder());
+    }
+
+    /** The table shared by every search on this JVM, sized by {@value #SIZE_PROPERTY}. */
+    public static TranspositionTable shared() { return Holder.INSTANCE; }
+
+    private static final class Holder {
+        private static final TranspositionTable INSTANCE =
+            new TranspositionTable(Integer.getInteger(SIZE_PROPERTY, DEFAULT_MB));
+    }
+
+    // ------------------ Search API ------------------
+    /**
+     * Start a new search: entries of older searches become cheaper to replace.
+     */
+    public void newSearch() { generation = (generation + 1) & 0xFF; }
+
+    /**
+     * @param key hash of the position
+     * @return the stored data of the position, or {@link #MISS}
+     */
+    public long probe(long key) {
+        int base = bucketOffset(key);
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long data = (long) LONGS.getOpaque(entries, offset + 8);
+            if (data != MISS && ((long) LONGS.getOpaque(entries, offset) ^ data) == key) return data;
+        }
+        return MISS;
+    }
+
+    /**
+     * Store the result of a search of a position.
+     * @param key hash of the position
+     * @param value the value, clamped to a signed 16 bit range
+     * @param depth the remaining depth searched, in [0, 255]
+     * @param bound {@link #BOUND_EXACT}, {@link #BOUND_LOWER} or {@link #BOUND_UPPER}
+     * @param move ordinal of the best card, or {@link #NO_MOVE}
+     */
+    public void store(long key, int value, int depth, int bound, int move) {
+        int current = generation;
+        long data = pack(value, depth, bound, move, current);
+        int base = bucketOffset(key);
+        int victim = base;
+        int victimScore = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long old = (long) LONGS.getOpaque(entries, offset + 8);
+            if (old == MISS) {
+                if (victimScore > Integer.MIN_VALUE) {
+                    victim = offset;
+                    victimScore = Integer.MIN_VALUE;
+                }
+                continue;
+            }
+            if (((long) LONGS.getOpaque(entries, offset) ^ old) == key) {
+                // same position: keep a deeper result of the current search
+                if (depth < depth(old) && generation(old) == current && bound != BOUND_EXACT) return;
+                victim = offset;
+                break;
+            }
+            int age = (current - generation(old)) & 0xFF;
+            int score = depth(old) - AGE_WEIGHT * age;
+            if (score < victimScore) {
+                victim = offset;
+                victimScore = score;
+            }
+        }
+        LONGS.setOpaque(entries, victim, key ^ data);
+        LONGS.setOpaque(entries, victim + 8, data);
+    }
+
+    /** Remove every entry (not safe while searches are running). */
+    public void clear() {
+        for (int offset = 0; offset < buckets * BUCKET_BYTES; offset += 8) LONGS.set(entries, offset, 0L);
+        generation = 0;
+    }
+
+    /** @return number of entries the table can hold */
+    public int capacity() { return buckets * BUCKET_ENTRIES; }
+
+    /** @return per-mille of a sample of entries written by the current search */
+    public int hashfull() {
+        int sampled = Math.min(buckets, 1000 / BUCKET_ENTRIES);
+        int used = 0;
+        for (int b = 0; b < sampled; b++) {
+            for (int i = 0; i < BUCKET_ENTRIES; i++) {
+                long data = (long) LONGS.getOpaque(entries, b * BUCKET_BYTES + i * ENTRY_BYTES + 8);
+                if (data != MISS && generation(data) == generation) used++;
+            }
+        }
+        return used * 1000 / (sampled * BUCKET_ENTRIES);
+    }
+
+    // ------------------ Data layout ------------------
+    // bits 0-15 value, 16-23 depth, 24-25 bound, 32-39 move, 40-47 generation, 63 valid
+    private static long pack(int value, int depth, int bound, int move, int generation) {
+        int clamped = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+        return (clamped & 0xFFFFL)
+             | (long) (Math.max(0, Math.min(0xFF, depth))) << 16
+             | (long) (bound & 0x3) << 24
+             | (long) (move & 0xFF) << 32
+             | (long) (generation & 0xFF) << 40
+             | VALID;
+    }
+
+    public static int value(long data) { return (short) data; }
+    public static int depth(long data) { return (int) (data >>> 16) & 0xFF; }
+    public static int bound(long data) { return (int) (data >>> 24) & 0x3; }
+    public static int move(long data) { return (int) (data >>> 32) & 0xFF; }
+    private static int generation(long data) { return (int) (data >>> 40) & 0xFF; }
+
+    private int bucketOffset(long key) {
+        // multiply-high maps the upper key bits uniformly onto the buckets
+        return (int) (((key >>> 32) * buckets) >>> 32) * BUCKET_BYTES;
+    }
+}
@@ -0,0 +1,278 @@
+package model.search;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import model.GameRules;
+import model.cards.CardMask;
+import model.cards.CardSuit;
+import model.deal.BotComputePool;
+import model.deal.DealPosition;
+import model.search.SearchBudgetController.Budget;
+import model.simulation.PackedDeal;
+import model.simulation.SteppableDeal;
+
+/**
+ * Live estimate of the expected deal points of each team and of its
+ * probability of winning the match, for the UI and for spectators.
+ *
+ * An estimate sees what one seat sees ({@link DealKnowledge}): it deals the
+ * hidden hands with a {@link HiddenHandSampler} and plays every such world
+ * to the end on a {@link PackedDeal} with random legal cards. The deal
+ * points of the playouts give the expected points; added to the game totals
+ * they give the match outcome, looked up past this deal in a table of the
+ * odds of winning from any pair of totals, computed once from the points of
+ * random deals. A tie at or over the target counts half for each team.
+ *
+ * The worlds of an estimate are kept for the next one: after a card is
+ * played, the worlds where the player held it (and that respect the voids
+ * revealed meanwhile) are still uniform over what is now known, so they are
+ * replayed from the new position and only the missing ones are sampled.
+ *
+ * Estimates run on the {@link BotComputePool.Priority#BACKGROUND} priority of
+ * a lane of their own, never on the game thread. Each stops after the
+ * playouts and the time granted by the {@link SearchBudgetController}: up to
+ * {@link #MAX_WORLDS} and {@link #BUDGET_NANOS} on an idle pool, down to
+ * {@link #MIN_WORLDS} and {@link #MIN_BUDGET_NANOS} on a saturated one.
+ * Requests are coalesced: an estimate overtaken by a newer request is
+ * dropped, and only the latest pending request is served.
+ */
+public final class WinProbabilityEstimator {
+    public static final int MAX_WORLDS = 2_000;
+    public static final long BUDGET_NANOS = 20_000_000L;
+    public static final int MIN_WORLDS = 200;
+    public static final long MIN_BUDGET_NANOS = 5_000_000L;
+    private static final Budget LOW = new Budget(MIN_WORLDS, MIN_BUDGET_NANOS);
+    private static final Budget HIGH = new Budget(MAX_WORLDS, BUDGET_NANOS);
+    /** Targets above this get no match probability (the odds table is quadratic). */
+    public static final int MAX_TARGET = 1_000;
+
+    private static final int TEAMS = SteppableDeal.TEAMS;
+    private static final int HIDDEN = DealPosition.SEATS - 1;
+    private static final int FUTURE_DEALS = 20_000;      // random deals behind the odds table
+    private static final int MAX_DEAL_POINTS = GameRules.CAPPOTTO_SCORE;
+
+    /**
+     * Position to estimate, captured on the game thread.
+     * @param epoch identifies the deal: worlds are reused only within an epoch
+     * @param position the current position; only the hand of the observer is read
+     * @param knowledge what the observer knows, not shared with the game thread
+     * @param totals the game totals of each team before this deal
+     */
+    public record Request(int epoch, DealPosition position, DealKnowledge knowledge, int[] totals) {}
+
+    /**
+     * @param epoch the epoch of the request
+     * @param expectedPoints expected deal points of each team
+     * @param winProbability probability of winning the match of each team, NaN past {@link #MAX_TARGET}
+     * @param samples playouts behind the estimate
+     * @param reused worlds kept from the previous estimate
+     */
+    public record Estimate(int epoch, double[] expectedPoints, double[] winProbability, int samples, int reused) {}
+
+    private final int winningScore;
+    private final BotComputePool.Lane lane;
+    private final SearchBudgetController budgets;
+    private final Consumer<Estimate> sink;
+    private final AtomicReference<Request> pending = new AtomicReference<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // state of the running estimate, one at a time
+    private final SplittableRandom random;
+    private final long[] worlds = new long[MAX_WORLDS * HIDDEN]; // hidden hands, HIDDEN per world
+    private final long[] world = new long[HIDDEN];
+    private int worldCount;
+    private int worldEpoch = -1;
+    private final PackedDeal position = new PackedDeal();
+    private final PackedDeal playout = new PackedDeal();
+    private final int[] points = new int[TEAMS];
+    private double[][] odds;   // [total 0][total 1] -> team 0 wins, before a deal
+
+    /**
+     * @param winningScore the target of the match
+     * @param pool the pool the estimates run on
+     * @param budgets scales the playouts and the time of every estimate by the load of the pool
+     * @param seed seed of the worlds and of the playouts
+     * @param sink receives the estimates, on a pool worker
+     */
+    public WinProbabilityEstimator(int winningScore, BotComputePool pool, SearchBudgetController budgets,
+                                   long seed, Consumer<Estimate> sink) {
+        this.winningScore = winningScore;
+        this.lane = pool.newLane("estimate", 1);
+        this.budgets = budgets;
+        this.random = new SplittableRandom(seed);
+        this.sink = sink;
+    }
+
+    /**
+     * Ask for an estimate; it replaces a request still waiting (any thread).
+     * @param request the position to estimate
+     */
+    public void submit(Request request) {
+        if (closed) return;
+        pending.set(request);
+        if (running.compareAndSet(false, true)) start();
+    }
+
+    /** Drop the pending request and release the lane; a running estimate is discarded. */
+    public void close() {
+        closed = true;
+        pending.set(null);
+        lane.close();
+    }
+
+    private void start() {
+        lane.submit(BotComputePool.Priority.BACKGROUND, () -> {
+            drain();
+            return null;
+        });
+    }
+
+    // on a pool worker: serve the requests until none is pending
+    private void drain() {
+        try {
+            Request request;
+            while ((request = pending.getAndSet(null)) != null) {
+                Estimate estimate = estimate(request);
+                if (estimate != null && !closed) sink.accept(estimate);
+            }
+        } finally {
+            running.set(false);
+        }
+        // a request may have arrived after the loop ended
+        if (pending.get() != null && running.compareAndSet(false, true)) start();
+    }
+
+    // ------------------ Estimate ------------------
+    /** @return the estimate, or null if a newer request overtook it */
+    private Estimate estimate(Request request) {
+        if (odds == null && winningScore <= MAX_TARGET) odds = matchOdds(); // once, outside the budget
+        Budget budget = budgets.scaled(LOW, HIGH);
+        long deadline = System.nanoTime() + budget.nanos();
+        DealKnowledge knowledge = request.knowledge();
+        if (request.epoch() != worldEpoch) {
+            worldCount = 0;
+            worldEpoch = request.epoch();
+        }
+        int reused = keepConsistentWorlds(knowledge);
+        HiddenHandSampler sampler = knowledge.sampler();
+        while (worldCount < budget.iterations()) {
+            sampler.sample(random, world);
+            System.arraycopy(world, 0, worlds, worldCount++ * HIDDEN, HIDDEN);
+        }
+        int playouts = Math.min(worldCount, budget.iterations()); // more worlds may be kept from a quieter time
+
+        position.reset(request.position());
+        int[] totals = request.totals();
+        double[] expected = new double[TEAMS];
+        double win = 0;
+        int samples = 0;
+        for (int w = 0; w < playouts; w++) {
+            if ((w & 63) == 0 && w > 0 && (System.nanoTime() > deadline || pending.get() != null)) break;
+            playout.copyFrom(position);
+            for (int i = 0; i < HIDDEN; i++) playout.setHand(knowledge.hiddenSeat(i), worlds[w * HIDDEN + i]);
+            playOut(playout);
+            playout.score(points);
+            expected[0] += points[0];
+            expected[1] += points[1];
+            if (odds != null) win += teamZeroWins(totals[0] + points[0], totals[1] + points[1]);
+            samples++;
+        }
+        if (pending.get() != null) return null;
+        expected[0] /= samples;
+        expected[1] /= samples;
+        double[] winProbability = odds == null
+            ? new double[] { Double.NaN, Double.NaN }
+            : new double[] { win / samples, 1 - win / samples };
+        return new Estimate(request.epoch(), expected, winProbability, samples, reused);
+    }
+
+    /**
+     * Drop the cards played since the worlds were dealt and keep the worlds
+     * where every hidden hand still has the right size and no card of a suit
+     * its player showed to be void in.
+     * @return the worlds kept
+     */
+    private int keepConsistentWorlds(DealKnowledge knowledge) {
+        long unseen = knowledge.unseen();
+        int kept = 0;
+        for (int w = 0; w < worldCount; w++) {
+            boolean consistent = true;
+            for (int i = 0; i < HIDDEN && consistent; i++) {
+                int seat = knowledge.hiddenSeat(i);
+                long hand = worlds[w * HIDDEN + i] & unseen;
+                consistent = Long.bitCount(hand) == knowledge.getHandSize(seat)
+                          && (hand & voidCards(knowledge.getVoids(seat))) == 0;
+                world[i] = hand;
+            }
+            if (consistent) System.arraycopy(world, 0, worlds, kept++ * HIDDEN, HIDDEN);
+        }
+        worldCount = kept;
+        return kept;
+    }
+
+    private static long voidCards(int voids) {
+        long cards = 0L;
+        for (CardSuit suit : CardSuit.values())
+            if ((voids & 1 << suit.ordinal()) != 0) cards |= CardMask.suitMask(suit);
+        return cards;
+    }
+
+    private void playOut(PackedDeal deal) {
+        while (!deal.isOver()) {
+            long moves = deal.legalMoves();
+            for (int n = random.nextInt(Long.bitCount(moves)); n > 0; n--) moves &= moves - 1;
+            deal.play(Long.numberOfTrailingZeros(moves));
+        }
+    }
+
+    // ------------------ Match odds ------------------
+    /** @return 1, 0.5 or 0 once a total reaches the target, else the odds of team 0 */
+    private double teamZeroWins(int total0, int total1) {
+        if (Math.max(total0, total1) >= winningScore) return total0 > total1 ? 1 : total0 == total1 ? 0.5 : 0;
+        return odds[total0][total1];
+    }
+
+    /**
+     * The odds of team 0 from every pair of totals under the target, with the
+     * deal points of random deals (counted for both teams, so the table is
+     * fair). Every deal gives some points, so the table is filled by
+     * decreasing sum of the totals.
+     */
+    private double[][] matchOdds() {
+        int size = MAX_DEAL_POINTS + 1;
+        double[] frequency = new double[size * size];
+        long[] hands = new long[DealPosition.SEATS];
+        int[] deck = new int[GameRules.TOTAL_DECK_CARDS];
+        for (int d = 0; d < FUTURE_DEALS; d++) {
+            for (int i = 0; i < deck.length; i++) deck[i] = i;
+            for (int i = deck.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = deck[i]; deck[i] = deck[j]; deck[j] = swap;
+            }
+            Arrays.fill(hands, 0L);
+            for (int i = 0; i < deck.length; i++) hands[i / GameRules.CARDS_PER_PLAYER] |= 1L << deck[i];
+            playout.reset(hands);
+            playOut(playout);
+            playout.score(points);
+            frequency[points[0] * size + points[1]] += 0.5 / FUTURE_DEALS;
+            frequency[points[1] * size + points[0]] += 0.5 / FUTURE_DEALS;
+        }
+        double[][] table = new double[winningScore][winningScore];
+        odds = table;   // read back by teamZeroWins for the higher sums
+        for (int sum = 2 * winningScore - 2; sum >= 0; sum--) {
+            for (int a = Math.max(0, sum - winningScore + 1); a <= Math.min(sum, winningScore - 1); a++) {
+                int b = sum - a;
+                double p = 0;
+                for (int cell = 0; cell < frequency.length; cell++)
+                    if (frequency[cell] > 0) p += frequency[cell] * teamZeroWins(a + cell / size, b + cell % size);
+                table[a][b] = p;
+            }
+        }
+        return table;
+    }
+}
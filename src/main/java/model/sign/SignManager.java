@@ -6,6 +6,7 @@ import model.board.Table;
 import model.events.SignEvent;
 import model.player.Player;
 import model.player.BotPlayer;
+import utils.jfr.SignSentEvent;
 
 /**
  * Manages sign emission rules during a deal.
@@ -65,13 +66,36 @@ public final class SignManager {
         int senderIndex = players.indexOf(sender);
         boolean fromTeammateOfHuman = (senderIndex == 2);
         SignEvent event = new SignEvent(sender, type, fromTeammateOfHuman);
-        // Notify all bots so they can observe the sign (currently not implemented)
+        SignSentEvent sent = new SignSentEvent();
+        if (sent.shouldCommit()) {
+            sent.player = sender.getId();
+            sent.sign = type.name();
+            sent.commit();
+        }
+        notifyBots(event);
+        return event;
+    }
+
+    /**
+     * Restore a sign sent before the deal was loaded from a position: the bots
+     * observe it again, without the checks and the event of {@link #sendSign}.
+     * @param sender the player who sent the sign
+     * @param type the {@link SignType} sent
+     * @param currentTrick true if the sign belongs to the trick in progress,
+     *                     which then allows no further sign
+     */
+    public void restoreSign(Player sender, SignType type, boolean currentTrick) {
+        if (currentTrick) signUsedThisTrick = true;
+        notifyBots(new SignEvent(sender, type, players.indexOf(sender) == 2));
+    }
+
+    // Notify all bots so they can observe the sign (currently not implemented)
+    private void notifyBots(SignEvent event) {
         for (Player p : players) {
             if (p instanceof BotPlayer bot) {
                 bot.onSign(event);
             }
         }
-        return event;
     }
 
     /**
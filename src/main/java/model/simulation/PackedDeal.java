@@ -0,0 +1,169 @@
+package model.simulation;
+
+import model.GameRules;
+import model.cards.Card;
+import model.cards.CardMask;
+import model.cards.CardSuit;
+import model.cards.CardValue;
+import model.deal.DealPosition;
+
+/**
+ * Deal engine on card masks, for the simulations and the searches.
+ *
+ * The hands and the won piles are {@link CardMask} longs and the current
+ * trick is a small array of ordinals, so a deal is played without any
+ * object: following suit is a mask intersection, the trick winner a lookup
+ * of precomputed game values and the score two bit counts per team.
+ *
+ * Scoring is done in integers: a team gets one point per ace and one per
+ * three figures (2, 3 and the face cards). This is what the rounding of
+ * {@link model.score.ScoreManager} (floor, plus one from a fraction of 0.9)
+ * yields for every count of figures a team can win.
+ */
+public final class PackedDeal implements SteppableDeal {
+    private static final int[] GAME_VALUE = new int[GameRules.TOTAL_DECK_CARDS];
+    private static final long ACES;
+    private static final long FIGURES;
+    private static final int STARTING_CARD = GameRules.STARTING_CARD.getOrdinal();
+    static {
+        long aces = 0L, figures = 0L;
+        for (int ordinal = 0; ordinal < GAME_VALUE.length; ordinal++) {
+            CardValue value = Card.fromOrdinal(ordinal).getValue();
+            GAME_VALUE[ordinal] = value.getGameValue();
+            if (value == CardValue.ASSO) aces |= 1L << ordinal;
+            else if (value.getPoints() > 0) figures |= 1L << ordinal;
+        }
+        ACES = aces;
+        FIGURES = figures;
+    }
+
+    private final long[] hands = new long[SEATS];
+    private final long[] won = new long[TEAMS];
+    private final int[] trick = new int[SEATS]; // ordinals in play order
+    private int played;                         // cards in the current trick
+    private int leader;
+    private int current;
+    private int tricks;
+    private int lastTrickWinner = -1;
+
+    @Override
+    public void reset(long[] dealt) {
+        System.arraycopy(dealt, 0, hands, 0, SEATS);
+        won[0] = won[1] = 0L;
+        played = tricks = 0;
+        lastTrickWinner = -1;
+        current = -1;
+        for (int seat = 0; seat < SEATS; seat++)
+            if ((hands[seat] & 1L << STARTING_CARD) != 0) current = seat;
+        if (current < 0) throw new IllegalArgumentException("STARTING_CARD " + GameRules.STARTING_CARD + " not dealt");
+        leader = current;
+    }
+
+    /**
+     * Resume the deal from a position, e.g. to search a fixed hard ending.
+     * The won piles of the seats are merged by team; the signs do not
+     * matter to the rules and are ignored.
+     * @param position a position of the deal
+     */
+    public void reset(DealPosition position) {
+        for (int seat = 0; seat < SEATS; seat++) hands[seat] = position.getHand(seat);
+        won[0] = position.getWon(0) | position.getWon(2);
+        won[1] = position.getWon(1) | position.getWon(3);
+        tricks = position.getTricksPlayed();
+        lastTrickWinner = position.getLastTrickWinner();
+        leader = position.getLeader();
+        played = position.getTrickSize();
+        for (int i = 0; i < played; i++) trick[i] = position.getTrickCard(i);
+        current = position.getCurrentSeat();
+    }
+
+    /**
+     * Copy the state of another deal, e.g. to try a card and come back.
+     * @param other the deal to copy
+     */
+    public void copyFrom(PackedDeal other) {
+        System.arraycopy(other.hands, 0, hands, 0, SEATS);
+        won[0] = other.won[0];
+        won[1] = other.won[1];
+        System.arraycopy(other.trick, 0, trick, 0, other.played);
+        played = other.played;
+        leader = other.leader;
+        current = other.current;
+        tricks = other.tricks;
+        lastTrickWinner = other.lastTrickWinner;
+    }
+
+    /**
+     * Replace the hand of a seat, e.g. with a sampled hidden hand. The caller
+     * keeps the hands consistent with the cards already played.
+     * @param seat the seat
+     * @param hand the card mask of its new hand
+     */
+    public void setHand(int seat, long hand) { hands[seat] = hand; }
+
+    @Override
+    public int currentSeat() { return current; }
+
+    @Override
+    public long legalMoves() {
+        long hand = hands[current];
+        if (played == 0) return hand;
+        long follow = hand & CardMask.suitMask(paloOf(trick[0]));
+        return follow != 0 ? follow : hand;
+    }
+
+    @Override
+    public int play(int ordinal) {
+        if ((legalMoves() & 1L << ordinal) == 0)
+            throw new IllegalArgumentException("Illegal card " + Card.fromOrdinal(ordinal) + " for seat " + current);
+        hands[current] &= ~(1L << ordinal);
+        trick[played++] = ordinal;
+        if (played < SEATS) {
+            current = (current + 1) % SEATS;
+            return -1;
+        }
+        // resolve: the highest card of the palo wins
+        int palo = trick[0] / CardMask.SUIT_SIZE;
+        int best = 0;
+        long cards = 0L;
+        for (int i = 0; i < SEATS; i++) {
+            cards |= 1L << trick[i];
+            if (trick[i] / CardMask.SUIT_SIZE == palo && GAME_VALUE[trick[i]] > GAME_VALUE[trick[best]]) best = i;
+        }
+        int winner = (leader + best) % SEATS;
+        won[winner & 1] |= cards;
+        lastTrickWinner = leader = current = winner;
+        played = 0;
+        tricks++;
+        return winner;
+    }
+
+    @Override
+    public boolean isOver() { return tricks == GameRules.CARDS_PER_PLAYER; }
+
+    @Override
+    public void score(int[] points) {
+        if (!isOver()) throw new IllegalStateException("The deal is not over");
+        boolean cappotto = false;
+        for (int team = 0; team < TEAMS; team++) {
+            points[team] = Long.bitCount(won[team] & ACES) + Long.bitCount(won[team] & FIGURES) / 3
+                         + (team == (lastTrickWinner & 1) ? GameRules.LAST_TRICK_BONUS : 0);
+            if (points[team] == 0) cappotto = true;
+        }
+        if (!cappotto) return;
+        for (int team = 0; team < TEAMS; team++)
+            if (points[team] != 0) points[team] = GameRules.CAPPOTTO_SCORE;
+    }
+
+    // ------------------ Getters ------------------
+    public long getHand(int seat) { return hands[seat]; }
+    public long getWon(int team) { return won[team]; }
+    public int getLastTrickWinner() { return lastTrickWinner; }
+    public int getLeader() { return leader; }
+    /** @return the cards played in the current trick */
+    public int getTrickSize() { return played; }
+    /** @return the tricks already won */
+    public int getTricks() { return tricks; }
+
+    private static CardSuit paloOf(int ordinal) { return Card.fromOrdinal(ordinal).getSuit(); }
+}
@@ -0,0 +1,45 @@
+package model.simulation;
+
+/**
+ * A deal engine driven one card at a time, in the terms of the packed
+ * representation: seats 0 to 3 in table order, cards as ordinals
+ * ({@link model.cards.Card#getOrdinal()}) and sets of cards as
+ * {@link model.cards.CardMask} longs. Team 0 holds seats 0 and 2, team 1
+ * seats 1 and 3, as in {@link model.GameManager}.
+ *
+ * Every implementation must follow the rules of {@link model.deal.Deal2v2}
+ * and the scoring of {@link model.score.ScoreManager};
+ * {@code DifferentialDealFuzzer} (in the tools) checks them against each other.
+ */
+public interface SteppableDeal {
+    int SEATS = 4;
+    int TEAMS = 2;
+
+    /**
+     * Start a deal from the dealt hands: the holder of the 4 of Denari leads.
+     * @param hands the card mask of each seat, 10 cards each
+     */
+    void reset(long[] hands);
+
+    /** @return the seat that must play */
+    int currentSeat();
+
+    /** @return the cards the current seat may play */
+    long legalMoves();
+
+    /**
+     * Play a card of the current seat; the fourth card of a trick resolves it.
+     * @param ordinal a legal card
+     * @return the seat that won the trick, or -1 if the trick goes on
+     */
+    int play(int ordinal);
+
+    /** @return true once all the tricks are played */
+    boolean isOver();
+
+    /**
+     * Score the finished deal: points, last trick bonus and cappotto.
+     * @param points receives the deal points of each team
+     */
+    void score(int[] points);
+}
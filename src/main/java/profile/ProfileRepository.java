@@ -10,6 +10,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import utils.jfr.ProfileSavedEvent;
+
 /**
  * Files repository for {@link UserProfile} objects.
  * Each profile is stored as a single binary file inside the configured
@@ -72,6 +74,8 @@ public final class ProfileRepository {
      * @param profile profile to persist
      */
     public void save(UserProfile profile) {
+        ProfileSavedEvent event = new ProfileSavedEvent();
+        event.begin();
         try {
             Files.createDirectories(dir);
         } catch (IOException ignored) {}
@@ -79,10 +83,17 @@ public final class ProfileRepository {
         try (ObjectOutputStream objectOutput = 
                 new ObjectOutputStream(Files.newOutputStream(file))) {
                     objectOutput.writeObject(profile);
+                    event.success = true;
         } catch (IOException ex) {
             // directly failed the persistence operation
             // by throwing an unchecked exception
             throw new UncheckedIOException(ex);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.nickname = profile.getNickname();
+                event.commit();
+            }
         }
     }
 
@@ -0,0 +1,189 @@
+package utils;
+
+import javax.sound.sampled.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import utils.metrics.Counter;
+import utils.metrics.MetricsRegistry;
+
+/**
+ * Plays the short effects of the game without touching the caller thread.
+ *
+ * Each effect is decoded to PCM once. Play requests are pushed on a
+ * lock-free queue and served by a dedicated daemon thread, so the EDT never
+ * waits on audio I/O or on a line being opened. Each effect keeps a small
+ * pool of opened Clips that are rewound and restarted instead of being
+ * reopened; when all of them are busy the oldest voice is restarted, and
+ * above {@value #MAX_VOICES} voices playing at once new requests are dropped.
+ *
+ * Counters {@code audio.played} and {@code audio.dropped} are published in
+ * the {@link MetricsRegistry}. Audio errors are ignored, as in
+ * {@link AudioManager}.
+ */
+public final class AudioEngine {
+    private static final int VOICES_PER_EFFECT = 3;
+    private static final int MAX_VOICES = 6;
+
+    private static final Counter PLAYED = MetricsRegistry.shared().counter("audio.played");
+    private static final Counter DROPPED = MetricsRegistry.shared().counter("audio.dropped");
+
+    /** Decoded effect, ready to be opened by a Clip. */
+    private record Sound(AudioFormat format, byte[] data) {}
+
+    /** A request for the audio thread: open the first voice only, or play. */
+    private record Command(String effect, boolean play) {}
+
+    /** The opened voices of an effect; used by the audio thread only. */
+    private static final class Voices {
+        final Sound sound;
+        final Clip[] clips = new Clip[VOICES_PER_EFFECT];
+        final long[] endsAt = new long[VOICES_PER_EFFECT]; // nanoTime when each voice is done
+        final long lengthNanos;
+        int size;
+
+        Voices(Sound sound) {
+            this.sound = sound;
+            AudioFormat format = sound.format();
+            double frames = sound.data().length / (double) format.getFrameSize();
+            this.lengthNanos = (long) (frames / format.getFrameRate() * 1e9);
+        }
+    }
+
+    private final Map<String, Sound> sounds = new ConcurrentHashMap<>();
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private final Map<String, Voices> voices = new HashMap<>(); // audio thread only
+    private final Thread thread;
+
+    private AudioEngine() {
+        thread = new Thread(this::serve, "audio");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** The engine of the application. */
+    public static AudioEngine shared() { return Holder.INSTANCE; }
+
+    private static final class Holder {
+        private static final AudioEngine INSTANCE = new AudioEngine();
+    }
+
+    /**
+     * Decode an effect on the calling thread and ask the audio thread to
+     * open its first voice, so the first play starts right away.
+     * @param effect file name in /audio (e.g. click.wav)
+     */
+    public void preload(String effect) {
+        if (sound(effect) != null) submit(new Command(effect, false));
+    }
+
+    /**
+     * Play an effect; returns immediately.
+     * @param effect file name in /audio (e.g. click.wav)
+     */
+    public void play(String effect) {
+        submit(new Command(effect, true));
+    }
+
+    private void submit(Command command) {
+        commands.add(command);
+        LockSupport.unpark(thread);
+    }
+
+    // ------------------ Audio thread ------------------
+    private void serve() {
+        while (true) {
+            Command command;
+            while ((command = commands.poll()) != null) {
+                try {
+                    if (command.play()) start(command.effect());
+                    else voicesOf(command.effect());
+                } catch (Exception e) {
+                    // Ignore audio errors silently
+                }
+            }
+            LockSupport.park(this);
+        }
+    }
+
+    private void start(String effect) throws LineUnavailableException {
+        Voices effectVoices = voicesOf(effect);
+        if (effectVoices == null) return;
+        long now = System.nanoTime();
+        if (playing(now) >= MAX_VOICES) {
+            DROPPED.increment();
+            return;
+        }
+        int voice = idleVoice(effectVoices, now);
+        Clip clip = effectVoices.clips[voice];
+        clip.stop();
+        clip.setFramePosition(0);
+        clip.start();
+        effectVoices.endsAt[voice] = now + effectVoices.lengthNanos;
+        PLAYED.increment();
+    }
+
+    /* Index of a voice to (re)start: an idle one, a new one, or the oldest */
+    private int idleVoice(Voices effectVoices, long now) throws LineUnavailableException {
+        for (int i = 0; i < effectVoices.size; i++)
+            if (effectVoices.endsAt[i] <= now) return i;
+        if (effectVoices.size < VOICES_PER_EFFECT) return open(effectVoices);
+        int oldest = 0; // all voices have the same length: the first to end started first
+        for (int i = 1; i < effectVoices.size; i++)
+            if (effectVoices.endsAt[i] < effectVoices.endsAt[oldest]) oldest = i;
+        return oldest;
+    }
+
+    private int playing(long now) {
+        int count = 0;
+        for (Voices effectVoices : voices.values())
+            for (int i = 0; i < effectVoices.size; i++)
+                if (effectVoices.endsAt[i] > now) count++;
+        return count;
+    }
+
+    private Voices voicesOf(String effect) throws LineUnavailableException {
+        Voices effectVoices = voices.get(effect);
+        if (effectVoices != null) return effectVoices;
+        Sound sound = sound(effect);
+        if (sound == null) return null;
+        effectVoices = new Voices(sound);
+        open(effectVoices);
+        voices.put(effect, effectVoices);
+        return effectVoices;
+    }
+
+    private static int open(Voices effectVoices) throws LineUnavailableException {
+        Clip clip = AudioSystem.getClip();
+        byte[] data = effectVoices.sound.data();
+        clip.open(effectVoices.sound.format(), data, 0, data.length);
+        effectVoices.clips[effectVoices.size] = clip;
+        return effectVoices.size++;
+    }
+
+    // ------------------ Decoding ------------------
+    private Sound sound(String effect) {
+        Sound cached = sounds.get(effect);
+        if (cached != null) return cached;
+        java.net.URL soundUrl = AudioEngine.class.getResource("/audio/" + effect);
+        if (soundUrl == null) return null;
+        try (AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl)) {
+            AudioInputStream pcm = audioIn;
+            AudioFormat format = audioIn.getFormat();
+            if (!AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())
+                && !AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding())) {
+                format = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+                pcm = AudioSystem.getAudioInputStream(format, audioIn);
+            }
+            Sound sound = new Sound(format, pcm.readAllBytes());
+            Sound previous = sounds.putIfAbsent(effect, sound);
+            return previous != null ? previous : sound;
+        } catch (Exception e) {
+            return null; // Ignore audio errors silently
+        }
+    }
+}
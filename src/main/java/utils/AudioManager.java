@@ -1,204 +1,59 @@
 package utils;
 
-import javax.sound.sampled.*;
+import java.util.List;
 
 /**
  * Simple utility to play short game audio clips from the classpath.
- * Each play method opens a fresh Clip so sounds can overlap.
+ * Playback is delegated to the {@link AudioEngine}: the methods return at
+ * once and sounds can overlap.
  */
 public class AudioManager {
-    
-    /** Play the "click" UI sound. */
-    public static void playClick() {
-        try {
-            // Fresh clip each call so sounds can overlap
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/click.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                // Auto close clip when finished to free memory
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors
-        }
+    /** The effects shipped in /audio. */
+    public static final List<String> EFFECTS = List.of("click.wav", "winner.wav", "intro.wav", "game_over.wav",
+                                                       "swapping.wav", "shuffle.wav", "playing_card.wav",
+                                                       "knock.wav", "flying.wav");
+
+    /** Decode all the effects ahead of the first play. */
+    public static void preload() {
+        EFFECTS.forEach(AudioManager::preload);
     }
-    
-    /** Play the winner sound. */
-    public static void playWinner() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/winner.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                // Auto close clip when finished
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
+
+    /**
+     * Decode one effect ahead of its first play.
+     * @param effect file name in /audio (e.g. click.wav)
+     */
+    public static void preload(String effect) {
+        AudioEngine.shared().preload(effect);
     }
-    
+
+    /** Play the "click" UI sound. */
+    public static void playClick() { play("click.wav"); }
+
+    /** Play the winner sound. */
+    public static void playWinner() { play("winner.wav"); }
+
     /** Play the intro music/sound. */
-    public static void playIntro() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/intro.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                // Auto close clip when finished
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
-    }
-    
+    public static void playIntro() { play("intro.wav"); }
+
     /** Play the game over sound. */
-    public static void playGameOver() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/game_over.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                // Auto close clip when finished
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
-    }
-    
+    public static void playGameOver() { play("game_over.wav"); }
+
     /** Play the swapping sound effect. */
-    public static void playSwapping() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/swapping.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
-    }
-    
+    public static void playSwapping() { play("swapping.wav"); }
+
     /** Play the shuffle sound effect. */
-    public static void playShuffle() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/shuffle.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
-    }
-    
+    public static void playShuffle() { play("shuffle.wav"); }
+
     /** Play the card playing sound effect. */
-    public static void playPlayingCard() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/playing_card.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
-    }
-    
+    public static void playPlayingCard() { play("playing_card.wav"); }
+
     /** Play the knock (busso) sound effect. */
-    public static void playKnock() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/knock.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
-    }
-    
+    public static void playKnock() { play("knock.wav"); }
+
     /** Play the flying (volo) sound effect. */
-    public static void playFlying() {
-        try {
-            java.net.URL soundUrl = AudioManager.class.getResource("/audio/flying.wav");
-            if (soundUrl != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundUrl);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-                
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            // Ignore audio errors silently
-        }
+    public static void playFlying() { play("flying.wav"); }
+
+    private static void play(String effect) {
+        AudioEngine.shared().play(effect);
     }
 }
\ No newline at end of file
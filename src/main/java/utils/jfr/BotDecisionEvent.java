@@ -0,0 +1,47 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A bot chose its sign and card; the event duration is the compute time.
+ */
+@Name("tresette.BotDecision")
+@Label("Bot Decision")
+@Category({"TreSette", "Bot"})
+@Description("A bot chose its sign and card; the event duration is the compute time.")
+@Enabled(false)
+@StackTrace(false)
+public final class BotDecisionEvent extends Event {
+    @Label("Engine")
+    public String engine;
+
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Bot")
+    public String bot;
+
+    @Label("Card")
+    public String card;
+
+    @Label("Sign")
+    public String sign;
+
+    @Label("Nodes Searched")
+    public long nodes;
+
+    @Label("Budget Iterations")
+    @Description("Iterations granted by the search budget controller, 0 for custom bots")
+    public long budgetIterations;
+
+    @Label("Budget Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long budgetNanos;
+}
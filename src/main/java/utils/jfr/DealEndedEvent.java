@@ -0,0 +1,31 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The last trick of a deal was resolved.
+ */
+@Name("tresette.DealEnded")
+@Label("Deal Ended")
+@Category({"TreSette", "Deal"})
+@Description("The last trick of a deal was resolved.")
+@Enabled(false)
+@StackTrace(false)
+public final class DealEndedEvent extends Event {
+    @Label("Deal Index")
+    public int dealIndex;
+
+    @Label("Last Trick Winner")
+    public String lastTrickWinner;
+
+    @Label("Deal Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dealDuration;
+}
@@ -0,0 +1,26 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A deal was dealt and its first trick is about to start.
+ */
+@Name("tresette.DealStarted")
+@Label("Deal Started")
+@Category({"TreSette", "Deal"})
+@Description("A deal was dealt and its first trick is about to start.")
+@Enabled(false)
+@StackTrace(false)
+public final class DealStartedEvent extends Event {
+    @Label("Deal Index")
+    public int dealIndex;
+
+    @Label("Starting Player")
+    public String startingPlayer;
+}
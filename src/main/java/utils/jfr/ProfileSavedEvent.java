@@ -0,0 +1,26 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A user profile was written to disk; the event duration is the write time.
+ */
+@Name("tresette.ProfileSaved")
+@Label("Profile Saved")
+@Category({"TreSette", "Profile"})
+@Description("A user profile was written to disk; the event duration is the write time.")
+@Enabled(false)
+@StackTrace(false)
+public final class ProfileSavedEvent extends Event {
+    @Label("Nickname")
+    public String nickname;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,26 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A player sent a sign to the table.
+ */
+@Name("tresette.SignSent")
+@Label("Sign Sent")
+@Category({"TreSette", "Deal"})
+@Description("A player sent a sign to the table.")
+@Enabled(false)
+@StackTrace(false)
+public final class SignSentEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Sign")
+    public String sign;
+}
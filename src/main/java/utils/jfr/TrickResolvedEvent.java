@@ -0,0 +1,32 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A complete trick was resolved; the event duration is the resolution time.
+ */
+@Name("tresette.TrickResolved")
+@Label("Trick Resolved")
+@Category({"TreSette", "Deal"})
+@Description("A complete trick was resolved; the event duration is the resolution time.")
+@Enabled(false)
+@StackTrace(false)
+public final class TrickResolvedEvent extends Event {
+    @Label("Deal Index")
+    public int dealIndex;
+
+    @Label("Palo")
+    public String palo;
+
+    @Label("Cards")
+    public String cards;
+
+    @Label("Winner")
+    public String winner;
+}
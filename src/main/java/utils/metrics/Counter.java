@@ -0,0 +1,36 @@
+package utils.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter. Increments are striped over {@link LongAdder}
+ * cells, so concurrent threads never contend on one variable.
+ */
+public final class Counter {
+    private static final long RATE_WINDOW_NANOS = 5_000_000_000L;
+
+    private final LongAdder count = new LongAdder();
+    // rate bookkeeping, only touched when the rate is read
+    private long windowStart = System.nanoTime();
+    private long windowCount;
+    private double rate;
+
+    Counter() {}
+
+    public void increment() { count.increment(); }
+    public void add(long amount) { count.add(amount); }
+    public long getCount() { return count.sum(); }
+
+    /** @return events per second over the last completed window of about 5 s */
+    public synchronized double getRatePerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStart;
+        if (elapsed >= RATE_WINDOW_NANOS) {
+            long current = count.sum();
+            rate = (current - windowCount) * 1e9 / elapsed;
+            windowCount = current;
+            windowStart = now;
+        }
+        return rate;
+    }
+}
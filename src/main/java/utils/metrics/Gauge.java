@@ -0,0 +1,9 @@
+package utils.metrics;
+
+/**
+ * Value read on demand, e.g. a queue depth.
+ */
+@FunctionalInterface
+public interface Gauge {
+    double value();
+}
@@ -0,0 +1,80 @@
+package utils.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of non-negative values, typically durations in
+ * nanoseconds.
+ *
+ * Values are grouped by power of two and each power of two is split in
+ * {@value #SUB_BUCKETS} linear sub-buckets, so any percentile is exact to
+ * about 12% over the whole long range with a fixed set of 512 buckets.
+ * Recording is lock-free: every bucket is a {@link LongAdder}.
+ */
+public final class Histogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    /** @param value the value to record, negative values count as 0 */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        buckets[index(v)].increment();
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /** Record the time elapsed since a {@link System#nanoTime()} start. */
+    public void recordSince(long startNanos) { record(System.nanoTime() - startNanos); }
+
+    public long getCount() { return count.sum(); }
+    public long getMax() { return max.get(); }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / (double) n;
+    }
+
+    /**
+     * @param quantile in [0, 1]
+     * @return upper bound of the bucket holding the quantile, 0 when empty
+     */
+    public long getPercentile(double quantile) {
+        long n = count.sum();
+        if (n == 0) return 0;
+        long rank = (long) Math.ceil(quantile * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= Math.max(1, rank)) return Math.min(upperBound(i), getMax());
+        }
+        return getMax();
+    }
+
+    // values below SUB_BUCKETS get their own bucket, then SUB_BUCKETS per power of two
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        long lower = (1L << exponent) + (sub << (exponent - SUB_BITS));
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
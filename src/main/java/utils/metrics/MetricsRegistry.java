@@ -0,0 +1,140 @@
+package utils.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+
+/**
+ * Named {@link Counter}s, {@link Gauge}s and {@link Histogram}s of the
+ * application, each exposed as a JMX MBean under the domain
+ * {@value #DOMAIN} (e.g. {@code tresette:type=Histogram,name=deal.duration})
+ * so they can be read with JConsole or any JMX agent.
+ *
+ * Metrics are created on first use and then cached by the caller; recording
+ * never takes a lock.
+ */
+public final class MetricsRegistry {
+    public static final String DOMAIN = "tresette";
+
+    private static final MetricsRegistry SHARED = new MetricsRegistry(true);
+
+    private final boolean jmx;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * @param jmx whether metrics are registered in the platform MBean server
+     */
+    public MetricsRegistry(boolean jmx) { this.jmx = jmx; }
+
+    /** The registry of the application, exposed over JMX. */
+    public static MetricsRegistry shared() { return SHARED; }
+
+    /** @return the counter with the given name, created if needed */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> expose("Counter", n, new Counter(), Map.of(
+            "Count", c -> c.getCount(),
+            "RatePerSecond", c -> c.getRatePerSecond())));
+    }
+
+    /** @return the histogram with the given name, created if needed */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> expose("Histogram", n, new Histogram(), Map.of(
+            "Count", h -> h.getCount(),
+            "Mean", h -> h.getMean(),
+            "P50", h -> h.getPercentile(0.50),
+            "P95", h -> h.getPercentile(0.95),
+            "P99", h -> h.getPercentile(0.99),
+            "Max", h -> h.getMax())));
+    }
+
+    /**
+     * Register a gauge, replacing a previous one with the same name.
+     * @param name the metric name
+     * @param gauge the value source, read on demand
+     */
+    public void gauge(String name, Gauge gauge) {
+        if (gauges.put(name, gauge) == null) {
+            expose("Gauge", name, this, Map.of("Value", r -> r.gauges.get(name).value()));
+        }
+    }
+
+    public Map<String, Counter> getCounters() { return Map.copyOf(counters); }
+    public Map<String, Histogram> getHistograms() { return Map.copyOf(histograms); }
+    public Map<String, Gauge> getGauges() { return Map.copyOf(gauges); }
+
+    // ------------------ JMX ------------------
+    private <T> T expose(String type, String name, T metric, Map<String, Function<T, Object>> attributes) {
+        if (!jmx) return metric;
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(objectName)) server.registerMBean(new MetricBean<>(metric, attributes), objectName);
+        } catch (JMException ex) {
+            System.err.println("Cannot expose metric " + name + " over JMX: " + ex.getMessage());
+        }
+        return metric;
+    }
+
+    /** Read-only MBean whose attributes are computed from one metric. */
+    private static final class MetricBean<T> implements DynamicMBean {
+        private final T metric;
+        private final Map<String, Function<T, Object>> attributes;
+
+        MetricBean(T metric, Map<String, Function<T, Object>> attributes) {
+            this.metric = metric;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Function<T, Object> reader = attributes.get(attribute);
+            if (reader == null) throw new AttributeNotFoundException(attribute);
+            return reader.apply(metric);
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            AttributeList list = new AttributeList();
+            for (String name : names) {
+                Function<T, Object> reader = attributes.get(name);
+                if (reader != null) list.add(new Attribute(name, reader.apply(metric)));
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) {
+            throw new UnsupportedOperationException("Metrics are read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) { return new AttributeList(); }
+
+        @Override
+        public Object invoke(String action, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException("Metrics have no operations");
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            MBeanAttributeInfo[] infos = attributes.keySet().stream().sorted()
+                .map(name -> new MBeanAttributeInfo(name, name.equals("Count") || name.equals("Max")
+                                                    || name.startsWith("P") ? "long" : "double",
+                                                    name, true, false, false))
+                .toArray(MBeanAttributeInfo[]::new);
+            return new MBeanInfo(metric.getClass().getName(), "TreSette metric", infos, null, null, null);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.awt.*;
 public class BackgroundLayer extends JPanel {
     private float darkenAlpha = 0.32f; 
     private Image background;
+    private final LayerCache layer = new LayerCache(this::paintLayer);
     /** Default constructor 
      *  Initializes the background layer with the default table image
     */
@@ -23,24 +24,31 @@ public class BackgroundLayer extends JPanel {
         load(path);
     }
 
-    /** Paints the background image and applies a darkening overlay if needed */
+    /** Paints the background image with its darkening overlay.
+     *  Both are composited once into a cached layer, rebuilt only on resize.
+     */
     @Override 
     protected void paintComponent(Graphics graphics) {
         super.paintComponent(graphics); 
         if (background != null) {
             // create a copy of the Graphics object
             Graphics2D g2 = (Graphics2D) graphics.create();
-            // draw the background image at its size
-            g2.drawImage(background, 0, 0, this);
-            // if a darkening factor is set, paint a translucent black rectangle over the image
+            layer.paint(g2, getWidth(), getHeight());
+            // dispose the copy to free resources and avoid side-effects
+            g2.dispose();
+        }
+    }
+
+    /* Renders the cached layer: the image at its size and the darken overlay */
+    private void paintLayer(Graphics2D g2, int width, int height) {
+        // draw the background image at its size
+        g2.drawImage(background, 0, 0, null);
+        // if a darkening factor is set, paint a translucent black rectangle over the image
         if (darkenAlpha > 0f) {
             // convert alpha to a value between 0 and 255
             int alpha = (int) (darkenAlpha * 255);
             g2.setColor(new Color(0, 0, 0, alpha));
-            g2.fillRect(0, 0, getWidth(), getHeight()); // darker overlay
-            }
-            // dispose the copy to free resources and avoid side-effects
-        g2.dispose();
+            g2.fillRect(0, 0, width, height); // darker overlay
         }
     }
 
@@ -67,5 +75,6 @@ public class BackgroundLayer extends JPanel {
 
     private void load(String path) {
         background = ImageResources.load(path);
+        layer.invalidate();
     }
 }
@@ -0,0 +1,157 @@
+package view.common;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+import model.cards.Card;
+import model.cards.CardSuit;
+import model.cards.CardValue;
+import view.LayoutConstant;
+
+/**
+ * Card images pre-scaled once for the screen they are painted on.
+ *
+ * The atlas decodes the 40 card faces and the back through
+ * {@link ImageResources}, scales them to {@link LayoutConstant#CARD_W} x
+ * {@link LayoutConstant#CARD_H} times the device scale (HiDPI) and renders
+ * them, plus the back rotated both ways, into images compatible with the
+ * {@link GraphicsConfiguration}, which Java2D keeps in accelerated memory.
+ * Painting a card is then a straight blit instead of a rescale of the full
+ * size PNG.
+ *
+ * {@link #of(Graphics2D)} returns the atlas matching the graphics being
+ * painted and builds a new one when the screen or its scale changes (window
+ * moved to another monitor, DPI change).
+ */
+public final class CardSpriteAtlas {
+    /** Rotation of a card back sprite. */
+    public enum Rotation { NONE, CLOCKWISE, COUNTER_CLOCKWISE }
+
+    private static volatile CardSpriteAtlas current;
+
+    private final GraphicsConfiguration configuration;
+    private final double scaleX;
+    private final double scaleY;
+    private final Map<String, Image> faces = new HashMap<>();
+    private final Image[] backs = new Image[Rotation.values().length];
+
+    private CardSpriteAtlas(GraphicsConfiguration configuration, double scaleX, double scaleY) {
+        this.configuration = configuration;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        int w = (int) Math.round(LayoutConstant.CARD_W * scaleX);
+        int h = (int) Math.round(LayoutConstant.CARD_H * scaleY);
+        for (CardSuit suit : CardSuit.values()) {
+            for (CardValue value : CardValue.values()) {
+                String code = new Card(suit, value).getCode();
+                Image face = sprite(ImageResources.load("images/cards/" + code + ".png"), w, h);
+                if (face != null) faces.put(code, face);
+            }
+        }
+        Image back = sprite(ImageResources.load(LayoutConstant.BACK_IMG), w, h);
+        backs[Rotation.NONE.ordinal()] = back;
+        backs[Rotation.CLOCKWISE.ordinal()] = rotate(back, w, h, Math.PI / 2);
+        backs[Rotation.COUNTER_CLOCKWISE.ordinal()] = rotate(back, w, h, -Math.PI / 2);
+    }
+
+    /**
+     * @param g the graphics being painted
+     * @return the atlas for its device and scale, built if needed
+     */
+    public static CardSpriteAtlas of(Graphics2D g) {
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        AffineTransform transform = gc.getDefaultTransform();
+        double sx = transform.getScaleX();
+        double sy = transform.getScaleY();
+        CardSpriteAtlas atlas = current;
+        if (atlas == null || atlas.configuration != gc || atlas.scaleX != sx || atlas.scaleY != sy) {
+            synchronized (CardSpriteAtlas.class) {
+                atlas = current;
+                if (atlas == null || atlas.configuration != gc || atlas.scaleX != sx || atlas.scaleY != sy) {
+                    atlas = new CardSpriteAtlas(gc, sx, sy);
+                    current = atlas;
+                }
+            }
+        }
+        return atlas;
+    }
+
+    /**
+     * Build the atlas of the default screen ahead of the first paint.
+     */
+    public static void preload() {
+        if (GraphicsEnvironment.isHeadless()) return;
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                                                      .getDefaultScreenDevice().getDefaultConfiguration();
+        BufferedImage probe = gc.createCompatibleImage(1, 1);
+        Graphics2D g = probe.createGraphics();
+        try {
+            of(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** @return the face of a card code (e.g. ASSO_SPADE), or null if unknown */
+    public Image face(String code) { return faces.get(code); }
+
+    /** @return the card back with the given rotation, or null if missing */
+    public Image back(Rotation rotation) { return backs[rotation.ordinal()]; }
+
+    /**
+     * Draw a sprite at logical size: at scale 1 this is a plain blit, on
+     * HiDPI screens the sprite already has the device resolution.
+     */
+    public static void draw(Graphics2D g, Image sprite, int x, int y, int w, int h) {
+        if (sprite.getWidth(null) == w && sprite.getHeight(null) == h) g.drawImage(sprite, x, y, null);
+        else g.drawImage(sprite, x, y, w, h, null);
+    }
+
+    // ------------------ Sprite building ------------------
+    private Image sprite(Image source, int w, int h) {
+        if (source == null) return null;
+        Image scaled = source;
+        int sw = source.getWidth(null);
+        int sh = source.getHeight(null);
+        // halve progressively: a single bilinear step from far away loses detail
+        while (sw / 2 >= w && sh / 2 >= h) {
+            sw /= 2;
+            sh /= 2;
+            scaled = render(scaled, sw, sh, null);
+        }
+        return render(scaled, w, h, configuration);
+    }
+
+    private Image rotate(Image sprite, int w, int h, double angle) {
+        if (sprite == null) return null;
+        BufferedImage rotated = configuration.createCompatibleImage(h, w, Transparency.TRANSLUCENT);
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.translate(h / 2.0, w / 2.0);
+            g.rotate(angle);
+            g.translate(-w / 2.0, -h / 2.0);
+            g.drawImage(sprite, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+
+    private static BufferedImage render(Image source, int w, int h, GraphicsConfiguration gc) {
+        BufferedImage target = gc != null
+            ? gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+            : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
@@ -14,6 +14,9 @@ public final class ImageResources {
     public static final String WOOD = "images/legno.png";
     public static final String LOGO = "images/Tre_Sette.png";
     public static final String WHITE_LOGO = "images/Tre_Sette_white.png";
+    static {
+        ImageIO.setUseCache(false); // decode in memory, no temporary files
+    }
     /** private constructor to prevent instantiation */
     private ImageResources() {}
     /** Loads an image from the resources 
@@ -21,7 +24,13 @@ public final class ImageResources {
     */
     public static Image load(String path) {
         if (path == null || path.isBlank()) return null;
-        return imagesCache.computeIfAbsent(path, ImageResources::loadImageFromPath);
+        Image cached = imagesCache.get(path);
+        if (cached != null) return cached;
+        // decode outside the map: the preloader decodes many images in parallel
+        Image img = loadImageFromPath(path);
+        if (img == null) return null;
+        Image previous = imagesCache.putIfAbsent(path, img);
+        return previous != null ? previous : img;
     }
 
     private static Image loadImageFromPath(String path) {
@@ -0,0 +1,120 @@
+package view.common;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Cached rendering of a static layer of a component.
+ *
+ * The layer is painted once into an accelerated {@link VolatileImage} at the
+ * resolution of the screen (HiDPI included) and then only blitted. It is
+ * painted again when {@link #invalidate()} is called (content changed), when
+ * the size, screen or scale change, or when the video memory behind the
+ * image was lost. When volatile images are not available (printing,
+ * off-screen or headless rendering) a {@link BufferedImage} is used instead.
+ */
+public final class LayerCache {
+    /** Paints the layer in logical coordinates, on a cleared transparent surface. */
+    @FunctionalInterface
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private final Painter painter;
+    private VolatileImage accelerated;
+    private BufferedImage fallback;
+    private GraphicsConfiguration configuration;
+    private double scaleX;
+    private double scaleY;
+    private int width;
+    private int height;
+    private boolean dirty = true;
+
+    /**
+     * @param painter renders the content of the layer
+     */
+    public LayerCache(Painter painter) {
+        this.painter = painter;
+    }
+
+    /** The content changed: paint the layer again on the next {@link #paint}. */
+    public void invalidate() { dirty = true; }
+
+    /** Release the images (they are rebuilt on demand). */
+    public void flush() {
+        if (accelerated != null) accelerated.flush();
+        accelerated = null;
+        fallback = null;
+        dirty = true;
+    }
+
+    /**
+     * Draw the layer at (0, 0) with the given logical size, rendering it
+     * first if needed.
+     */
+    public void paint(Graphics2D g, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        AffineTransform transform = gc.getDefaultTransform();
+        if (gc != configuration || transform.getScaleX() != scaleX || transform.getScaleY() != scaleY
+                || width != this.width || height != this.height) {
+            flush();
+            configuration = gc;
+            scaleX = transform.getScaleX();
+            scaleY = transform.getScaleY();
+            this.width = width;
+            this.height = height;
+        }
+        int pixelW = (int) Math.ceil(width * scaleX);
+        int pixelH = (int) Math.ceil(height * scaleY);
+        if (gc.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) {
+            paintBuffered(g, pixelW, pixelH);
+            return;
+        }
+        do {
+            if (accelerated == null) {
+                accelerated = gc.createCompatibleVolatileImage(pixelW, pixelH, Transparency.TRANSLUCENT);
+                dirty = true;
+            }
+            int status = accelerated.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                accelerated.flush();
+                accelerated = gc.createCompatibleVolatileImage(pixelW, pixelH, Transparency.TRANSLUCENT);
+                dirty = true;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                dirty = true;
+            }
+            if (dirty) {
+                render(accelerated.createGraphics());
+                dirty = false;
+            }
+            g.drawImage(accelerated, 0, 0, width, height, null);
+        } while (accelerated.contentsLost());
+    }
+
+    private void paintBuffered(Graphics2D g, int pixelW, int pixelH) {
+        if (fallback == null) {
+            fallback = new BufferedImage(pixelW, pixelH, BufferedImage.TYPE_INT_ARGB_PRE);
+            dirty = true;
+        }
+        if (dirty) {
+            render(fallback.createGraphics());
+            dirty = false;
+        }
+        g.drawImage(fallback, 0, 0, width, height, null);
+    }
+
+    private void render(Graphics2D g) {
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, (int) Math.ceil(width * scaleX), (int) Math.ceil(height * scaleY));
+            g.setComposite(AlphaComposite.SrcOver);
+            g.scale(scaleX, scaleY);
+            painter.paint(g, width, height);
+        } finally {
+            g.dispose();
+        }
+    }
+}
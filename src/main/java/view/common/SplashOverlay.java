@@ -5,15 +5,24 @@ import javax.swing.*; // Swing UI toolkit
 import java.awt.*; // AWT for graphics and events
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
+import java.util.function.DoubleSupplier;
 
-/** Startup splash: shows logo, waits, fades out, then calls callback */
+/** Startup splash: shows logo and the loading progress, then calls callback */
 public class SplashOverlay extends JComponent {
+    private static final int BAR_W = 260;
+    private static final int BAR_H = 4;
+    private static final Color BAR_TRACK = new Color(255, 255, 255, 60);
     private final Image logo; 
     private float alpha = 1f; // logo opacity
     private final Runnable onFinished; // action to run when splash finishes (provided by the main)
-    private final Timer lifeTimer; // timer for the fixed display time
-    /** the splash overlay */
-    public SplashOverlay(Runnable onFinished) {
+    private final DoubleSupplier progress; // loading progress in [0, 1]
+    private final Timer progressTimer; // repaints the progress bar while loading
+    /** the splash overlay
+     * @param progress supplier of the loading progress, in [0, 1]
+     * @param onFinished action run on {@link #dismiss()}
+     */
+    public SplashOverlay(DoubleSupplier progress, Runnable onFinished) {
+        this.progress = progress;
         this.onFinished = onFinished;
         setOpaque(false);
         // Load white logo, fallback to colored logo; fully materialized
@@ -21,22 +30,27 @@ public class SplashOverlay extends JComponent {
         if (img == null) img = ImageResources.load(ImageResources.LOGO);
         this.logo = img;
         AudioManager.playIntro();
-        // show splash for 3000 ms, then remove splash and call callback
-        lifeTimer = new Timer(3000, new ActionListener() {
+        progressTimer = new Timer(40, new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent event) {
-                if (onFinished != null)
-                    onFinished.run();
-                Container parent = getParent();
-                if (parent != null) {
-                    parent.remove(SplashOverlay.this);
-                    parent.revalidate();
-                    parent.repaint();
-                }
+                repaint();
             }
         });
-        lifeTimer.setRepeats(false);
-        lifeTimer.start();
+        progressTimer.start();
+    }
+
+    /** Loading finished: remove the splash and call the callback (on the EDT). */
+    public void dismiss() {
+        if (!progressTimer.isRunning()) return; // already dismissed
+        progressTimer.stop();
+        if (onFinished != null)
+            onFinished.run();
+        Container parent = getParent();
+        if (parent != null) {
+            parent.remove(SplashOverlay.this);
+            parent.revalidate();
+            parent.repaint();
+        }
     }
 
     /**
@@ -63,6 +77,13 @@ public class SplashOverlay extends JComponent {
                 g2.drawImage(logo, x, y, lw, lh, this); 
             }
         }
+        // progress bar centered in the lower part of the screen
+        int barX = (w - BAR_W) / 2;
+        int barY = h - h / 6;
+        g2.setColor(BAR_TRACK);
+        g2.fillRect(barX, barY, BAR_W, BAR_H);
+        g2.setColor(Color.WHITE);
+        g2.fillRect(barX, barY, (int) (BAR_W * Math.max(0, Math.min(1, progress.getAsDouble()))), BAR_H);
         g2.dispose(); 
     }
 }
\ No newline at end of file
@@ -2,23 +2,23 @@ package view.game;
 
 import controller.ViewEvent;
 import model.events.DealSnapshot;
-import view.common.ImageResources;
+import view.common.CardSpriteAtlas;
 
 import javax.swing.JComponent;
 import java.awt.*;
-import static view.LayoutConstant.BACK_IMG;
 
 /**
  * Shows hidden (back) cards for an opponent in one of three orientations.
- * Only displays count (no real ranks). Rotates image for LEFT/RIGHT columns.
+ * Only displays count (no real ranks). LEFT/RIGHT columns use the rotated
+ * back of the {@link CardSpriteAtlas}.
  */
 public class BotHandComponent extends JComponent {
     // Local bot-hand layout constants
     private static final int OVERLAP = 18;
     private static final int BOT_CARD_W = view.LayoutConstant.CARD_W;
     private static final int BOT_CARD_H = view.LayoutConstant.CARD_H;
+    private static final Color FALLBACK_FILL = new Color(30, 30, 30, 160);
     public enum Orientation { TOP, LEFT, RIGHT }
-    private final Image backImage;
 
     private final String playerId;
     private final Orientation orientation;
@@ -28,7 +28,6 @@ public class BotHandComponent extends JComponent {
         this.playerId = playerId;
         this.orientation = orientation;
         setOpaque(false);
-        this.backImage = ImageResources.load(BACK_IMG);
     }
 
     /** Returns the id of the player this view represents. */
@@ -74,26 +73,29 @@ public class BotHandComponent extends JComponent {
             g2.dispose();
             return;
         }
+        CardSpriteAtlas atlas = CardSpriteAtlas.of(g2);
         if(orientation == Orientation.TOP){
             int startX = 10;
             int y = (getHeight()-BOT_CARD_H)/2;
+            Image back = atlas.back(CardSpriteAtlas.Rotation.NONE);
             for(int i=0;i<cardCount;i++){
-                drawBack(g2, startX + i*OVERLAP, y, false);
+                drawBack(g2, back, startX + i*OVERLAP, y, false);
             }
         } else {
             int startY = 10;
             int x = (getWidth()-BOT_CARD_H)/2;
+            Image back = atlas.back(CardSpriteAtlas.Rotation.CLOCKWISE);
             for(int i=0;i<cardCount;i++){
-                drawBack(g2, x, startY + i*OVERLAP, true);
+                drawBack(g2, back, x, startY + i*OVERLAP, true);
             }
         }
         g2.dispose();
     }
 
-    /* Draws a single card back with image or fallback. */
-    private void drawBack(Graphics2D g2, int x, int y, boolean rotate){
+    /* Draws a single card back with the atlas sprite or fallback. */
+    private void drawBack(Graphics2D g2, Image backImage, int x, int y, boolean rotate){
     if(backImage==null){ // fallback rectangle
-            g2.setColor(new Color(30,30,30,160));
+            g2.setColor(FALLBACK_FILL);
             if(!rotate){
                 g2.fillRoundRect(x,y,BOT_CARD_W,BOT_CARD_H,12,12);
                 g2.setColor(Color.WHITE); g2.drawRoundRect(x+1,y+1,BOT_CARD_W-2,BOT_CARD_H-2,12,12);
@@ -105,17 +107,10 @@ public class BotHandComponent extends JComponent {
             return;
         }
         if(!rotate){
-            g2.drawImage(backImage, x, y, BOT_CARD_W, BOT_CARD_H, this);
+            CardSpriteAtlas.draw(g2, backImage, x, y, BOT_CARD_W, BOT_CARD_H);
         } else {
-        // rotate around card center
-            int cx = x + BOT_CARD_H/2; // width dopo rotazione
-            int cy = y + BOT_CARD_W/2;
-            g2.rotate(Math.toRadians(90), cx, cy);
-        // after rotation draw original image centered
-            int drawX = cx - BOT_CARD_W/2;
-            int drawY = cy - BOT_CARD_H/2;
-            g2.drawImage(backImage, drawX, drawY, BOT_CARD_W, BOT_CARD_H, this);
-            g2.rotate(Math.toRadians(-90), cx, cy);
+            // the sprite is already rotated: width and height are swapped
+            CardSpriteAtlas.draw(g2, backImage, x, y, BOT_CARD_H, BOT_CARD_W);
         }
     }
 }
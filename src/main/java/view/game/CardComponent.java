@@ -1,13 +1,20 @@
 package view.game;
 
+import view.common.CardSpriteAtlas;
 import view.common.ImageResources;
 import javax.swing.*;
 import java.awt.*;
 
-/** Simple graphic representation of a card (front) */
+/** Simple graphic representation of a card (front), blitted from the {@link CardSpriteAtlas} */
 public class CardComponent extends JComponent {
+    // paint resources, shared by every card
+    private static final Color GLOW = new Color(255, 255, 150, 140);
+    private static final Color HIGHLIGHT = new Color(255, 215, 0, 200);
+    private static final Color FALLBACK_FILL = new Color(255, 255, 255, 200);
+    private static final Font FALLBACK_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Stroke HIGHLIGHT_STROKE = new BasicStroke(3f);
+
     private final String code; // machine code, e.g. ASSO_SPADE
-    private Image img;
     private boolean highlighted;
 
     /**
@@ -18,7 +25,7 @@ public class CardComponent extends JComponent {
         setToolTipText(code);
         setPreferredSize(new Dimension(view.LayoutConstant.CARD_W, view.LayoutConstant.CARD_H));
         setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-        loadImage();
+        checkImage();
     }
 
     /**
@@ -42,18 +49,19 @@ public class CardComponent extends JComponent {
         // Glow and highlight background
         if (highlighted) {
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setColor(new Color(255, 255, 150, 140));
+            g2.setColor(GLOW);
             g2.fillRoundRect(-2, -2, w + 4, h + 4, 16, 16);
         }
 
+        Image img = CardSpriteAtlas.of(g2).face(code);
         if (img != null) {
-            g2.drawImage(img, 0, 0, w, h, this);
+            CardSpriteAtlas.draw(g2, img, 0, 0, w, h);
         } else {
-            g2.setColor(new Color(255, 255, 255, 200));
+            g2.setColor(FALLBACK_FILL);
             g2.fillRoundRect(0, 0, w - 1, h - 1, 12, 12);
             g2.setColor(Color.BLACK);
             g2.drawRoundRect(0, 0, w - 1, h - 1, 12, 12);
-            g2.setFont(new Font("SansSerif", Font.BOLD, 12));
+            g2.setFont(FALLBACK_FONT);
             String shortTxt = code.replace("_", "\n");
             int y = 18;
             for (String line : shortTxt.split("\n")) {
@@ -62,9 +70,9 @@ public class CardComponent extends JComponent {
             }
         }
         if (highlighted) {
-            g2.setColor(new Color(255, 215, 0, 200));
+            g2.setColor(HIGHLIGHT);
             Stroke old = g2.getStroke();
-            g2.setStroke(new BasicStroke(3f));
+            g2.setStroke(HIGHLIGHT_STROKE);
             g2.drawRoundRect(1, 1, w - 3, h - 3, 14, 14);
             g2.setStroke(old);
         }
@@ -72,18 +80,16 @@ public class CardComponent extends JComponent {
     }
 
     public String getCode(){ return code; }
-    private void loadImage(){
+    private void checkImage(){
     /**
-     * Loads the image for the card matching the code.
+     * Checks the image for the card matching the code exists (decoded once by
+     * ImageResources); painting uses the pre-scaled atlas sprite.
      * Throws RuntimeException if the image is not found.
      */
         if (!code.contains("_")) return; // not right format
         String filename = code + ".png";
         String path = "images/cards/" + filename;
-        Image candidate = ImageResources.load(path);
-        if (candidate != null)
-            img = candidate;
-        else
+        if (ImageResources.load(path) == null)
             throw new RuntimeException("[CardView] Missing image for " + code + " tried=" + path);
     }
 
@@ -0,0 +1,74 @@
+package view.game;
+
+import java.awt.Container;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps the {@link CardComponent}s of one panel alive across snapshots.
+ *
+ * {@link #reconcile} makes the children of a container match a list of card
+ * codes: cards still present are kept (and reordered if needed), only the
+ * new ones are taken from the pool and only the missing ones are removed and
+ * returned to it. Card codes are unique, so the pool keeps at most one idle
+ * component per card and never grows past the 40 cards of the deck.
+ */
+final class CardComponentPool {
+    private final Function<String, CardComponent> factory;
+    private final Map<String, CardComponent> idle = new HashMap<>();
+
+    /**
+     * @param factory creates a component for a code the first time it is needed
+     *        (listeners are attached there, once)
+     */
+    CardComponentPool(Function<String, CardComponent> factory) {
+        this.factory = factory;
+    }
+
+    CardComponent acquire(String code) {
+        CardComponent card = idle.remove(code);
+        return card != null ? card : factory.apply(code);
+    }
+
+    void release(CardComponent card) {
+        card.setHighlighted(false);
+        idle.put(card.getCode(), card);
+    }
+
+    /**
+     * Update the children of a container holding only card components.
+     * @param parent the container
+     * @param codes the card codes to show, in order
+     * @return true if a child was added, removed or moved
+     */
+    boolean reconcile(Container parent, List<String> codes) {
+        boolean changed = false;
+        for (int i = parent.getComponentCount() - 1; i >= 0; i--) {
+            CardComponent card = (CardComponent) parent.getComponent(i);
+            if (!codes.contains(card.getCode())) {
+                parent.remove(i);
+                release(card);
+                changed = true;
+            }
+        }
+        for (int i = 0; i < codes.size(); i++) {
+            String code = codes.get(i);
+            if (i < parent.getComponentCount() && ((CardComponent) parent.getComponent(i)).getCode().equals(code)) continue;
+            CardComponent existing = find(parent, code, i + 1);
+            if (existing != null) parent.setComponentZOrder(existing, i); // move, keeps listeners and peer
+            else parent.add(acquire(code), i);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static CardComponent find(Container parent, String code, int from) {
+        for (int i = from; i < parent.getComponentCount(); i++) {
+            CardComponent card = (CardComponent) parent.getComponent(i);
+            if (card.getCode().equals(code)) return card;
+        }
+        return null;
+    }
+}
@@ -32,6 +32,10 @@ final class EventMessageFormatter {
                 default -> "fa un segno"; };
             return signMade.playerName() +" "+ action;
         }
+        if(event instanceof DealClaimed dealClaimed){
+            if(dealClaimed.playerName() == null) return "Le prese restanti sono già decise";
+            return dealClaimed.playerName()+" reclama le prese restanti";
+        }
         if(event instanceof TrickEnded trickEnded){
             DealSnapshot snap = trickEnded.snapshot();
             if(snap!=null){
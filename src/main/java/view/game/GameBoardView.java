@@ -2,6 +2,7 @@ package view.game;
 
 import controller.ViewEvent;
 import model.events.DealSnapshot;
+import view.common.LayerCache;
 
 import javax.swing.*;
 import java.awt.*;
@@ -124,24 +125,37 @@ class GameBoardView extends JLayeredPane {
     }
 
     /** Public Methods to interact with the game board
-     * Forward a view event to child components and emit a short
-     * user message to the event message consumer.
+     * Emit the short user message of a view event. Called for every event,
+     * even when its state is superseded within the same frame.
      *
-     * @param event the view event to handle (may be null)
+     * @param event the view event to announce
      */
-    public void onEvent(ViewEvent event){
-        if(tableBox != null) tableBox.onEvent(event);
-        if(leftBox != null) leftBox.onEvent(event);
-        if(rightBox != null) rightBox.onEvent(event);
-        if(topBox != null) topBox.onEvent(event);
+    public void announce(ViewEvent event){
         String message = messageFormatter.format(event);
         if(message != null) eventMessageConsumer.accept(message);
     }
+
+    /**
+     * Apply the latest state of a frame to the child components.
+     * The table only follows the deal flow events, the other components
+     * follow any event carrying a snapshot.
+     *
+     * @param flowEvent the last deal flow event of the frame (may be null)
+     * @param latest the last event of the frame carrying a snapshot (may be null)
+     */
+    public void applyState(ViewEvent flowEvent, ViewEvent latest){
+        if(tableBox != null && flowEvent != null) tableBox.onEvent(flowEvent);
+        if(latest == null) return;
+        if(leftBox != null) leftBox.onEvent(latest);
+        if(rightBox != null) rightBox.onEvent(latest);
+        if(topBox != null) topBox.onEvent(latest);
+        updateSnapshot(extractSnapshot(latest));
+    }
     
     /**
-     * Update the entire visual state from a {@link DealSnapshot}.
-     * Child components (won piles, table contents) are refreshed and a layout
-     * pass is scheduled.
+     * Update the won piles and the deal index from a {@link DealSnapshot}.
+     * Only the components whose content changed revalidate and repaint
+     * themselves, the board is not repainted as a whole.
      *
      * @param snap the snapshot describing the current deal; if null the method is a no-op
      */
@@ -150,8 +164,6 @@ class GameBoardView extends JLayeredPane {
         for(WonPileComponent pile : wonPiles.values())
             pile.updateFromSnapshot(snap);
         dealIndexLabel.setText("Mano n° " + (snap.getDealIndex() + 1));
-        revalidate();
-        repaint();
     }
     /** Relayout and positioning methods */
     /* Relayout all components */
@@ -160,8 +172,7 @@ class GameBoardView extends JLayeredPane {
         positionPlayerBoxes();
         positionWonPiles();
         positionNameLabels();
-        positionDealIndexLabel();
-        repaint();
+        positionDealIndexLabel(); // moved children repaint their old and new bounds
     }
 
     private void positionTableBox(){  
@@ -286,8 +297,15 @@ class GameBoardView extends JLayeredPane {
      */
     public DealSnapshot extractSnapshot(ViewEvent event) { return SnapshotUtil.extract(event); }
 
-    /** Class to represent a small label to display players names */
+    /** Class to represent a small label to display players names.
+     *  The rounded tag is rendered once into a {@link LayerCache} and redrawn
+     *  only when its text, font, colour or size change.
+     */
     private static class NameTag extends JLabel {
+        private static final Color TAG_FILL = new Color(0, 0, 0, 140);     // semi-transparent black
+        private static final Color TAG_BORDER = new Color(255, 255, 255, 160);
+        private final LayerCache layer = new LayerCache(this::paintTag);
+
         NameTag(String text) {
             super(text);
             setFont(new Font("SansSerif", Font.BOLD, 14));
@@ -295,29 +313,51 @@ class GameBoardView extends JLayeredPane {
             setOpaque(false);
         }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        Graphics2D g2 = (Graphics2D) g.create();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        int w = getWidth();
-        int h = getHeight();
-        g2.setColor(new Color(0, 0, 0, 140)); // semi-transparent black for the rounded rectangle
-        g2.fillRoundRect(0, 0, w, h, 14, 14); // round rectangle
-        g2.setColor(new Color(255, 255, 255, 160)); // white for border
-        g2.drawRoundRect(0, 0, w - 1, h - 1, 14, 14); // round rectangle border
-        FontMetrics fontMetrics = g2.getFontMetrics();
-        int textX = (w - fontMetrics.stringWidth(getText())) / 2;
-        int textY = (h - fontMetrics.getHeight()) / 2 + fontMetrics.getAscent();
-        g2.setColor(getForeground());
-        g2.drawString(getText(), textX, textY);
-        g2.dispose();
-    }
+        @Override
+        public void setText(String text) {
+            super.setText(text);
+            if (layer != null) layer.invalidate(); // null while the JLabel constructor runs
+        }
 
-    @Override
-    public Dimension getPreferredSize() { 
-        FontMetrics fontMetrics = getFontMetrics(getFont());
-        Dimension dim = new Dimension(fontMetrics.stringWidth(getText()) + 16, fontMetrics.getHeight() + 6); // considering extra space (16 and 6)
-        return dim;
+        @Override
+        public void setFont(Font font) {
+            super.setFont(font);
+            if (layer != null) layer.invalidate();
+        }
+
+        @Override
+        public void setForeground(Color color) {
+            super.setForeground(color);
+            if (layer != null) layer.invalidate();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            layer.paint(g2, getWidth(), getHeight());
+            g2.dispose();
+        }
+
+        private void paintTag(Graphics2D g2, int w, int h) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(TAG_FILL);
+            g2.fillRoundRect(0, 0, w, h, 14, 14); // round rectangle
+            g2.setColor(TAG_BORDER); // white for border
+            g2.drawRoundRect(0, 0, w - 1, h - 1, 14, 14); // round rectangle border
+            g2.setFont(getFont());
+            FontMetrics fontMetrics = g2.getFontMetrics();
+            int textX = (w - fontMetrics.stringWidth(getText())) / 2;
+            int textY = (h - fontMetrics.getHeight()) / 2 + fontMetrics.getAscent();
+            g2.setColor(getForeground());
+            g2.drawString(getText(), textX, textY);
+        }
+
+        @Override
+        public Dimension getPreferredSize() { 
+            FontMetrics fontMetrics = getFontMetrics(getFont());
+            Dimension dim = new Dimension(fontMetrics.stringWidth(getText()) + 16, fontMetrics.getHeight() + 6); // considering extra space (16 and 6)
+            return dim;
         }
     }
 }
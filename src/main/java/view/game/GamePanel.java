@@ -3,10 +3,10 @@ package view.game;
 import controller.GameController;
 import controller.ViewEvent.*;
 import controller.ViewEvent;
-import model.events.DealSnapshot;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
@@ -32,6 +32,7 @@ public class GamePanel extends JPanel implements Observer {
     private final HumanHandPanel humanBar;
     private PauseOverlay pauseOverlay; 
     private final ScorePopupLayer scorePopupLayer; 
+    private final UiUpdateScheduler updates = new UiUpdateScheduler(this::applyFrame);
 
     /**
      * Create a GamePanel wired to a controller and player names.
@@ -52,7 +53,7 @@ public class GamePanel extends JPanel implements Observer {
         add(boardView, BorderLayout.CENTER); 
         humanBar = new HumanHandPanel(controller, message -> topBar.pushEvent(message));
         add(humanBar, BorderLayout.SOUTH);
-        scorePopupLayer = new ScorePopupLayer(controller, backToMenu, (a,b)-> topBar.setScores(a,b));
+        scorePopupLayer = new ScorePopupLayer(controller, this::leaveGame, (a,b)-> topBar.setScores(a,b));
         boardView.add(scorePopupLayer, POPUP_LAYER);
         scorePopupLayer.setBounds(0, 0, boardView.getWidth(), boardView.getHeight());
 
@@ -83,12 +84,8 @@ public class GamePanel extends JPanel implements Observer {
 
             @Override
             public void onMainMenu() {
-                controller.stopGame();
                 hideOverlay();
-                if (backToMenu != null) {
-                    backToMenu.run();
-                }
-                controller.deleteObserver(GamePanel.this);       
+                leaveGame();
             }
 
             @Override
@@ -103,6 +100,20 @@ public class GamePanel extends JPanel implements Observer {
         boardView.repaint();
     }
 
+    /**
+     * Stops the game, releasing its thread and compute lanes, detaches this
+     * panel from the controller and goes back to the main menu. Used by the
+     * pause menu and by the end-of-game popup.
+     */
+    private void leaveGame() {
+        controller.stopGame();
+        if (backToMenu != null) {
+            backToMenu.run();
+        }
+        controller.deleteObserver(this);
+        updates.dispose();
+    }
+
     /** Hides the pause menu overlay */
     private void hideOverlay() {
         boardView.remove(pauseOverlay);
@@ -112,10 +123,8 @@ public class GamePanel extends JPanel implements Observer {
 
     /**
      * Observer method to be invoked by the {@code GameController}.
-     * This method receives view events and dispatches them to child components
-     * (board view, human hand and score layer). It also triggers short audio
-     * effects for important events and requests snapshot extraction and UI 
-     * updates when appropriate.
+     * The event is queued and applied with the other events of the same
+     * frame by {@link #applyFrame}; it may be called from any thread.
      *
      * @param observable the observable source (usually the controller)
      * @param arg the event object; expected to be a subtype of {@link controller.ViewEvent}
@@ -123,6 +132,45 @@ public class GamePanel extends JPanel implements Observer {
     @Override
     public void update(Observable observable, Object arg){
         if(!(arg instanceof ViewEvent event)) return;
+        updates.submit(event);
+    }
+
+    /**
+     * Apply the events of one frame. Audio effects, top bar messages and
+     * score popups are triggered for every event, while the hand, the table
+     * and the board only receive the last event that carries their state:
+     * a burst of bot moves becomes a single layout and repaint.
+     *
+     * @param events the events of the frame, in arrival order
+     */
+    private void applyFrame(List<ViewEvent> events){
+        ViewEvent flowEvent = null; // last event changing hand and table
+        ViewEvent latest = null;    // last event carrying a snapshot
+        for (ViewEvent event : events) {
+            playEffects(event);
+            boardView.announce(event);
+            scorePopupLayer.onEvent(event);
+            if (event instanceof WinEstimate estimate) {
+                topBar.setEstimate(estimate.expectedPoints().get("Team1"), estimate.winProbability().get("Team1"));
+                continue;
+            }
+            if (event instanceof DealStarted || event instanceof DealEnded) topBar.clearEstimate(); // the estimate belongs to the deal
+            if (boardView.extractSnapshot(event) == null) continue; // not all the events carry a snapshot
+            latest = event;
+            if (isDealFlow(event)) flowEvent = event;
+        }
+        if (flowEvent != null) humanBar.onEvent(flowEvent);
+        boardView.applyState(flowEvent, latest);
+    }
+
+    static boolean isDealFlow(ViewEvent event){
+        return event instanceof DealStarted || event instanceof TrickStarted ||
+               event instanceof CardPlayed || event instanceof TrickEnded ||
+               event instanceof DealEnded || event instanceof ClaimAvailable;
+    }
+
+    /* Short audio effects for the important events */
+    private void playEffects(ViewEvent event){
         if (event instanceof CardPlayed) {
             AudioManager.playPlayingCard();
         } else if (event instanceof SignMade sign) {
@@ -140,15 +188,6 @@ public class GamePanel extends JPanel implements Observer {
             if (humanWon) AudioManager.playWinner();
             else AudioManager.playGameOver();
         }
-
-        humanBar.onEvent(event);
-        boardView.onEvent(event);
-
-        DealSnapshot snap = boardView.extractSnapshot(event);
-        if (snap != null) { // not all the events will produce a snapshot
-            boardView.updateSnapshot(snap);
-        }
-        scorePopupLayer.onEvent(event);
     }
 
 }
@@ -16,6 +16,7 @@ public class GameTopPanel extends JPanel {
     private final EventBoxPanel eventBox = new EventBoxPanel();
     // Simplified inline score component replacing ScorePanel
     private final JLabel scoreLabel = new JLabel();
+    private final JLabel estimateLabel = new JLabel();
 
     /** Constructor for the GameTopBar
      *  It takes a Runnable for menu actions.
@@ -37,6 +38,8 @@ public class GameTopPanel extends JPanel {
         add(eventBox);
         styleScoreLabel();
         add(scoreLabel);
+        styleEstimateLabel();
+        add(estimateLabel);
         add(menuButton);
     }
     private void styleScoreLabel(){
@@ -48,6 +51,13 @@ public class GameTopPanel extends JPanel {
         scoreLabel.setVerticalAlignment(SwingConstants.TOP);
         scoreLabel.setSize(220, 70); // spazio per tre linee
     }
+    private void styleEstimateLabel(){
+        estimateLabel.setOpaque(false);
+        estimateLabel.setFont(new Font("Serif", Font.ITALIC, 14));
+        estimateLabel.setForeground(new Color(60,60,60));
+        estimateLabel.setHorizontalAlignment(SwingConstants.LEFT);
+        estimateLabel.setText(" "); // keeps its height before the first estimate
+    }
 
     private void styleMenuButton(){
         menuButton.setOpaque(false);
@@ -72,6 +82,8 @@ public class GameTopPanel extends JPanel {
         int top = insets.top + TOP_OFFSET; // fixed offset from top edge
         eventBox.setBounds(insets.left + width - rightD.width, top, rightD.width, rightD.height);
         scoreLabel.setBounds(insets.left, top, leftD.width, leftD.height);
+        Dimension estimateD = estimateLabel.getPreferredSize();
+        estimateLabel.setBounds(insets.left, top + leftD.height, Math.max(leftD.width, estimateD.width), estimateD.height);
 
         // Center menu button vertically relative to the taller of the two side boxes, using their shared top.
         int sideMaxH = Math.max(leftD.height, rightD.height);
@@ -91,10 +103,29 @@ public class GameTopPanel extends JPanel {
         repaint();
     }
 
+    /**
+     * Shows the live estimate for the human team.
+     * @param points expected points of the human team in this deal
+     * @param winProbability probability that the human team wins the game, NaN if unknown
+     */
+    public void setEstimate(double points, double winProbability) {
+        String odds = Double.isNaN(winProbability) ? "" : String.format(" · vittoria %.0f%%", winProbability * 100);
+        estimateLabel.setText(String.format("Stima mano: %.1f pt", points) + odds);
+        revalidate();
+        repaint();
+    }
+
+    /** Clears the estimate between deals, keeping the height of the label */
+    public void clearEstimate() {
+        estimateLabel.setText(" ");
+        repaint();
+    }
+
     @Override
     public Dimension getPreferredSize() {
         Insets insets = getInsets();
     Dimension leftD = scoreLabel.getPreferredSize();
+        leftD = new Dimension(leftD.width, leftD.height + estimateLabel.getPreferredSize().height);
         Dimension rightD = eventBox.getPreferredSize();
         Dimension menuD = menuButton.getPreferredSize();
         int sideMaxH = Math.max(leftD.height, rightD.height);
@@ -26,6 +26,7 @@ public class HumanCardsPanel extends JPanel {
     private int dragStartScreenX = 0;
     private boolean dragMoved = false;
     private boolean playPending = false; // to avoid multiple plays
+    private final CardComponentPool cards = new CardComponentPool(this::HumanCardComponent);
     /** Constructor of HumanCardsPanel,
      *  @param controller the game controller to interact with
      *  It's one of the few classes in the GUI to interact directluy
@@ -52,10 +53,8 @@ public class HumanCardsPanel extends JPanel {
      * Call this after setHand() to update the display.
      */
     public void refreshHand(){
-        removeAll(); // remove all existing card views
-        for (int i = 0; i < lastHumanHand.size(); i++) {
-            add(HumanCardComponent(lastHumanHand.get(i), i)); // add each card to the Panel
-        }
+        // reuse the card views still in hand, add or remove only the changed ones
+        if (!cards.reconcile(this, lastHumanHand)) return;
         layoutCards();
         revalidate();
         repaint();
@@ -83,14 +82,18 @@ public class HumanCardsPanel extends JPanel {
      *  <li> drag and drop for reordering cards
      *  <li> click to play a card (release without moving the mouse)
      *  <ul>
+     *  The component is pooled and can change position: its index is read
+     *  when the mouse is pressed.
      */
-    private CardComponent HumanCardComponent(String cardCode, int index){
+    private CardComponent HumanCardComponent(String cardCode){
         CardComponent cardView = new CardComponent(cardCode);
 
         cardView.addMouseListener(new java.awt.event.MouseAdapter() {
 
             @Override 
             public void mousePressed(java.awt.event.MouseEvent event) {
+                int index = getComponentZOrder(cardView);
+                if (index < 0) return; // no longer in hand
                 dragOriginIndex = index;
                 currentDragTargetIndex = index;
                 cardView.setHighlighted(true);
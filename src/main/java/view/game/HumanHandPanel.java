@@ -13,7 +13,8 @@ import utils.AudioManager;
 
 /**
  * Bottom bar that shows the human player's hand and (in multiplayer) the sign button.
- * Responsible only for local hand interaction (reorder + play) and opening the sign menu.
+ * Responsible only for local hand interaction (reorder + play), opening the sign menu
+ * and offering the claim of the rest of the deal when the model says it is determined.
  */
 public class HumanHandPanel extends JPanel {
 
@@ -21,6 +22,7 @@ public class HumanHandPanel extends JPanel {
     private final HumanCardsPanel cardsPanel;
     private final JLayeredPane layered = new JLayeredPane();
     private final JButton signButton = new JButton("Segni");
+    private final JButton claimButton = new JButton("Reclama");
     private SignMenuPanel signMenu;
 
     // Local layout constants
@@ -29,6 +31,7 @@ public class HumanHandPanel extends JPanel {
     private static final int HAND_GAP = 8; // this gap remains different from CARD_GAP intentionally
     private static final int SIGN_BUTTON_WIDTH = 90;
     private static final int SIGN_BUTTON_HEIGHT = 36;
+    private static final int CLAIM_BUTTON_WIDTH = 110;
     private static final Color SIGN_ENABLED_COLOR = new Color(34, 139, 34);
     private static final Color SIGN_DISABLED_COLOR = new Color(150, 150, 150);
     private static final int DEFAULT_PREF_WIDTH = 800;
@@ -55,6 +58,7 @@ public class HumanHandPanel extends JPanel {
 
         // Sign menu button
         initSignButton();
+        initClaimButton();
         cardsPanel.refreshHand(); // initial empty layout
     }
 
@@ -77,6 +81,26 @@ public class HumanHandPanel extends JPanel {
         layered.add(signButton, JLayeredPane.PALETTE_LAYER);
     }
 
+    /** Configure the claim button, shown only while the rest of the deal can be claimed. */
+    private void initClaimButton() {
+        claimButton.setFont(new Font("Serif", Font.BOLD, 16));
+        claimButton.setBackground(SIGN_ENABLED_COLOR);
+        claimButton.setForeground(Color.BLACK);
+        claimButton.setOpaque(true);
+        claimButton.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2, true));
+        claimButton.setFocusPainted(false);
+        claimButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        claimButton.setToolTipText("Le prese restanti sono già decise: chiudi la mano");
+        claimButton.setVisible(false);
+        claimButton.addActionListener(new java.awt.event.ActionListener(){
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e){ 
+                handleClaim(); 
+            }
+        });
+        layered.add(claimButton, JLayeredPane.PALETTE_LAYER);
+    }
+
     /** Methods to position UI elements */
     private void positionSignButton(){ 
         int bw = SIGN_BUTTON_WIDTH;
@@ -84,6 +108,12 @@ public class HumanHandPanel extends JPanel {
         signButton.setBounds(10, layered.getHeight()-bh-10, bw, bh);
     }
     
+    private void positionClaimButton(){ 
+        int bw = CLAIM_BUTTON_WIDTH;
+        int bh = SIGN_BUTTON_HEIGHT; 
+        claimButton.setBounds(layered.getWidth()-bw-10, layered.getHeight()-bh-10, bw, bh);
+    }
+    
     private void positionSignMenu(){ 
         if(signMenu == null) return; 
         int height = signMenu.getPreferredSize().height; 
@@ -96,6 +126,7 @@ public class HumanHandPanel extends JPanel {
         cardsPanel.setBounds(0, 0, layered.getWidth(), layered.getHeight()); // the cards panel occupies the full layered area
         cardsPanel.layoutCards();
         positionSignButton(); 
+        positionClaimButton(); 
         positionSignMenu(); 
     }
 
@@ -114,7 +145,8 @@ public class HumanHandPanel extends JPanel {
              event instanceof CardPlayed || 
              event instanceof TrickStarted || 
              event instanceof DealEnded || 
-             event instanceof TrickEnded)) 
+             event instanceof TrickEnded ||
+             event instanceof ClaimAvailable)) 
              return;
 
         DealSnapshot snap = SnapshotUtil.extract(event);
@@ -122,6 +154,7 @@ public class HumanHandPanel extends JPanel {
             cardsPanel.setHand(snap.getHumanHand());
             cardsPanel.refreshHand();
             updateSignAvailability(snap);
+            claimButton.setVisible(snap.isClaimable());
             cardsPanel.clearPlayPending();
         }
     }
@@ -143,6 +176,14 @@ public class HumanHandPanel extends JPanel {
         }
     }
 
+    // Claim the rest of the deal: the model plays it at once and ends the deal
+    private void handleClaim() {
+        claimButton.setVisible(false);
+        if (!controller.claim("P1")) {
+            messageConsumer.accept("Non è possibile reclamare ora");
+        }
+    }
+
     /** Toggle the sign menu visibility */
     private void toggleSignMenu(){
         if(!canSignContext){
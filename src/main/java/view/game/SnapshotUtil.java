@@ -14,6 +14,8 @@ final class SnapshotUtil {
         if(event instanceof DealEnded de) return de.snapshot();
         if(event instanceof ScoresUpdated su) return su.snapshot();
         if(event instanceof SignMade sm) return sm.snapshot();
+        if(event instanceof DealClaimed dc) return dc.snapshot();
+        if(event instanceof ClaimAvailable ca) return ca.snapshot();
         return null;
     }
 }
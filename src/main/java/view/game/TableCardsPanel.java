@@ -19,6 +19,7 @@ public class TableCardsPanel extends JPanel {
     private static final int TABLE_CARD_H = view.LayoutConstant.CARD_H;
     private static final int TABLE_GAP = view.LayoutConstant.CARD_GAP; // wide spacing for readability
     private static final int TABLE_PADDING = view.LayoutConstant.CARD_PADDING;
+    private final CardComponentPool cards = new CardComponentPool(CardComponent::new);
 
     /**
      * Create the table cards panel and configure its layout and preferred size.
@@ -35,14 +36,15 @@ public class TableCardsPanel extends JPanel {
     /**
      * Handle view events relevant to the table state. The method filters
      * incoming view event instances and updates the displayed cards
-     * when the game state changes.
+     * when the game state changes. Must be called on the EDT.
      */
     public void onEvent(ViewEvent event){
         if(!( event instanceof DealStarted || 
               event instanceof TrickStarted || 
               event instanceof CardPlayed || 
               event instanceof TrickEnded || 
-              event instanceof DealEnded)) 
+              event instanceof DealEnded ||
+              event instanceof ClaimAvailable)) 
               return;
         DealSnapshot snap = SnapshotUtil.extract(event);
         if(snap == null) return;
@@ -51,16 +53,11 @@ public class TableCardsPanel extends JPanel {
 
     private void updateFromSnapshot(DealSnapshot snap){
         List<String> table = snap.getTableCards();
-        SwingUtilities.invokeLater(() -> {
-            removeAll();
-            for(String code : table){
-                CardComponent cardComponent = new CardComponent(code);
-                add(cardComponent);
-            }
-            // If deal ended (table expected empty) cards are already cleared.
+        // only the played or cleared cards change: no relayout when the table is the same
+        if (cards.reconcile(this, table)) {
             revalidate();
             repaint();
-        });
+        }
     }
 
 }
@@ -0,0 +1,87 @@
+package view.game;
+
+import controller.ViewEvent;
+import utils.metrics.Counter;
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Paces the view updates to the display frame rate.
+ *
+ * View events can be submitted from any thread; they are queued and, at most
+ * once per frame ({@value #FRAME_MS} ms), the Event Dispatch Thread drains
+ * the queue and hands the whole batch to the frame handler, which plays the
+ * per-event effects and applies only the latest state. When the view has been
+ * idle the first event is applied right away.
+ *
+ * Frame statistics go to the {@link MetricsRegistry}: {@code ui.frame} (time
+ * to apply a frame), {@code ui.eventLatency} (queue to screen),
+ * {@code ui.frames} and {@code ui.events}.
+ */
+final class UiUpdateScheduler {
+    static final int FRAME_MS = 16;
+    private static final long FRAME_NANOS = FRAME_MS * 1_000_000L;
+
+    private static final Histogram FRAME_TIME = MetricsRegistry.shared().histogram("ui.frame");
+    private static final Histogram EVENT_LATENCY = MetricsRegistry.shared().histogram("ui.eventLatency");
+    private static final Counter FRAMES = MetricsRegistry.shared().counter("ui.frames");
+    private static final Counter EVENTS = MetricsRegistry.shared().counter("ui.events");
+
+    private record Pending(ViewEvent event, long enqueuedAt) {}
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Consumer<List<ViewEvent>> frameHandler;
+    private final Timer timer;
+    private volatile long lastFrameAt = System.nanoTime() - FRAME_NANOS;
+
+    /**
+     * @param frameHandler receives, on the EDT, the events of one frame in arrival order
+     */
+    UiUpdateScheduler(Consumer<List<ViewEvent>> frameHandler) {
+        this.frameHandler = frameHandler;
+        this.timer = new Timer(FRAME_MS, e -> drain());
+        this.timer.setRepeats(false);
+    }
+
+    /** Queue an event for the next frame (any thread). */
+    void submit(ViewEvent event) {
+        queue.add(new Pending(event, System.nanoTime()));
+        if (scheduled.compareAndSet(false, true)) {
+            long wait = FRAME_NANOS - (System.nanoTime() - lastFrameAt);
+            timer.setInitialDelay((int) Math.max(0, wait / 1_000_000));
+            timer.restart();
+        }
+    }
+
+    /** Stop the frames and drop the queued events. */
+    void dispose() {
+        timer.stop();
+        queue.clear();
+    }
+
+    private void drain() {
+        scheduled.set(false); // a submit from now on arms the next frame
+        List<ViewEvent> events = new ArrayList<>();
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            events.add(pending.event());
+            EVENT_LATENCY.recordSince(pending.enqueuedAt());
+        }
+        if (events.isEmpty()) return;
+        long started = System.nanoTime();
+        frameHandler.accept(events);
+        FRAME_TIME.recordSince(started);
+        lastFrameAt = System.nanoTime();
+        FRAMES.increment();
+        EVENTS.add(events.size());
+    }
+}
@@ -1,8 +1,8 @@
 package view.game;
 
 import model.events.DealSnapshot;
-import view.common.ImageResources;
-import view.LayoutConstant;
+import view.common.CardSpriteAtlas;
+import view.common.LayerCache;
 import javax.swing.*;
 import java.awt.*;
 
@@ -18,11 +18,12 @@ class WonPileComponent extends JComponent {
     private static final int MAX_VISIBLE = 5;
     private static final int PAD = 8;   
     private static final int EXTRA = 2; 
+    private static final Color FALLBACK_FILL = new Color(40, 40, 40, 160);
     private int wonCount = 0;
     private final String playerId;
-    private final Image backImg;
     private boolean horizontal = false; 
-    private static Image ROTATED_BACK; 
+    private final LayerCache layer = new LayerCache(this::paintPile);
+    private CardSpriteAtlas atlas; // atlas of the screen, not of the cache image
 
     /**
      * Create a WonPile for the provided player identifier.
@@ -31,10 +32,6 @@ class WonPileComponent extends JComponent {
     public WonPileComponent(String playerId){
         this.playerId = playerId;
         setOpaque(false);
-        backImg = ImageResources.load(LayoutConstant.BACK_IMG);
-        if(backImg!=null && ROTATED_BACK==null){
-            ROTATED_BACK = createRotated(backImg);
-        }
         setToolTipText("Carte vinte");
     }
     /**
@@ -50,6 +47,7 @@ class WonPileComponent extends JComponent {
     public void setHorizontal(boolean h){ 
         if(this.horizontal != h){ 
             this.horizontal = h; 
+            layer.invalidate();
             revalidate(); 
             repaint(); 
         } 
@@ -83,36 +81,46 @@ class WonPileComponent extends JComponent {
         if (c != null && c != wonCount) {
             wonCount = c;
             setToolTipText("Carte vinte: " + wonCount);
+            layer.invalidate();
             revalidate();
             repaint();
         }
     }
     /**
-     * Paint the stacks of facedown cards. Up 
+     * Paint the stacks of facedown cards. The pile is rendered into a
+     * {@link LayerCache} and rendered again only when the number of stacks
+     * or the orientation change.
      */
     @Override 
     protected void paintComponent(Graphics g){
+        if(wonCount <= 0) return; // nothing won yet: keeps area blank but reserved by preferredSize
         Graphics2D g2 = (Graphics2D) g.create();
+        CardSpriteAtlas screenAtlas = CardSpriteAtlas.of(g2);
+        if (screenAtlas != atlas) {
+            atlas = screenAtlas;
+            layer.invalidate();
+        }
+        layer.paint(g2, getWidth(), getHeight());
+        g2.dispose();
+    }
+
+    private void paintPile(Graphics2D g2, int width, int height){
         g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
         int stacks = Math.min(MAX_VISIBLE, (wonCount + 1) / 2);
-        if(stacks <= 0){
-            // Nothing won yet: draw nothing (keeps area blank but reserved by preferredSize).
-            g2.dispose();
-            return;
-        }
+        // pre-rotated back sprite from the atlas
+        Image backImg = atlas.back(horizontal ? CardSpriteAtlas.Rotation.COUNTER_CLOCKWISE
+                                                               : CardSpriteAtlas.Rotation.NONE);
         for(int i=0;i<stacks;i++){
             int x = PAD + i*OFFSET;
             int y = PAD + i*OFFSET;
             if(backImg!=null){
                 if(!horizontal){
-                    g2.drawImage(backImg, x, y, CARD_W, CARD_H, this);
+                    CardSpriteAtlas.draw(g2, backImg, x, y, CARD_W, CARD_H);
                 } else {
-                    // use cached rotated image
-                    Image rot = ROTATED_BACK != null ? ROTATED_BACK : backImg;
-                    g2.drawImage(rot, x, y, CARD_H, CARD_W, this);
+                    CardSpriteAtlas.draw(g2, backImg, x, y, CARD_H, CARD_W);
                 }
             } else {
-                g2.setColor(new Color(40, 40, 40, 160));
+                g2.setColor(FALLBACK_FILL);
                 if (!horizontal) {
                     g2.fillRoundRect(x, y, CARD_W, CARD_H, 12, 12);
                     g2.setColor(Color.WHITE);
@@ -124,30 +132,6 @@ class WonPileComponent extends JComponent {
                 }
             }
         }
-        g2.dispose();
-    }
-
-    /**
-     * Create and return a buffered image containing the source rotated -90°.
-     */
-    private static Image createRotated(Image image){
-        if (image == null) return null;
-        final int width = CARD_W;
-        final int height = CARD_H;
-        java.awt.image.BufferedImage bi = new java.awt.image.BufferedImage(height, width,
-                                                            java.awt.image.BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = bi.createGraphics();
-        try {
-            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, 
-                                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g2.translate(height / 2.0, width / 2.0);
-            g2.rotate(-Math.PI / 2);
-            g2.translate(-width / 2.0, -height / 2.0);
-            g2.drawImage(image, 0, 0, width, height, null);
-            return bi;
-        } finally {
-            g2.dispose();
-        }
     }
 
 }
\ No newline at end of file
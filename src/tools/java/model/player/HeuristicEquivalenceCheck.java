@@ -0,0 +1,159 @@
+package model.player;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import model.GameDifficultyState;
+import model.board.Table;
+import model.cards.Card;
+import model.cards.CardSuit;
+import model.sign.SignType;
+
+/**
+ * Checks the allocation-free {@link BotStrategyEngine#chooseCard} against
+ * its specification, {@link ReferenceStrategyEngine}.
+ *
+ * Random positions are generated (hands of any size, 0 to 3 legal cards on
+ * the table, with or without a team and a planned BUSSO) and two engines
+ * with the same parameters and the same seed decide on each of them; the
+ * chosen cards must be the same instances and both random sources must stay
+ * in step. Then {@code chooseCard} is timed on a fixed set of positions after
+ * warm-up and the heap allocated by the calling thread is measured.
+ *
+ * Exits with status 1 on a different decision or when the calls allocate
+ * more than {@code --budget} bytes in total.
+ *
+ * Usage: {@code HeuristicEquivalenceCheck [--positions=200000] [--calls=2000000]
+ * [--seed=1] [--budget=0]}
+ */
+public final class HeuristicEquivalenceCheck {
+    private static final int SEATS = 4;
+    private static final int FIXED_POSITIONS = 4096;
+
+    /** A decision point: the bot holding {@code hand} must play on {@code table}. */
+    private record Position(Table table, List<Card> hand, Team team) {}
+
+    private final Random random;
+    private final Player[] players = new Player[SEATS];
+    private final Team[] teams;
+
+    private HeuristicEquivalenceCheck(long seed) {
+        random = new Random(seed);
+        for (int seat = 0; seat < SEATS; seat++) players[seat] = new HumanPlayer("P" + (seat + 1), "p" + seat);
+        teams = new Team[] { new Team("Team1", List.of(players[0], players[2])),
+                             new Team("Team2", List.of(players[1], players[3])) };
+    }
+
+    /** Deal hands as after some finished tricks and play part of the current one. */
+    private Position randomPosition() {
+        List<Card> deck = new ArrayList<>();
+        for (int ordinal = 0; ordinal < 40; ordinal++) deck.add(Card.fromOrdinal(ordinal));
+        Collections.shuffle(deck, random);
+        int handSize = 1 + random.nextInt(10);
+        List<List<Card>> hands = new ArrayList<>();
+        for (int seat = 0; seat < SEATS; seat++)
+            hands.add(new ArrayList<>(deck.subList(seat * 10, seat * 10 + handSize)));
+        int leader = random.nextInt(SEATS);
+        int onTable = handSize == 1 ? 0 : random.nextInt(SEATS);
+        Table table = new Table();
+        for (int i = 0; i < onTable; i++) {
+            int seat = (leader + i) % SEATS;
+            Card card = randomLegal(hands.get(seat), table.getPaloOrNull());
+            hands.get(seat).remove(card);
+            table.addCard(players[seat], card);
+        }
+        int seat = (leader + onTable) % SEATS;
+        Team team = random.nextInt(5) == 0 ? null : teams[seat % 2];
+        return new Position(table, hands.get(seat), team);
+    }
+
+    private Card randomLegal(List<Card> hand, CardSuit palo) {
+        List<Card> legal = new ArrayList<>();
+        for (Card c : hand) if (c.getSuit() == palo) legal.add(c);
+        if (legal.isEmpty()) legal = hand;
+        return legal.get(random.nextInt(legal.size()));
+    }
+
+    /** @return the number of positions where the two formulations disagree */
+    private int compare(int positions, long seed) {
+        int mismatches = 0;
+        GameDifficultyState[] difficulties = GameDifficultyState.values();
+        for (int i = 0; i < positions; i++) {
+            BotParameters parameters = BotParameters.forDifficulty(difficulties[i % difficulties.length]);
+            BotStrategyEngine fast = new BotStrategyEngine(parameters, new Random(seed + i));
+            ReferenceStrategyEngine reference = new ReferenceStrategyEngine(parameters, new Random(seed + i));
+            Position p = randomPosition();
+            // a sign first, so that some positions carry a planned BUSSO
+            if (random.nextBoolean()) {
+                SignType a = fast.chooseSign(p.table(), p.hand());
+                SignType b = reference.chooseSign(p.table(), p.hand());
+                if (a != b) throw new IllegalStateException("Engines out of step on the sign");
+            }
+            Card expected = reference.chooseCard(p.table(), p.hand(), p.team());
+            Card actual = fast.chooseCard(p.table(), p.hand(), p.team());
+            boolean inStep = fast.chooseSign(p.table(), p.hand()) == reference.chooseSign(p.table(), p.hand());
+            if (actual != expected || !inStep) {
+                if (mismatches++ < 10)
+                    System.out.printf("Mismatch at position %d: hand %s, table %s, team %s: expected %s, got %s%n",
+                            i, p.hand(), p.table().getCardsOnTable().values(),
+                            p.team() == null ? "none" : p.team().getId(), expected, actual);
+            }
+        }
+        return mismatches;
+    }
+
+    /** @return bytes allocated by this thread over {@code calls} decisions */
+    private long measure(int calls, long seed) {
+        Position[] positions = new Position[FIXED_POSITIONS];
+        for (int i = 0; i < positions.length; i++) positions[i] = randomPosition();
+        BotStrategyEngine engine = new BotStrategyEngine(BotParameters.forDifficulty(GameDifficultyState.MEDIUM),
+                                                         new Random(seed));
+        int checksum = 0;
+        for (int i = 0; i < calls; i++) { // warm-up, same length as the measure
+            Position p = positions[i % positions.length];
+            checksum += engine.chooseCard(p.table(), p.hand(), p.team()).getOrdinal();
+        }
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        long started = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            Position p = positions[i % positions.length];
+            checksum += engine.chooseCard(p.table(), p.hand(), p.team()).getOrdinal();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        System.out.printf("chooseCard: %d calls, %.1f ns/call, %d bytes allocated (checksum %d)%n",
+                calls, (double) elapsed / calls, allocated, checksum);
+        return allocated;
+    }
+
+    // ------------------ Command line ------------------
+    public static void main(String[] args) {
+        int positions = Integer.parseInt(option(args, "positions", "200000"));
+        int calls = Integer.parseInt(option(args, "calls", "2000000"));
+        long seed = Long.parseLong(option(args, "seed", "1"));
+        long budget = Long.parseLong(option(args, "budget", "0"));
+
+        HeuristicEquivalenceCheck check = new HeuristicEquivalenceCheck(seed);
+        int mismatches = check.compare(positions, seed);
+        System.out.printf("HeuristicEquivalenceCheck: %d positions, %d mismatches%n", positions, mismatches);
+        long allocated = check.measure(calls, seed);
+        if (mismatches > 0 || allocated > budget) {
+            if (allocated > budget) System.out.printf("Allocation budget exceeded: %d > %d bytes%n", allocated, budget);
+            System.exit(1);
+        }
+    }
+
+    private static String option(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,223 @@
+package model.player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.GameRules;
+import model.board.Table;
+import model.cards.Card;
+import model.cards.CardMask;
+import model.cards.CardSuit;
+import model.cards.CardValue;
+import model.sign.SignType;
+
+/**
+ * Original formulation of the {@link BotStrategyEngine} heuristic, with
+ * collections and streams. It is its specification: built with the same
+ * parameters and the same seed, it takes the same decisions and draws the
+ * same random numbers, which {@link HeuristicEquivalenceCheck} verifies.
+ * Only the check uses it; the game plays with {@link BotStrategyEngine}.
+ */
+final class ReferenceStrategyEngine {
+    private static final CardSuit[] SUITS = CardSuit.values();
+    private static final float LISCIO_POINTS = 1.5f;
+    private static final float VOLO_TRICKS = 0.25f;
+    private final Random random;
+    private final BotParameters parameters;
+    private final SuitHoldingTable holdingTable = SuitHoldingTable.shared();
+
+    private CardSuit plannedBussoPalo; // remember BUSSO suit to possibly lead next time
+
+    ReferenceStrategyEngine(BotParameters parameters, Random random) {
+        this.parameters = parameters;
+        this.random = random;
+    }
+
+    /** Same contract as {@link BotStrategyEngine#chooseCard}. */
+    Card chooseCard(Table table, List<Card> hand, Team team) {
+        List<Card> legal = legalMoves(hand, table);
+        if (legal.size() == 1) return legal.get(0);
+
+        // With the Difficulty probability, ignore the heuristic and pick a random legal card
+        if (random.nextDouble() < parameters.getActionNoise()) 
+            return legal.get(random.nextInt(legal.size()));
+
+        // 1) NO palo condition
+        if (table.getPalo().isEmpty()) {
+            // If the bot planned a BUSSO, try to lead that suit with the highest point card
+            if (plannedBussoPalo != null) {
+                Card chosen = highestPointsOfSuitOrLowest(plannedBussoPalo, legal);
+                plannedBussoPalo = null; 
+                return chosen;
+            }
+            // If the bot doesn't have a BUSSO plan, lead from its best suit
+            return findBestLeadCard(legal);
+        }
+
+        // 2) Palo condition
+        CardSuit palo = table.getPalo().get();
+        List<Card> onTable = new ArrayList<>(table.getCardsOnTable().values());
+        Card currentWinning = GameRules.getWinningCard(onTable, palo);
+
+        // 2.a) The team mate is winning
+        //Determine if a teammate is currently winning the trick.
+        boolean isMateWinning = false;
+        if (team != null) {
+            isMateWinning = table.getCardsOnTable().entrySet().stream()
+                .anyMatch(e -> e.getValue().equals(currentWinning) // the card in entry is the currentWinning
+                             && team.getMembers().contains(e.getKey())); // the owner is the team mate
+        }
+
+        // If a teammate is winning, play the card with the highest points
+        if (isMateWinning) {
+            boolean hasPaloSuitInHand = hand.stream().anyMatch(c -> c.getSuit() == palo);
+            if (hasPaloSuitInHand) {
+                // Yes,then follow suit. Play the lowest legal card of that suit to save better ones.
+                return minByGameValue(legal);
+            } else {
+                // No, then discard. This is an opportunity to pass points.
+                // Play the card with the highest point value.
+                return legal.stream()
+                            .max(Comparator.comparingDouble(c -> c.getValue().getPoints()))
+                            .orElse(minByGameValue(legal)); // should not happen
+            }
+        }
+        // 2.b) opponent is winning, try to win as cheaply as possible.
+        List<Card> winning = legal.stream()
+                                    .filter(c -> GameRules.cardBeats(c, currentWinning, palo))
+                                    .toList();
+
+        // If we can't win, discard the lowest card. If we can, win with the lowest possible winning card.
+        if (winning.isEmpty()) return minByGameValue(legal);
+        return minByGameValue(winning);
+    }
+
+    /** Same contract as {@link BotStrategyEngine#chooseSign}. */
+    SignType chooseSign(Table table, List<Card> hand){
+        if(random.nextDouble() > parameters.getSignGate()
+            || random.nextDouble() < parameters.getSignNoise()
+            ) return SignType.NONE;
+        SignType ideal = computeIdealSign(hand);
+        if (ideal != SignType.BUSSO) plannedBussoPalo = null;
+        return ideal;
+    }
+
+    // ------------------- Helpers -------------------
+    private SignType computeIdealSign(List<Card> hand){
+        // Try to announce control in a suit if we have it
+        CardSuit bussoSuit = selectBussoSuit(hand);
+        if (bussoSuit != null){
+            plannedBussoPalo = bussoSuit;
+            return SignType.BUSSO;
+        }
+
+        // Otherwise choose between VOLO / LISCIO from the expected value of the hand
+        long mask = CardMask.of(hand);
+        float tricks = 0f, points = 0f;
+        for (CardSuit suit : SUITS) {
+            int holding = CardMask.holding(mask, suit);
+            tricks += holdingTable.getExpectedTricks(holding);
+            points += holdingTable.getExpectedPoints(holding);
+        }
+        if (points >= LISCIO_POINTS) return SignType.LISCIO; // the hand should bring points: play smooth
+        if (tricks < VOLO_TRICKS) return SignType.VOLO; // hardly a trick to take: fly
+        return SignType.NONE;
+    }
+
+    private List<Card> legalMoves(List<Card> handCards, Table table){
+        if (table.getPalo().isEmpty()) return handCards;
+        CardSuit leading = table.getPalo().get();
+        List<Card> match = new ArrayList<>();
+        handCards.stream()
+                 .filter(c -> c.getSuit() == leading)
+                 .forEach(match::add);
+        if(match.isEmpty()) return handCards;
+        return match;
+    }
+
+    private boolean isStrong(Card c){
+        return c.getValue().getGameValue() >= parameters.getStrongGameValue();
+    }
+    private boolean isTopStrong(Card c){
+        return c.getValue().getGameValue() >= parameters.getStrongGameValue() + 1;
+    }
+
+    private Card minByGameValue(List<Card> cards){
+        return Collections.min(cards, Comparator.comparingInt(c -> c.getValue().getGameValue()));
+    }
+
+    private Card highestPointsOfSuitOrLowest(CardSuit suit, List<Card> legal){
+        Card best = legal.stream()
+                        .filter(c -> c.getSuit() == suit)
+                        .max(Comparator.comparingDouble(c -> c.getValue().getPoints()))
+                        .orElseGet(() -> minByGameValue(legal));
+        return best;
+    }
+
+    private Map<CardSuit, List<Card>> bySuit(List<Card> cards){
+        Map<CardSuit, List<Card>> bySuit = new EnumMap<>(CardSuit.class);
+        for (Card c : cards) bySuit.computeIfAbsent(c.getSuit(), k -> new ArrayList<>()).add(c);
+        return bySuit;
+    }
+
+    private float expectedTricks(List<Card> cards, CardSuit suit){
+        return holdingTable.getExpectedTricks(CardMask.holding(CardMask.of(cards), suit));
+    }
+
+    private CardSuit selectBussoSuit(List<Card> hand){
+        CardSuit bestSuit = null;
+        float bestTricks = -1f;
+        for(Map.Entry<CardSuit,List<Card>> entry : bySuit(hand).entrySet()){
+            List<Card> list = entry.getValue();
+            int strongNumber = 0;
+            int top = 0;
+            for (Card c : list){
+                if (isStrong(c)) {
+                    strongNumber++; 
+                    if (isTopStrong(c)) top++; 
+                }
+            }
+            boolean qualifies = (strongNumber >= parameters.getBussoMinStrong()); // minimum strong cards bot rule
+            if(!qualifies){
+                // the bot has a top card and more than 1 for the suit
+                if(top == 1 && list.size() >= 2) qualifies = true;
+            }
+            if(!qualifies) continue;
+
+            // among the qualifying suits, announce the one that takes the most tricks
+            float tricks = expectedTricks(list, entry.getKey());
+            if (tricks > bestTricks){ 
+                bestSuit = entry.getKey(); 
+                bestTricks = tricks;
+            }
+        }
+        return bestSuit;
+    }
+
+    private Card findBestLeadCard(List<Card> legal) {
+        // Lead from the suit whose holding takes the most tricks (first suit on ties)
+        Map<CardSuit, List<Card>> bySuit = bySuit(legal);
+        CardSuit suit = bySuit.entrySet().stream()
+                              .max(Comparator.comparingDouble(e -> expectedTricks(e.getValue(), e.getKey())))
+                              .orElseThrow()
+                              .getKey();
+        List<Card> cards = bySuit.get(suit);
+
+        // Find the card of that suit with the highest game value
+        Card strongestCard = Collections.max(cards, 
+                                Comparator.comparingInt(c -> c.getValue().getGameValue()));
+
+        // If the strongest card is an Ace or better (3 or 2), play it.
+        if (strongestCard.getValue().getGameValue() >= CardValue.ASSO.getGameValue()) {
+            return strongestCard;
+        }
+
+        // Otherwise, play the weakest card of the suit, keeping its strong cards
+        return minByGameValue(cards);
+    }
+}
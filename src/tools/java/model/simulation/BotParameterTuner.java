@@ -0,0 +1,209 @@
+package model.simulation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.GameDifficultyState;
+import model.player.BotParameters;
+import model.player.BotPlayer;
+import model.player.Team;
+import model.score.ScoreManager;
+
+/**
+ * Offline tuner for the {@link BotParameters} of a difficulty.
+ *
+ * It runs SPSA (simultaneous perturbation stochastic approximation): at each
+ * iteration the tuned positions of the vector are perturbed in a random
+ * direction, both perturbed candidates play the same seeded deals (common
+ * random numbers) against a fixed opponent pool made of the default EASY,
+ * MEDIUM and HARD bots, and the vector moves along the estimated gradient of
+ * the mean point difference per deal. Deals are spread over all cores with
+ * the {@link HeadlessDeal} engine.
+ *
+ * The result is written as {@code params-<difficulty>.properties}: copying it
+ * under {@code resources/bot/} makes {@link BotParameters#forDifficulty} load it.
+ *
+ * Usage: {@code BotParameterTuner [--difficulty=HARD] [--iterations=100]
+ * [--deals=4000] [--seed=1] [--tune=strongGameValue,signGate,bussoMinStrong]
+ * [--out=target/tuned]}
+ */
+public final class BotParameterTuner {
+    // SPSA gains (standard exponents from Spall), in the normalized [0,1] space
+    private static final double STEP_A = 0.15;
+    private static final double STEP_STABILITY = 10;
+    private static final double STEP_ALPHA = 0.602;
+    private static final double PERTURBATION_C = 0.2;
+    private static final double PERTURBATION_GAMMA = 0.101;
+    private static final int DEALS_PER_TASK = 250;
+
+    private final GameDifficultyState difficulty;
+    private final int[] tuned;             // tuned positions of the vector
+    private final int dealsPerEvaluation;
+    private final List<BotParameters> opponentPool;
+    private final ExecutorService executor;
+
+    /**
+     * @param difficulty difficulty whose defaults are the starting point
+     * @param tuned positions of {@link BotParameters#NAMES} that may change
+     * @param dealsPerEvaluation deals played by each candidate per iteration
+     * @param threads worker threads
+     */
+    public BotParameterTuner(GameDifficultyState difficulty, int[] tuned, int dealsPerEvaluation, int threads) {
+        this.difficulty = difficulty;
+        this.tuned = tuned.clone();
+        this.dealsPerEvaluation = dealsPerEvaluation;
+        this.opponentPool = List.of(BotParameters.defaults(GameDifficultyState.EASY),
+                                    BotParameters.defaults(GameDifficultyState.MEDIUM),
+                                    BotParameters.defaults(GameDifficultyState.HARD));
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bot-tuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run the SPSA iterations starting from the difficulty defaults.
+     * @param iterations number of iterations
+     * @param seed seed of the perturbations and of the deals
+     * @return the tuned parameters
+     */
+    public BotParameters tune(int iterations, long seed) throws InterruptedException {
+        Random random = new Random(seed);
+        double[] theta = normalize(BotParameters.defaults(difficulty).toVector());
+        for (int k = 0; k < iterations; k++) {
+            double ak = STEP_A / Math.pow(k + 1 + STEP_STABILITY, STEP_ALPHA);
+            double ck = PERTURBATION_C / Math.pow(k + 1, PERTURBATION_GAMMA);
+            double[] delta = new double[theta.length];
+            double[] plus = theta.clone();
+            double[] minus = theta.clone();
+            for (int i : tuned) {
+                delta[i] = random.nextBoolean() ? 1 : -1;
+                plus[i] = clamp01(theta[i] + ck * delta[i]);
+                minus[i] = clamp01(theta[i] - ck * delta[i]);
+            }
+            long dealSeed = random.nextLong();
+            double fPlus = evaluate(denormalize(plus), dealSeed);
+            double fMinus = evaluate(denormalize(minus), dealSeed);
+            for (int i : tuned) {
+                double gradient = (fPlus - fMinus) / (2 * ck * delta[i]);
+                theta[i] = clamp01(theta[i] + ak * gradient);
+            }
+            System.out.printf("iter %d: f+=%.4f f-=%.4f -> %s%n", k + 1, fPlus, fMinus, denormalize(theta));
+        }
+        return denormalize(theta);
+    }
+
+    /**
+     * Mean point difference per deal of a candidate (seats 0 and 2) against
+     * the opponent pool (seats 1 and 3). The same seed gives the same deals.
+     * @param candidate the parameters under evaluation
+     * @param seed seed of the deals
+     * @return mean (candidate - opponent) deal points
+     */
+    public double evaluate(BotParameters candidate, long seed) throws InterruptedException {
+        List<Future<Long>> futures = new ArrayList<>();
+        int tasks = Math.max(1, dealsPerEvaluation / DEALS_PER_TASK);
+        for (int t = 0; t < tasks; t++) {
+            BotParameters opponent = opponentPool.get(t % opponentPool.size());
+            long taskSeed = seed + (long) t * DEALS_PER_TASK; // task t plays deals [t * DEALS_PER_TASK, (t + 1) * DEALS_PER_TASK)
+            futures.add(executor.submit(() -> playDeals(candidate, opponent, taskSeed, DEALS_PER_TASK)));
+        }
+        long total = 0;
+        try {
+            for (Future<Long> future : futures) total += future.get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Simulation failed", ex.getCause());
+        }
+        return total / (double) (tasks * DEALS_PER_TASK);
+    }
+
+    /** Stop the worker threads. */
+    public void shutdown() { executor.shutdownNow(); }
+
+    // ------------------ Simulation ------------------
+    private static long playDeals(BotParameters candidate, BotParameters opponent, long seed, int deals) {
+        Random botRandom = new Random(seed ^ 0x5DEECE66DL);
+        List<BotPlayer> bots = List.of(
+            new BotPlayer("P1", "candidate-1", candidate, new Random(botRandom.nextLong())),
+            new BotPlayer("P2", "opponent-1", opponent, new Random(botRandom.nextLong())),
+            new BotPlayer("P3", "candidate-2", candidate, new Random(botRandom.nextLong())),
+            new BotPlayer("P4", "opponent-2", opponent, new Random(botRandom.nextLong())));
+        Team candidates = new Team("Team1", List.of(bots.get(0), bots.get(2)));
+        Team opponents = new Team("Team2", List.of(bots.get(1), bots.get(3)));
+        HeadlessDeal deal = new HeadlessDeal(bots, List.of(candidates, opponents));
+        ScoreManager scoreManager = new ScoreManager(List.of(candidates.getId(), opponents.getId()), Integer.MAX_VALUE);
+        long difference = 0;
+        for (int i = 0; i < deals; i++) {
+            Map<String, Integer> points = deal.play(new Random(seed + i), scoreManager).dealPoints();
+            difference += points.get(candidates.getId()) - points.get(opponents.getId());
+        }
+        return difference;
+    }
+
+    // ------------------ Normalization ------------------
+    private static double[] normalize(double[] vector) {
+        double[] out = new double[vector.length];
+        for (int i = 0; i < vector.length; i++)
+            out[i] = (vector[i] - BotParameters.min(i)) / (BotParameters.max(i) - BotParameters.min(i));
+        return out;
+    }
+
+    private static BotParameters denormalize(double[] normalized) {
+        double[] out = new double[normalized.length];
+        for (int i = 0; i < normalized.length; i++)
+            out[i] = BotParameters.min(i) + normalized[i] * (BotParameters.max(i) - BotParameters.min(i));
+        return BotParameters.fromVector(out);
+    }
+
+    private static double clamp01(double value) { return Math.max(0, Math.min(1, value)); }
+
+    // ------------------ Command line ------------------
+    public static void main(String[] args) throws IOException, InterruptedException {
+        GameDifficultyState difficulty = GameDifficultyState.valueOf(option(args, "difficulty", "HARD"));
+        int iterations = Integer.parseInt(option(args, "iterations", "100"));
+        int deals = Integer.parseInt(option(args, "deals", "4000"));
+        long seed = Long.parseLong(option(args, "seed", "1"));
+        String[] names = option(args, "tune", String.join(",", BotParameters.STRONG_GAME_VALUE,
+                                BotParameters.SIGN_GATE, BotParameters.BUSSO_MIN_STRONG)).split(",");
+        Path out = Paths.get(option(args, "out", "target/tuned"));
+
+        int[] tuned = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            tuned[i] = List.of(BotParameters.NAMES).indexOf(names[i].trim());
+            if (tuned[i] < 0) throw new IllegalArgumentException("Unknown parameter: " + names[i]);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        BotParameterTuner tuner = new BotParameterTuner(difficulty, tuned, deals, threads);
+        try {
+            BotParameters result = tuner.tune(iterations, seed);
+            Files.createDirectories(out);
+            Path file = out.resolve(Paths.get(BotParameters.resourcePath(difficulty)).getFileName());
+            try (OutputStream output = Files.newOutputStream(file)) {
+                result.store(output, "Tuned " + difficulty + " parameters (" + iterations + " SPSA iterations)");
+            }
+            System.out.println("Written " + file + ": " + result);
+        } finally {
+            tuner.shutdown();
+        }
+    }
+
+    private static String option(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,240 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import model.GameRules;
+import model.cards.Card;
+
+/**
+ * Differential fuzzer between the object model of the game and an
+ * optimized {@link SteppableDeal} (today {@link PackedDeal}).
+ *
+ * Each game is defined by a seed: it shuffles the deck and then picks a
+ * random legal card at every step. Both engines play it in lockstep and are
+ * compared at every step (seat to move, set of legal cards, trick winner)
+ * and on the final deal points. On the first divergence the game is shrunk:
+ * the choices are lowered towards the first legal card, as long as the
+ * engines still diverge no later than before, and the reproducer is printed
+ * as a {@code --replay} argument that traces the game step by step.
+ *
+ * Exits with status 1 on a divergence.
+ *
+ * Usage: {@code DifferentialDealFuzzer [--games=1000000] [--seed=1]
+ * [--threads=<cores>]} or {@code DifferentialDealFuzzer --replay=<seed>[:<choices>]}
+ */
+public final class DifferentialDealFuzzer {
+    private static final int STEPS = GameRules.TOTAL_DECK_CARDS; // one card per step, then the score
+    private static final int GAMES_PER_TASK = 10_000;
+
+    private final ReferenceDeal reference = new ReferenceDeal();
+    private final SteppableDeal candidate;
+    private final int[] referencePoints = new int[SteppableDeal.TEAMS];
+    private final int[] candidatePoints = new int[SteppableDeal.TEAMS];
+    private boolean trace;
+
+    /** Where and how the engines disagree. */
+    record Divergence(long seed, int step, String description, int[] choices) {
+        String replayArgument() {
+            int last = Math.min(step, choices.length - 1);
+            while (last >= 0 && choices[last] == 0) last--;
+            StringBuilder argument = new StringBuilder("--replay=").append(seed);
+            for (int i = 0; i <= last; i++) argument.append(i == 0 ? ':' : ',').append(choices[i]);
+            return argument.toString();
+        }
+    }
+
+    DifferentialDealFuzzer(Supplier<SteppableDeal> optimized) {
+        this.candidate = optimized.get();
+    }
+
+    // ------------------ Games ------------------
+    /** The hands dealt by a seed; the same random source then picks the cards. */
+    private static long[] deal(Random random) {
+        int[] deck = new int[GameRules.TOTAL_DECK_CARDS];
+        for (int i = 0; i < deck.length; i++) deck[i] = i;
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = deck[i]; deck[i] = deck[j]; deck[j] = swap;
+        }
+        long[] hands = new long[SteppableDeal.SEATS];
+        for (int i = 0; i < deck.length; i++) hands[i / GameRules.CARDS_PER_PLAYER] |= 1L << deck[i];
+        return hands;
+    }
+
+    /**
+     * Play a game in lockstep.
+     * @param seed the seed of the hands
+     * @param random source of the choices, or null to replay {@code choices}
+     * @param choices index of the card picked among the legal ones at each
+     *                step; filled when {@code random} is given
+     * @return the first divergence, or null if the engines agree
+     */
+    Divergence play(long seed, Random random, int[] choices) {
+        long[] hands = deal(random != null ? random : new Random(seed));
+        int step = 0;
+        try {
+            reference.reset(hands);
+            candidate.reset(hands);
+            for (; step < STEPS; step++) {
+                int seat = reference.currentSeat();
+                if (candidate.currentSeat() != seat)
+                    return new Divergence(seed, step, "seat to move " + seat + " vs " + candidate.currentSeat(), choices);
+                long legal = reference.legalMoves();
+                if (candidate.legalMoves() != legal)
+                    return new Divergence(seed, step, "legal cards " + cards(legal) + " vs " + cards(candidate.legalMoves()), choices);
+                int count = Long.bitCount(legal);
+                if (random != null) choices[step] = random.nextInt(count);
+                int ordinal = nthCard(legal, choices[step] % count);
+                if (trace) System.out.printf("%2d: seat %d plays %s from %s%n", step, seat, Card.fromOrdinal(ordinal), cards(legal));
+                int winner = reference.play(ordinal);
+                int candidateWinner = candidate.play(ordinal);
+                if (candidateWinner != winner)
+                    return new Divergence(seed, step, "trick winner " + winner + " vs " + candidateWinner, choices);
+                if (trace && winner >= 0) System.out.printf("    trick to seat %d%n", winner);
+            }
+            if (reference.isOver() != candidate.isOver() || !reference.isOver())
+                return new Divergence(seed, step, "deal not over after all the cards", choices);
+            reference.score(referencePoints);
+            candidate.score(candidatePoints);
+            if (trace) System.out.printf("    deal points %s%n", Arrays.toString(referencePoints));
+            if (!Arrays.equals(referencePoints, candidatePoints))
+                return new Divergence(seed, step, "deal points " + Arrays.toString(referencePoints)
+                                      + " vs " + Arrays.toString(candidatePoints), choices);
+            return null;
+        } catch (RuntimeException e) {
+            return new Divergence(seed, step, "exception " + e, choices);
+        }
+    }
+
+    /**
+     * Lower the choices of a diverging game while it still diverges, at the
+     * same step or earlier.
+     */
+    Divergence shrink(Divergence found) {
+        Divergence best = found;
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int i = 0; i < Math.min(best.step() + 1, STEPS); i++) {
+                for (int value = 0; value < best.choices()[i]; value++) {
+                    int[] choices = best.choices().clone();
+                    choices[i] = value;
+                    Divergence smaller = play(best.seed(), null, choices);
+                    if (smaller != null && smaller.step() <= best.step()) {
+                        best = smaller;
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /** @return the divergence with the lowest seed in the range, or null */
+    private Divergence fuzz(long firstSeed, int games, AtomicBoolean stop) {
+        int[] choices = new int[STEPS];
+        for (int g = 0; g < games && !stop.get(); g++) {
+            long seed = firstSeed + g;
+            Divergence divergence = play(seed, new Random(seed), choices);
+            if (divergence != null) {
+                stop.set(true);
+                return new Divergence(seed, divergence.step(), divergence.description(), choices.clone());
+            }
+        }
+        return null;
+    }
+
+    // ------------------ Helpers ------------------
+    private static int nthCard(long mask, int n) {
+        for (int i = 0; i < n; i++) mask &= mask - 1;
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    private static List<String> cards(long mask) {
+        List<String> codes = new ArrayList<>();
+        for (long m = mask; m != 0; m &= m - 1) codes.add(Card.fromOrdinal(Long.numberOfTrailingZeros(m)).getCode());
+        return codes;
+    }
+
+    // ------------------ Command line ------------------
+    public static void main(String[] args) throws InterruptedException {
+        Supplier<SteppableDeal> engine = PackedDeal::new;
+        String replay = option(args, "replay", null);
+        if (replay != null) {
+            System.exit(replay(engine, replay) ? 0 : 1);
+        }
+        long games = Long.parseLong(option(args, "games", "1000000"));
+        long seed = Long.parseLong(option(args, "seed", "1"));
+        int threads = Integer.parseInt(option(args, "threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ThreadLocal<DifferentialDealFuzzer> fuzzers = ThreadLocal.withInitial(() -> new DifferentialDealFuzzer(engine));
+        AtomicBoolean stop = new AtomicBoolean();
+        long started = System.nanoTime();
+        Divergence first = null;
+        try {
+            List<Future<Divergence>> tasks = new ArrayList<>();
+            for (long g = 0; g < games; g += GAMES_PER_TASK) {
+                long firstSeed = seed + g;
+                int count = (int) Math.min(GAMES_PER_TASK, games - g);
+                tasks.add(executor.submit(() -> fuzzers.get().fuzz(firstSeed, count, stop)));
+            }
+            for (Future<Divergence> task : tasks) {
+                Divergence divergence = task.get();
+                if (divergence != null && (first == null || divergence.seed() < first.seed())) first = divergence;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fuzzing failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        if (first == null) {
+            System.out.printf("DifferentialDealFuzzer: %d games from seed %d, no divergence (%.0f games/s)%n",
+                    games, seed, games / seconds);
+            return;
+        }
+        Divergence minimal = new DifferentialDealFuzzer(engine).shrink(first);
+        System.out.printf("DifferentialDealFuzzer: divergence in game %d at step %d: %s%n",
+                first.seed(), first.step(), first.description());
+        System.out.printf("Shrunk to step %d: %s%nReproduce with %s%n",
+                minimal.step(), minimal.description(), minimal.replayArgument());
+        System.exit(1);
+    }
+
+    /** Trace a game given as {@code <seed>[:<choice>,...]}; missing choices are 0. */
+    private static boolean replay(Supplier<SteppableDeal> engine, String game) {
+        int colon = game.indexOf(':');
+        long seed = Long.parseLong(colon < 0 ? game : game.substring(0, colon));
+        int[] choices = new int[STEPS];
+        if (colon >= 0) {
+            String[] values = game.substring(colon + 1).split(",");
+            for (int i = 0; i < values.length && i < STEPS; i++) choices[i] = Integer.parseInt(values[i].trim());
+        }
+        DifferentialDealFuzzer fuzzer = new DifferentialDealFuzzer(engine);
+        fuzzer.trace = true;
+        Divergence divergence = fuzzer.play(seed, null, choices);
+        if (divergence == null) System.out.println("The engines agree");
+        else System.out.printf("Divergence at step %d: %s%n", divergence.step(), divergence.description());
+        return divergence == null;
+    }
+
+    private static String option(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,152 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.GameRules;
+import model.board.Table;
+import model.cards.Card;
+import model.cards.CardMask;
+import model.cards.CardSuit;
+import model.cards.Deck;
+import model.player.BotPlayer;
+import model.player.Player;
+import model.player.Team;
+import model.score.ScoreManager;
+import model.sign.SignManager;
+import model.sign.SignType;
+
+/**
+ * Synchronous, UI-free deal between four bots, used by the simulations.
+ *
+ * It follows the same rules as {@link model.deal.Deal} (10 cards each, the
+ * holder of the 4 of Denari leads, follow the palo, one sign per trick) but
+ * every trick is played immediately: there are no Swing timers or snapshots.
+ * Scoring is delegated to the given {@link ScoreManager}, so the results are
+ * the same as in a real game. A {@link Listener} can follow the deal as it is
+ * played, e.g. to record the events a real game would publish.
+ */
+public final class HeadlessDeal {
+    private final List<BotPlayer> players;
+    private final Team[] teamOfSeat;
+    private final List<Team> teams;
+    private final long[] dealtHands; // card masks dealt to each seat in the last deal
+
+    /**
+     * @param players the four bots in table order
+     * @param teams the two teams built on the same players
+     */
+    public HeadlessDeal(List<BotPlayer> players, List<Team> teams) {
+        if (players == null || players.size() != 4)
+            throw new IllegalArgumentException("HeadlessDeal requires exactly 4 players");
+        this.players = List.copyOf(players);
+        this.teams = List.copyOf(teams);
+        this.teamOfSeat = new Team[players.size()];
+        this.dealtHands = new long[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            for (Team t : teams) {
+                if (t.contains(players.get(i))) teamOfSeat[i] = t;
+            }
+        }
+    }
+
+    /**
+     * Shuffle, deal and play a complete deal, then score it.
+     * @param random random source of the shuffle
+     * @param scoreManager the score manager that accumulates the result
+     * @return the deal points and the team that won the last trick
+     */
+    public Result play(Random random, ScoreManager scoreManager) {
+        return play(random, scoreManager, Listener.NONE);
+    }
+
+    /**
+     * Same as {@link #play(Random, ScoreManager)}, notifying the listener of
+     * every step of the deal.
+     * @param listener called on the playing thread, with the live table
+     */
+    public Result play(Random random, ScoreManager scoreManager, Listener listener) {
+        List<Player> seats = new ArrayList<>(players);
+        for (Player p : seats) p.resetForNewGame();
+        Deck deck = new Deck();
+        deck.shuffle(random);
+        for (int i = 0; i < GameRules.CARDS_PER_PLAYER; i++) {
+            for (Player p : seats) p.addCard(deck.drawCard());
+        }
+        for (int i = 0; i < seats.size(); i++) dealtHands[i] = CardMask.of(seats.get(i).getHandCards());
+        int current = startingSeat();
+        SignManager signManager = new SignManager(seats);
+        Table table = new Table();
+        Player lastTrickWinner = null;
+        listener.dealStarted(current, table);
+        for (int trick = 0; trick < GameRules.CARDS_PER_PLAYER; trick++) {
+            listener.trickStarted(current, table);
+            for (int played = 0; played < seats.size(); played++) {
+                BotPlayer bot = players.get(current);
+                if (signManager.canPlayerMakeSign(bot, table, bot)) {
+                    SignType type = bot.decideSign(table);
+                    if (type != null && type != SignType.NONE) {
+                        signManager.sendSign(bot, type, table, bot);
+                        listener.signMade(current, type, table);
+                    }
+                }
+                Card card = bot.decideCard(table, teamOfSeat[current]);
+                bot.playCard(card);
+                table.addCard(bot, card);
+                int seat = current;
+                current = (current + 1) % seats.size();
+                listener.cardPlayed(seat, card, current, table);
+            }
+            CardSuit palo = table.getPalo().orElseThrow(() ->
+                            new IllegalStateException("Palo not found"));
+            Player winner = GameRules.getTrickWinner(table.getCardsOnTable(), palo);
+            winner.addWonCards(table.clearTableAndReturnCards());
+            lastTrickWinner = winner;
+            current = seats.indexOf(winner);
+            signManager.onTrickEnded();
+            listener.trickEnded(current, table);
+        }
+        listener.dealEnded(current, table);
+        String lastTeamId = teamOfSeat[seats.indexOf(lastTrickWinner)].getId();
+        Map<String, Integer> dealPoints = scoreManager.updateTeamGameScores(teams, lastTeamId);
+        return new Result(dealPoints, lastTeamId);
+    }
+
+    /**
+     * @param seat the seat index
+     * @return the card mask dealt to the seat in the last played deal
+     */
+    public long getDealtHand(int seat) { return dealtHands[seat]; }
+
+    private int startingSeat() {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getHandCards().contains(GameRules.STARTING_CARD)) return i;
+        }
+        throw new IllegalStateException("STARTING_CARD " + GameRules.STARTING_CARD + " not found");
+    }
+
+    /**
+     * Steps of a headless deal, in playing order. Seats are indexes in the
+     * player list; the table is the live one, read it before returning.
+     */
+    public interface Listener {
+        /** No-op listener of {@link HeadlessDeal#play(Random, ScoreManager)}. */
+        Listener NONE = new Listener() { };
+
+        /** The hands are dealt and {@code leader} holds the 4 of Denari. */
+        default void dealStarted(int leader, Table table) { }
+        default void trickStarted(int leader, Table table) { }
+        default void signMade(int seat, SignType type, Table table) { }
+        /** {@code seat} played {@code card}, {@code next} plays next. */
+        default void cardPlayed(int seat, Card card, int next, Table table) { }
+        /** The trick is won by {@code winner} and the table is cleared. */
+        default void trickEnded(int winner, Table table) { }
+        /** Called after the last trick, before the deal is scored. */
+        default void dealEnded(int lastTrickWinner, Table table) { }
+    }
+
+    /** Outcome of a headless deal. */
+    public record Result(Map<String, Integer> dealPoints, String lastTrickTeamId) {}
+}
@@ -0,0 +1,192 @@
+package model.simulation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import model.GameDifficultyState;
+import model.deal.Deal2v2;
+import model.deal.GameScheduler;
+import model.player.BotParameters;
+import model.player.BotPlayer;
+import model.player.Player;
+import model.player.Team;
+import model.score.ScoreManager;
+
+/**
+ * Allocation regression gate for the steady-state playout.
+ *
+ * It plays real {@link Deal2v2}s between the default bots of every
+ * difficulty, as the game does: snapshots and model events, the bot
+ * decisions on the {@link model.deal.BotComputePool}, the claim search and
+ * the scoring. The deals run on the calling thread through a
+ * {@link ManualClock}, which jumps to the next delayed step instead of
+ * waiting for it and waits only for the results of the pool. After a
+ * warm-up for the JIT, the heap allocated by every thread of the JVM (the
+ * calling thread and the pool workers) is measured through
+ * {@link com.sun.management.ThreadMXBean}. The mean bytes per deal are
+ * compared with the budget, which is committed in the pom and enforced by
+ * {@code mvn verify} (skip it with {@code -Dplayout.allocation.skip}).
+ *
+ * Exits with status 1 when the budget is exceeded.
+ *
+ * Usage: {@code PlayoutAllocationGate [--warmup=2000] [--deals=5000]
+ * [--seed=1] [--budget=<bytes per deal>]}
+ */
+public final class PlayoutAllocationGate {
+
+    private final List<Player> players;
+    private final List<Team> teams;
+    private final ScoreManager scoreManager;
+    private final ManualClock clock = new ManualClock();
+    private int dealIndex;
+
+    private PlayoutAllocationGate(long seed) {
+        Random botRandom = new Random(seed);
+        GameDifficultyState[] difficulties = GameDifficultyState.values();
+        List<Player> bots = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            BotParameters parameters = BotParameters.defaults(difficulties[i % difficulties.length]);
+            bots.add(new BotPlayer("P" + (i + 1), "bot-" + (i + 1), parameters, new Random(botRandom.nextLong())));
+        }
+        players = bots;
+        Team t1 = new Team("Team1", List.of(bots.get(0), bots.get(2)));
+        Team t2 = new Team("Team2", List.of(bots.get(1), bots.get(3)));
+        teams = List.of(t1, t2);
+        scoreManager = new ScoreManager(List.of(t1.getId(), t2.getId()), Integer.MAX_VALUE);
+    }
+
+    private void play(int deals) throws InterruptedException {
+        for (int d = 0; d < deals; d++) {
+            Deal2v2 deal = new Deal2v2(dealIndex++, players, teams, clock);
+            deal.start();
+            clock.runUntilOver(deal);
+            scoreManager.updateTeamGameScores(teams, teamOf(deal.getLastTrickWinner()));
+        }
+    }
+
+    private String teamOf(Player player) {
+        for (Team team : teams) {
+            if (team.getMembers().contains(player)) return team.getId();
+        }
+        return null;
+    }
+
+    /**
+     * A {@link GameScheduler} owned by the thread that creates it, with a
+     * manual clock: the actions handed over by any thread run first, then the
+     * clock jumps to the next delayed step. When there is neither, a result
+     * of the pool is awaited.
+     */
+    private static final class ManualClock implements GameScheduler {
+        private final BlockingQueue<Runnable> inbox = new LinkedBlockingQueue<>();
+        private final PriorityQueue<Delayed> timers = new PriorityQueue<>(); // owner thread only
+        private final Thread owner = Thread.currentThread();
+        private long now;      // milliseconds on the manual clock
+        private long sequence; // FIFO among steps due at the same time
+
+        private final class Delayed implements Task, Comparable<Delayed> {
+            final long due;
+            final long order;
+            final Runnable action;
+            volatile boolean pending = true;
+
+            Delayed(long due, long order, Runnable action) {
+                this.due = due;
+                this.order = order;
+                this.action = action;
+            }
+
+            @Override public void cancel() { pending = false; }
+            @Override public boolean isPending() { return pending; }
+            @Override public int compareTo(Delayed other) {
+                int byTime = Long.compare(due, other.due);
+                return byTime != 0 ? byTime : Long.compare(order, other.order);
+            }
+        }
+
+        @Override
+        public boolean execute(Runnable action) {
+            inbox.add(action);
+            return true;
+        }
+
+        @Override
+        public Task schedule(Runnable action, long delayMs) {
+            if (!inOwnerThread()) throw new IllegalStateException("Delayed steps are scheduled by the game thread");
+            Delayed task = new Delayed(now + delayMs, sequence++, action);
+            timers.add(task);
+            return task;
+        }
+
+        @Override
+        public boolean inOwnerThread() { return Thread.currentThread() == owner; }
+
+        // run the actions of the deal until it is over
+        void runUntilOver(Deal2v2 deal) throws InterruptedException {
+            while (!deal.isOver()) {
+                Runnable action = inbox.poll();
+                if (action == null) action = nextDue();
+                if (action == null) action = inbox.take(); // a decision is computing on the pool
+                action.run();
+            }
+        }
+
+        private Runnable nextDue() {
+            for (Delayed task = timers.poll(); task != null; task = timers.poll()) {
+                if (!task.pending) continue;
+                task.pending = false;
+                now = task.due;
+                return task.action;
+            }
+            return null;
+        }
+    }
+
+    // ------------------ Command line ------------------
+    public static void main(String[] args) throws InterruptedException {
+        int warmup = Integer.parseInt(option(args, "warmup", "2000"));
+        int deals = Integer.parseInt(option(args, "deals", "5000"));
+        long seed = Long.parseLong(option(args, "seed", "1"));
+        String budgetOption = option(args, "budget", null);
+
+        PlayoutAllocationGate gate = new PlayoutAllocationGate(seed);
+        gate.play(warmup);
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threads.getAllThreadIds(); // the pool workers are running after the warm-up
+        long[] before = threads.getThreadAllocatedBytes(ids);
+        long started = System.nanoTime();
+        gate.play(deals);
+        long elapsed = System.nanoTime() - started;
+        long[] after = threads.getThreadAllocatedBytes(ids);
+        long allocated = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (before[i] >= 0 && after[i] >= 0) allocated += after[i] - before[i]; // -1: thread ended
+        }
+        long perDeal = allocated / deals;
+
+        System.out.printf("PlayoutAllocationGate: %d deals after %d warm-up, %.1f us/deal, %d bytes/deal%n",
+                deals, warmup, elapsed / 1000.0 / deals, perDeal);
+        if (budgetOption == null) return;
+        long budget = Long.parseLong(budgetOption);
+        if (perDeal > budget) {
+            System.out.printf("Allocation budget exceeded: %d > %d bytes per deal%n", perDeal, budget);
+            System.exit(1);
+        }
+        System.out.printf("Within the budget of %d bytes per deal%n", budget);
+    }
+
+    private static String option(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return fallback;
+    }
+}
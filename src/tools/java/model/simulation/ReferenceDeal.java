@@ -0,0 +1,103 @@
+package model.simulation;
+
+import java.util.List;
+import java.util.Map;
+
+import model.GameRules;
+import model.board.Table;
+import model.cards.Card;
+import model.cards.CardMask;
+import model.cards.CardSuit;
+import model.player.HumanPlayer;
+import model.player.Player;
+import model.player.Team;
+import model.score.ScoreManager;
+
+/**
+ * {@link SteppableDeal} on the object model of the game: {@link Player}
+ * hands, a {@link Table}, the checks of {@link GameRules} and the scoring of
+ * {@link ScoreManager}, called in the same order as {@link model.deal.Deal}
+ * and {@link model.GameManager} do. It is the reference the optimized
+ * engines are compared with.
+ */
+final class ReferenceDeal implements SteppableDeal {
+    private final Player[] seats = new Player[SEATS];
+    private final List<Player> players;
+    private final List<Team> teams;
+    private Table table;
+    private ScoreManager scoreManager;
+    private Player lastTrickWinner;
+    private int current;
+    private int tricks;
+
+    ReferenceDeal() {
+        for (int seat = 0; seat < SEATS; seat++) seats[seat] = new HumanPlayer("P" + (seat + 1), "seat-" + seat);
+        players = List.of(seats);
+        teams = List.of(new Team("Team1", List.of(seats[0], seats[2])),
+                        new Team("Team2", List.of(seats[1], seats[3])));
+    }
+
+    @Override
+    public void reset(long[] hands) {
+        for (int seat = 0; seat < SEATS; seat++) {
+            seats[seat].resetForNewGame();
+            for (int ordinal = 0; ordinal < GameRules.TOTAL_DECK_CARDS; ordinal++)
+                if ((hands[seat] & 1L << ordinal) != 0) seats[seat].addCard(Card.fromOrdinal(ordinal));
+        }
+        table = new Table();
+        scoreManager = new ScoreManager(List.of(teams.get(0).getId(), teams.get(1).getId()), Integer.MAX_VALUE);
+        lastTrickWinner = null;
+        tricks = 0;
+        current = -1;
+        for (int seat = 0; seat < SEATS; seat++)
+            if (seats[seat].getHandCards().contains(GameRules.STARTING_CARD)) current = seat;
+        if (current < 0) throw new IllegalArgumentException("STARTING_CARD " + GameRules.STARTING_CARD + " not dealt");
+    }
+
+    @Override
+    public int currentSeat() { return current; }
+
+    @Override
+    public long legalMoves() {
+        Player player = seats[current];
+        long legal = 0L;
+        for (Card card : player.getHandCards())
+            if (GameRules.isValidPlay(player, card, table)) legal |= CardMask.of(card);
+        return legal;
+    }
+
+    @Override
+    public int play(int ordinal) {
+        Player player = seats[current];
+        Card card = Card.fromOrdinal(ordinal);
+        if (!GameRules.isValidPlay(player, card, table))
+            throw new IllegalArgumentException("Illegal card " + card + " for seat " + current);
+        player.playCard(card);
+        table.addCard(player, card);
+        if (table.size() < SEATS) {
+            current = (current + 1) % SEATS;
+            return -1;
+        }
+        CardSuit palo = table.getPalo().orElseThrow(() -> new IllegalStateException("Palo not found"));
+        Player winner = GameRules.getTrickWinner(table.getCardsOnTable(), palo);
+        winner.addWonCards(table.clearTableAndReturnCards());
+        lastTrickWinner = winner;
+        current = players.indexOf(winner);
+        tricks++;
+        return current;
+    }
+
+    @Override
+    public boolean isOver() { return tricks == GameRules.CARDS_PER_PLAYER; }
+
+    @Override
+    public void score(int[] points) {
+        if (!isOver()) throw new IllegalStateException("The deal is not over");
+        // last trick winner translated to its team, as GameManager.handleDealEnded
+        String teamWinnerId = null;
+        for (Team t : teams)
+            if (t.contains(lastTrickWinner)) teamWinnerId = t.getId();
+        Map<String, Integer> dealPoints = scoreManager.updateTeamGameScores(teams, teamWinnerId);
+        for (int team = 0; team < TEAMS; team++) points[team] = dealPoints.get(teams.get(team).getId());
+    }
+}
@@ -0,0 +1,173 @@
+package model.simulation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.GameDifficultyState;
+import model.cards.Card;
+import model.cards.CardMask;
+import model.cards.CardSuit;
+import model.player.BotParameters;
+import model.player.BotPlayer;
+import model.player.SuitHoldingTable;
+import model.player.Team;
+import model.score.ScoreManager;
+
+/**
+ * Offline generator of the {@link SuitHoldingTable}.
+ *
+ * It plays many {@link HeadlessDeal}s between default HARD bots on all cores.
+ * For every seat and suit it records the holding that was dealt, the tricks
+ * the seat then won with that suit led (the winner always plays the palo)
+ * and the card points of those tricks. Holdings that never occur (e.g. ten
+ * cards of one suit) inherit the best value of their sub-holdings.
+ *
+ * Usage: {@code SuitHoldingTableGenerator [--deals=200000] [--seed=1]
+ * [--out=src/resources/bot/suit-holdings.bin]}
+ */
+public final class SuitHoldingTableGenerator {
+    private static final int DEALS_PER_TASK = 5000;
+    private static final int TRICK_SIZE = 4;
+
+    private SuitHoldingTableGenerator() {}
+
+    /**
+     * Simulate the given number of deals and build the table.
+     * @param deals deals to play
+     * @param seed seed of the deals
+     * @param threads worker threads
+     * @return the measured table
+     */
+    public static SuitHoldingTable generate(int deals, long seed, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Accumulator>> futures = new ArrayList<>();
+            for (int done = 0; done < deals; done += DEALS_PER_TASK) {
+                int count = Math.min(DEALS_PER_TASK, deals - done);
+                long taskSeed = seed + done;
+                futures.add(executor.submit(() -> simulate(count, taskSeed)));
+            }
+            Accumulator total = new Accumulator();
+            for (Future<Accumulator> future : futures) total.merge(future.get());
+            return total.toTable();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Simulation failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Accumulator simulate(int deals, long seed) {
+        BotParameters parameters = BotParameters.defaults(GameDifficultyState.HARD);
+        Random botRandom = new Random(~seed);
+        List<BotPlayer> bots = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            bots.add(new BotPlayer("P" + (i + 1), "bot-" + (i + 1), parameters, new Random(botRandom.nextLong())));
+        Team t1 = new Team("Team1", List.of(bots.get(0), bots.get(2)));
+        Team t2 = new Team("Team2", List.of(bots.get(1), bots.get(3)));
+        HeadlessDeal deal = new HeadlessDeal(bots, List.of(t1, t2));
+        ScoreManager scoreManager = new ScoreManager(List.of(t1.getId(), t2.getId()), Integer.MAX_VALUE);
+        Accumulator accumulator = new Accumulator();
+        Random dealRandom = new Random(seed);
+        int[] tricks = new int[CardSuit.values().length];
+        double[] points = new double[CardSuit.values().length];
+        for (int d = 0; d < deals; d++) {
+            deal.play(dealRandom, scoreManager);
+            for (int seat = 0; seat < bots.size(); seat++) {
+                Arrays.fill(tricks, 0);
+                Arrays.fill(points, 0);
+                // won cards are stored trick by trick, in play order: the first card sets the palo
+                List<Card> won = bots.get(seat).getWonCards();
+                for (int i = 0; i < won.size(); i += TRICK_SIZE) {
+                    int suit = won.get(i).getSuit().ordinal();
+                    tricks[suit]++;
+                    for (int j = i; j < i + TRICK_SIZE; j++) points[suit] += won.get(j).getValue().getPoints();
+                }
+                long hand = deal.getDealtHand(seat);
+                for (CardSuit suit : CardSuit.values()) {
+                    accumulator.add(CardMask.holding(hand, suit), tricks[suit.ordinal()], points[suit.ordinal()]);
+                }
+            }
+        }
+        return accumulator;
+    }
+
+    /** Per-holding sums of one worker. */
+    private static final class Accumulator {
+        private final long[] count = new long[CardMask.HOLDINGS];
+        private final double[] tricks = new double[CardMask.HOLDINGS];
+        private final double[] points = new double[CardMask.HOLDINGS];
+
+        void add(int holding, int wonTricks, double wonPoints) {
+            count[holding]++;
+            tricks[holding] += wonTricks;
+            points[holding] += wonPoints;
+        }
+
+        void merge(Accumulator other) {
+            for (int h = 0; h < CardMask.HOLDINGS; h++) {
+                count[h] += other.count[h];
+                tricks[h] += other.tricks[h];
+                points[h] += other.points[h];
+            }
+        }
+
+        SuitHoldingTable toTable() {
+            float[] expectedTricks = new float[CardMask.HOLDINGS];
+            float[] expectedPoints = new float[CardMask.HOLDINGS];
+            long samples = 0;
+            // increasing number of cards, so sub-holdings are always filled first
+            for (int size = 0; size <= CardMask.SUIT_SIZE; size++) {
+                for (int h = 0; h < CardMask.HOLDINGS; h++) {
+                    if (Integer.bitCount(h) != size) continue;
+                    samples += count[h];
+                    if (count[h] > 0) {
+                        expectedTricks[h] = (float) (tricks[h] / count[h]);
+                        expectedPoints[h] = (float) (points[h] / count[h]);
+                        continue;
+                    }
+                    for (int bit = 0; bit < CardMask.SUIT_SIZE; bit++) {
+                        if ((h & (1 << bit)) == 0) continue;
+                        int sub = h & ~(1 << bit);
+                        expectedTricks[h] = Math.max(expectedTricks[h], expectedTricks[sub]);
+                        expectedPoints[h] = Math.max(expectedPoints[h], expectedPoints[sub]);
+                    }
+                }
+            }
+            return new SuitHoldingTable(expectedTricks, expectedPoints, samples);
+        }
+    }
+
+    // ------------------ Command line ------------------
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int deals = Integer.parseInt(option(args, "deals", "200000"));
+        long seed = Long.parseLong(option(args, "seed", "1"));
+        Path out = Paths.get(option(args, "out", "src/resources/" + SuitHoldingTable.RESOURCE));
+        int threads = Runtime.getRuntime().availableProcessors();
+        SuitHoldingTable table = generate(deals, seed, threads);
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        try (OutputStream output = Files.newOutputStream(out)) {
+            table.write(output);
+        }
+        System.out.println("Written " + out + " from " + table.getSamples() + " holdings");
+    }
+
+    private static String option(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return fallback;
+    }
+}
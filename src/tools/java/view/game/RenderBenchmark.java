@@ -0,0 +1,353 @@
+package view.game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import controller.GameController;
+import controller.ViewEvent;
+import model.GameDifficultyState;
+import model.GameManager;
+import model.GameRules;
+import model.board.Table;
+import model.cards.Card;
+import model.events.DealSnapshot;
+import model.player.BotParameters;
+import model.player.BotPlayer;
+import model.player.Player;
+import model.player.Team;
+import model.score.ScoreManager;
+import model.sign.SignType;
+import model.simulation.HeadlessDeal;
+
+/**
+ * Headless rendering benchmark of the game board.
+ *
+ * It records the {@link ViewEvent} stream of seeded {@link HeadlessDeal}s
+ * between four bots, then replays it, one event per frame, into a
+ * {@link GameBoardView} and a {@link HumanHandPanel} laid out as in
+ * {@link GamePanel}, painting every frame into an off-screen
+ * {@link BufferedImage}. For each frame it measures:
+ * <ul>
+ * <li> paint time of the board (children included), of the hand and of the
+ *      {@link TableCardsPanel} alone;
+ * <li> bytes allocated by the frame (update, layout and paint), from the
+ *      thread allocation counter of the JVM;
+ * <li> layout passes, counted by wrapping the layout manager of every
+ *      container of the tree.
+ * </ul>
+ * No display is needed: AWT runs in headless mode, so the benchmark can run
+ * on CI machines.
+ *
+ * Usage: {@code RenderBenchmark [--deals=20] [--warmup=5] [--seed=42]
+ * [--width=1280] [--height=800] [--snapshot=frame.png]}; the snapshot option
+ * saves the last painted frame, to check what was rendered.
+ */
+public final class RenderBenchmark {
+    private static final int HAND_HEIGHT = 170;
+
+    private final JPanel root = new JPanel(new BorderLayout());
+    private final GameBoardView board;
+    private final HumanHandPanel hand;
+    private final TableCardsPanel table;
+    private final BufferedImage canvas;
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private int layouts;
+
+    private RenderBenchmark(List<Player> players, int width, int height) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (Player p : players) names.put(p.getId(), p.getUsername());
+        GameController controller = new GameController(new GameManager(players, GameRules.WINNING_SCORE_31));
+        board = new GameBoardView(names, message -> { });
+        hand = new HumanHandPanel(controller, message -> { });
+        hand.setPreferredSize(new Dimension(width, HAND_HEIGHT));
+        root.add(board, BorderLayout.CENTER);
+        root.add(hand, BorderLayout.SOUTH);
+        root.setSize(width, height);
+        root.addNotify(); // lightweight peers, also headless: without them validate() does nothing
+        table = find(board, TableCardsPanel.class);
+        canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /** Per-frame measures of one run. */
+    private record Frames(long[] boardPaint, long[] handPaint, long[] tablePaint,
+                          long[] allocated, int[] layoutPasses) {}
+
+    private Frames replay(List<ViewEvent> events) {
+        int n = events.size();
+        Frames frames = new Frames(new long[n], new long[n], new long[n], new long[n], new int[n]);
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < n; i++) {
+            ViewEvent event = events.get(i);
+            instrument(root);
+            clear();
+            layouts = 0;
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            apply(event);
+            root.validate();
+            frames.boardPaint()[i] = paint(board);
+            frames.handPaint()[i] = paint(hand);
+            frames.tablePaint()[i] = paint(table);
+            frames.allocated()[i] = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+            frames.layoutPasses()[i] = layouts;
+        }
+        return frames;
+    }
+
+    /* Same dispatch as GamePanel for a frame holding a single event */
+    private void apply(ViewEvent event) {
+        board.announce(event);
+        boolean carriesState = SnapshotUtil.extract(event) != null;
+        ViewEvent flowEvent = carriesState && GamePanel.isDealFlow(event) ? event : null;
+        if (flowEvent != null) hand.onEvent(flowEvent);
+        board.applyState(flowEvent, carriesState ? event : null);
+    }
+
+    /* Start every frame from a transparent canvas, as a repaint would */
+    private void clear() {
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private long paint(Component component) {
+        Point origin = SwingUtilities.convertPoint(component.getParent(), component.getLocation(), root);
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.translate(origin.x, origin.y);
+            g.clipRect(0, 0, component.getWidth(), component.getHeight());
+            long started = System.nanoTime();
+            component.paint(g);
+            return System.nanoTime() - started;
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void save(Path file) {
+        try {
+            ImageIO.write(canvas, "png", file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ------------------ Layout counting ------------------
+    private void instrument(Container container) {
+        LayoutManager layout = container.getLayout();
+        if (!(layout instanceof CountingLayout))
+            container.setLayout(new CountingLayout(layout));
+        for (Component child : container.getComponents())
+            if (child instanceof Container c) instrument(c);
+    }
+
+    /**
+     * Counts the layout passes of a container and delegates to its original
+     * manager; without one it behaves as the null layout.
+     */
+    private final class CountingLayout implements LayoutManager2 {
+        private final LayoutManager delegate;
+
+        CountingLayout(LayoutManager delegate) { this.delegate = delegate; }
+
+        @Override public void layoutContainer(Container parent) {
+            layouts++;
+            if (delegate != null) delegate.layoutContainer(parent);
+        }
+        @Override public void addLayoutComponent(String name, Component comp) {
+            if (delegate != null) delegate.addLayoutComponent(name, comp);
+        }
+        @Override public void addLayoutComponent(Component comp, Object constraints) {
+            if (delegate instanceof LayoutManager2 manager) manager.addLayoutComponent(comp, constraints);
+            else if (delegate != null && (constraints == null || constraints instanceof String))
+                delegate.addLayoutComponent((String) constraints, comp);
+        }
+        @Override public void removeLayoutComponent(Component comp) {
+            if (delegate != null) delegate.removeLayoutComponent(comp);
+        }
+        @Override public Dimension preferredLayoutSize(Container parent) {
+            return delegate != null ? delegate.preferredLayoutSize(parent) : parent.getSize();
+        }
+        @Override public Dimension minimumLayoutSize(Container parent) {
+            return delegate != null ? delegate.minimumLayoutSize(parent) : parent.getSize();
+        }
+        @Override public Dimension maximumLayoutSize(Container target) {
+            return delegate instanceof LayoutManager2 manager ? manager.maximumLayoutSize(target)
+                                                              : new Dimension(Short.MAX_VALUE, Short.MAX_VALUE);
+        }
+        @Override public float getLayoutAlignmentX(Container target) {
+            return delegate instanceof LayoutManager2 manager ? manager.getLayoutAlignmentX(target) : 0.5f;
+        }
+        @Override public float getLayoutAlignmentY(Container target) {
+            return delegate instanceof LayoutManager2 manager ? manager.getLayoutAlignmentY(target) : 0.5f;
+        }
+        @Override public void invalidateLayout(Container target) {
+            if (delegate instanceof LayoutManager2 manager) manager.invalidateLayout(target);
+        }
+    }
+
+    private static <T> T find(Container container, Class<T> type) {
+        T found = search(container, type);
+        if (found == null) throw new IllegalStateException(type.getSimpleName() + " not found");
+        return found;
+    }
+
+    private static <T> T search(Container container, Class<T> type) {
+        for (Component child : container.getComponents()) {
+            if (type.isInstance(child)) return type.cast(child);
+            if (child instanceof Container c) {
+                T found = search(c, type);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+    // ------------------ Event recording ------------------
+    /**
+     * Play seeded {@link HeadlessDeal}s between four bots and record the
+     * events the controller would publish (signs included).
+     */
+    static List<ViewEvent> record(List<BotPlayer> bots, int deals, long seed) {
+        Random random = new Random(seed);
+        List<Player> players = List.copyOf(bots);
+        Team team1 = new Team("Team1", List.of(players.get(0), players.get(2)));
+        Team team2 = new Team("Team2", List.of(players.get(1), players.get(3)));
+        HeadlessDeal headless = new HeadlessDeal(bots, List.of(team1, team2));
+        ScoreManager scores = new ScoreManager(List.of(team1.getId(), team2.getId()), Integer.MAX_VALUE);
+        EventRecorder recorder = new EventRecorder(players);
+        for (int deal = 0; deal < deals; deal++) {
+            recorder.deal = deal;
+            recorder.lastWinner = null;
+            headless.play(random, scores, recorder);
+        }
+        return recorder.events;
+    }
+
+    /** Turns the steps of a headless deal into view events. */
+    private static final class EventRecorder implements HeadlessDeal.Listener {
+        private final List<Player> players;
+        private final List<ViewEvent> events = new ArrayList<>();
+        private int deal;
+        private String lastWinner;
+
+        EventRecorder(List<Player> players) { this.players = players; }
+
+        @Override public void dealStarted(int leader, Table table) {
+            events.add(new ViewEvent.DealStarted(snapshot(players, deal, leader, table, lastWinner)));
+        }
+        @Override public void trickStarted(int leader, Table table) {
+            events.add(new ViewEvent.TrickStarted(snapshot(players, deal, leader, table, lastWinner)));
+        }
+        @Override public void signMade(int seat, SignType type, Table table) {
+            Player bot = players.get(seat);
+            events.add(new ViewEvent.SignMade(bot.getId(), bot.getUsername(), type,
+                                              snapshot(players, deal, seat, table, lastWinner)));
+        }
+        @Override public void cardPlayed(int seat, Card card, int next, Table table) {
+            events.add(new ViewEvent.CardPlayed(players.get(seat).getId(), card.getCode(), card.toString(),
+                                                snapshot(players, deal, next, table, lastWinner)));
+        }
+        @Override public void trickEnded(int winner, Table table) {
+            lastWinner = players.get(winner).getId();
+            events.add(new ViewEvent.TrickEnded(snapshot(players, deal, winner, table, lastWinner)));
+        }
+        @Override public void dealEnded(int lastTrickWinner, Table table) {
+            events.add(new ViewEvent.DealEnded(snapshot(players, deal, lastTrickWinner, table, lastWinner)));
+        }
+    }
+
+    private static DealSnapshot snapshot(List<Player> players, int deal, int current, Table table, String lastWinner) {
+        Map<String, Integer> handSizes = new HashMap<>();
+        Map<String, Integer> wonCards = new HashMap<>();
+        for (Player p : players) {
+            handSizes.put(p.getId(), p.getHandCards().size());
+            wonCards.put(p.getId(), p.getWonCards().size());
+        }
+        List<String> tableCards = table.getCardsOnTable().values().stream().map(Card::getCode).toList();
+        return new DealSnapshot(deal, players.get(current).getId(), handSizes, wonCards, tableCards,
+                                lastWinner, false, false, players.get(0).getHandCardsCode());
+    }
+
+    private static List<BotPlayer> bots(long seed) {
+        List<BotPlayer> players = new ArrayList<>();
+        BotParameters parameters = BotParameters.defaults(GameDifficultyState.MEDIUM);
+        for (int i = 1; i <= 4; i++)
+            players.add(new BotPlayer("P" + i, "Bot" + i, parameters, new Random(seed + i)));
+        return players;
+    }
+
+    // ------------------ Report ------------------
+    private static void report(Frames frames, int events) {
+        System.out.printf("%-14s %10s %10s %10s %10s%n", "per frame", "mean", "p50", "p95", "max");
+        row("board paint", frames.boardPaint(), 1e3, "us");
+        row("hand paint", frames.handPaint(), 1e3, "us");
+        row("table paint", frames.tablePaint(), 1e3, "us");
+        row("allocated", frames.allocated(), 1024, "KiB");
+        long[] passes = Arrays.stream(frames.layoutPasses()).asLongStream().toArray();
+        row("layout passes", passes, 1, "");
+        System.out.printf("%d events, %.2f layout passes per event%n", events,
+                          Arrays.stream(passes).sum() / (double) events);
+    }
+
+    private static void row(String name, long[] values, double unit, String suffix) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0);
+        System.out.printf("%-14s %10.1f %10.1f %10.1f %10.1f %s%n", name, mean / unit,
+                          sorted[sorted.length / 2] / unit, sorted[(int) (sorted.length * 0.95)] / unit,
+                          sorted[sorted.length - 1] / unit, suffix);
+    }
+
+    // ------------------ Command line ------------------
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int deals = Integer.parseInt(option(args, "deals", "20"));
+        int warmup = Integer.parseInt(option(args, "warmup", "5"));
+        long seed = Long.parseLong(option(args, "seed", "42"));
+        int width = Integer.parseInt(option(args, "width", "1280"));
+        int height = Integer.parseInt(option(args, "height", "800"));
+        String snapshot = option(args, "snapshot", null);
+
+        List<BotPlayer> bots = bots(seed);
+        List<Player> players = List.copyOf(bots);
+        List<ViewEvent> warmupEvents = record(bots, warmup, seed - 1);
+        List<ViewEvent> events = record(bots, deals, seed);
+        SwingUtilities.invokeAndWait(() -> {
+            new RenderBenchmark(players, width, height).replay(warmupEvents);
+            RenderBenchmark benchmark = new RenderBenchmark(players, width, height);
+            Frames frames = benchmark.replay(events);
+            System.out.printf("RenderBenchmark: %d deals at %dx%d%n", deals, width, height);
+            report(frames, events.size());
+            if (snapshot != null) benchmark.save(Paths.get(snapshot));
+        });
+    }
+
+    private static String option(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return fallback;
+    }
+}